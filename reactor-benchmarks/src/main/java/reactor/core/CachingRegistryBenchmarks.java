@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core;
+
+import org.openjdk.jmh.annotations.*;
+import reactor.fn.Registration;
+import reactor.fn.Selector;
+import reactor.fn.TagAwareSelectionStrategy;
+
+import java.util.concurrent.TimeUnit;
+
+import static reactor.Fn.*;
+
+/**
+ * Benchmarks {@link CachingRegistry#select(Selector)} when the selection is cached and when it isn't, with a varying
+ * number of registrations.
+ * <p/>
+ * The cache is keyed by {@link Selector} instance, so a hit reuses the same selector. A miss alternates between two
+ * selectors on a registry that caches only one selection, so every select evicts the other and goes to the indexes.
+ * Regex and tagged selections miss the same way. Class selections use a new selector every time, like a {@link
+ * Reactor}'s error handling does. The churn benchmark registers, selects and cancels a short-lived registration, such as
+ * the ones {@link R#schedule(reactor.fn.Consumer, Object, reactor.fn.Observable)} creates, between cached selections.
+ *
+ * @author Jon Brisbin
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CachingRegistryBenchmarks {
+
+	@Param({"1", "100", "10000"})
+	public int registrations;
+
+	private CachingRegistry<Object> cached;
+	private CachingRegistry<Object> uncached;
+	private CachingRegistry<Object> regexes;
+	private CachingRegistry<Object> types;
+	private CachingRegistry<Object> tagged;
+	private Selector                hit;
+	private Selector[]              misses;
+	private Selector[]              regexMisses;
+	private Selector[]              taggedMisses;
+	private Selector[]              churnHits;
+	private int                     next;
+	private int                     churn;
+
+	@Setup
+	public void setup() {
+		cached = new CachingRegistry<Object>();
+		uncached = new CachingRegistry<Object>(1);
+		for (int i = 0; i < registrations; i++) {
+			Object obj = new Object();
+			cached.register($("test" + i), obj);
+			uncached.register($("test" + i), obj);
+		}
+		hit = $("test" + (registrations / 2));
+		cached.select(hit);
+		misses = new Selector[]{$("test0"), $("test" + (registrations - 1))};
+
+		regexes = new CachingRegistry<Object>(1);
+		types = new CachingRegistry<Object>();
+		tagged = new CachingRegistry<Object>(1);
+		tagged.setSelectionStrategy(new TagAwareSelectionStrategy());
+		types.register(T(IllegalArgumentException.class), new Object());
+		for (int i = 0; i < registrations; i++) {
+			Object obj = new Object();
+			regexes.register(R("topic" + i + "\\.event\\.([0-9]+)"), obj);
+			types.register(T(IllegalStateException.class), obj);
+			tagged.register($("test" + i).setTags("tenant" + (i % 100), "region" + (i % 5)), obj);
+		}
+		int last = registrations - 1;
+		regexMisses = new Selector[]{$("topic0.event.1"), $("topic" + last + ".event.2")};
+		taggedMisses = new Selector[]{
+				$("test0").setTags("tenant0", "region0"),
+				$("test" + last).setTags("tenant" + (last % 100), "region" + (last % 5))
+		};
+
+		churnHits = new Selector[Math.min(registrations, 10)];
+		for (int i = 0; i < churnHits.length; i++) {
+			churnHits[i] = $("test" + (i * registrations / churnHits.length));
+			cached.select(churnHits[i]);
+		}
+	}
+
+	@Benchmark
+	public Iterable<Registration<?>> selectHit() {
+		return cached.select(hit);
+	}
+
+	@Benchmark
+	public Iterable<Registration<?>> selectMiss() {
+		return uncached.select(misses[next++ & 1]);
+	}
+
+	@Benchmark
+	public Iterable<Registration<?>> selectRegexMiss() {
+		return regexes.select(regexMisses[next++ & 1]);
+	}
+
+	@Benchmark
+	public Iterable<Registration<?>> selectClass() {
+		return types.select(T(NumberFormatException.class));
+	}
+
+	@Benchmark
+	public Iterable<Registration<?>> selectTaggedMiss() {
+		return tagged.select(taggedMisses[next++ & 1]);
+	}
+
+	@Benchmark
+	public Iterable<Registration<?>> registerSelectAndCancel() {
+		Selector sel = $();
+		Registration<Selector> reg = cached.register(sel, sel);
+		cached.select(sel);
+		reg.cancel();
+		churn = (churn + 1) % churnHits.length;
+		return cached.select(churnHits[churn]);
+	}
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.fn.Consumer;
+import reactor.fn.Function;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks pushing values through a {@link Composable} chain of map, filter and consume on the synchronous {@link
+ * reactor.fn.dispatch.Dispatcher}, so that the cost of composing is measured rather than the cost of dispatching.
+ *
+ * @author Jon Brisbin
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComposableBenchmarks {
+
+	static final Function<Integer, Integer> DOUBLE = new Function<Integer, Integer>() {
+		@Override
+		public Integer apply(Integer i) {
+			return i * 2;
+		}
+	};
+	static final Function<Integer, Boolean> EVEN   = new Function<Integer, Boolean>() {
+		@Override
+		public Boolean apply(Integer i) {
+			return i % 2 == 0;
+		}
+	};
+
+	private Composable<Integer> head;
+	private Blackhole           blackhole;
+	private int                 value;
+
+	@Setup
+	public void setup(Blackhole bh) {
+		blackhole = bh;
+		head = new Composable<Integer>().setDispatcher(Context.synchronousDispatcher());
+		chain(head);
+	}
+
+	@Benchmark
+	public void accept() {
+		head.accept(value++);
+	}
+
+	@Benchmark
+	public void createAndAccept() {
+		Composable<Integer> c = new Composable<Integer>().setDispatcher(Context.synchronousDispatcher());
+		chain(c);
+		c.accept(value++);
+	}
+
+	private void chain(Composable<Integer> c) {
+		c.map(DOUBLE)
+		 .filter(EVEN)
+		 .consume(new Consumer<Integer>() {
+			 @Override
+			 public void accept(Integer i) {
+				 blackhole.consume(i);
+			 }
+		 });
+	}
+
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core;
+
+import reactor.fn.Consumer;
+import reactor.fn.Event;
+import reactor.fn.Selector;
+import reactor.fn.dispatch.ArrayQueueDispatcher;
+import reactor.fn.dispatch.Dispatcher;
+import reactor.fn.dispatch.RingBufferDispatcher;
+import reactor.support.Histogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static reactor.Fn.$;
+
+/**
+ * A load generator that notifies a {@link Reactor} at a fixed rate and measures the latency from each notification to
+ * the invocation of its consumer, on each of the {@link Dispatcher}s that {@link Context} builds and on an {@link
+ * ArrayQueueDispatcher}.
+ * <p/>
+ * Latency is measured from when each event was meant to be sent rather than from when it actually was. A producer held
+ * up by a full queue or a slow synchronous consumer would otherwise send the events behind it late and only measure
+ * them from then, hiding exactly the stalls that matter (coordinated omission). The uncorrected latency, measured from
+ * the actual send, is reported alongside for comparison.
+ * <p/>
+ * Configured with system properties:
+ * <ul>
+ * <li>{@literal reactor.latency.dispatchers}: a comma-separated list of dispatchers to run against, out of {@literal
+ * sync}, {@literal root}, {@literal worker}, {@literal pool}, {@literal arrayQueue} and {@literal
+ * ringBuffer-<WaitMode>}. All of them by default.</li>
+ * <li>{@literal reactor.latency.rate}: the target number of events per second. 100000 by default.</li>
+ * <li>{@literal reactor.latency.warmup}: the number of seconds to run before recording. 5 by default.</li>
+ * <li>{@literal reactor.latency.duration}: the number of seconds to record for. 10 by default.</li>
+ * <li>{@literal reactor.latency.selectors}: the number of selectors to spread the events over, each with its own
+ * consumer. 1 by default.</li>
+ * <li>{@literal reactor.latency.consumer.cost}: the number of nanoseconds each consumer spins for. 0 by default.</li>
+ * </ul>
+ * Latencies are printed in microseconds.
+ *
+ * @author Jon Brisbin
+ */
+public class LatencyHarness {
+
+	private static final double[] PERCENTILES = {50, 75, 90, 99, 99.9, 99.99};
+
+	private final int  rate;
+	private final long warmupNanos;
+	private final long durationNanos;
+	private final int  selectors;
+	private final long consumerCostNanos;
+
+	public LatencyHarness(int rate, long warmup, long duration, TimeUnit unit, int selectors, long consumerCostNanos) {
+		this.rate = rate;
+		this.warmupNanos = unit.toNanos(warmup);
+		this.durationNanos = unit.toNanos(duration);
+		this.selectors = selectors;
+		this.consumerCostNanos = consumerCostNanos;
+	}
+
+	public static void main(String[] args) throws InterruptedException {
+		LatencyHarness harness = new LatencyHarness(
+				Integer.getInteger("reactor.latency.rate", 100000),
+				Long.getLong("reactor.latency.warmup", 5),
+				Long.getLong("reactor.latency.duration", 10),
+				TimeUnit.SECONDS,
+				Integer.getInteger("reactor.latency.selectors", 1),
+				Long.getLong("reactor.latency.consumer.cost", 0)
+		);
+
+		List<String> dispatchers = new ArrayList<String>();
+		String names = System.getProperty("reactor.latency.dispatchers");
+		if (null != names) {
+			for (String name : names.split(",")) {
+				dispatchers.add(name.trim());
+			}
+		} else {
+			dispatchers.add("sync");
+			dispatchers.add("root");
+			dispatchers.add("worker");
+			dispatchers.add("pool");
+			dispatchers.add("arrayQueue");
+			for (RingBufferDispatcher.WaitMode waitMode : RingBufferDispatcher.WaitMode.values()) {
+				dispatchers.add("ringBuffer-" + waitMode);
+			}
+		}
+
+		System.out.println(String.format("%d events/sec, %d selector(s), %dns per consumer",
+																		 harness.rate,
+																		 harness.selectors,
+																		 harness.consumerCostNanos));
+		StringBuilder header = new StringBuilder(String.format("%-24s %-12s %12s", "dispatcher", "latency", "sent/sec"));
+		for (double p : PERCENTILES) {
+			header.append(String.format(" %10s", (p == (long) p ? String.valueOf((long) p) : String.valueOf(p)) + "%"));
+		}
+		header.append(String.format(" %10s", "max"));
+		System.out.println(header);
+
+		for (String name : dispatchers) {
+			boolean owned = "arrayQueue".equals(name) || name.startsWith("ringBuffer-");
+			Dispatcher dispatcher = createDispatcher(name);
+			try {
+				harness.run(name, dispatcher);
+			} finally {
+				if (owned) {
+					dispatcher.destroy();
+				}
+			}
+		}
+
+		// The Context's dispatchers would otherwise keep the JVM running
+		System.exit(0);
+	}
+
+	/**
+	 * Notify a {@link Reactor} that uses the given {@link Dispatcher} at the target rate, first to warm up and then while
+	 * recording, and print the latencies recorded.
+	 *
+	 * @param name       The name to print the results under.
+	 * @param dispatcher The {@link Dispatcher} to measure.
+	 * @throws InterruptedException if interrupted while waiting for the events to be consumed.
+	 */
+	public void run(String name, Dispatcher dispatcher) throws InterruptedException {
+		final Histogram corrected = new Histogram();
+		final Histogram uncorrected = new Histogram();
+		final AtomicLong consumed = new AtomicLong();
+		Consumer<Event<Sample>> consumer = new Consumer<Event<Sample>>() {
+			@Override
+			public void accept(Event<Sample> ev) {
+				long now = System.nanoTime();
+				Sample s = ev.getData();
+				if (s.recorded) {
+					corrected.record(now - s.intendedAt);
+					uncorrected.record(now - s.sentAt);
+				}
+				if (consumerCostNanos > 0) {
+					long until = now + consumerCostNanos;
+					while (System.nanoTime() < until) {
+						// Spin to simulate the consumer's work
+					}
+				}
+				consumed.incrementAndGet();
+			}
+		};
+
+		Reactor reactor = new Reactor(dispatcher);
+		Selector[] sels = new Selector[selectors];
+		for (int i = 0; i < selectors; i++) {
+			sels[i] = $("latency" + i);
+			reactor.on(sels[i], consumer);
+		}
+
+		long sent = drive(reactor, sels, warmupNanos, false);
+		long start = System.nanoTime();
+		long recorded = drive(reactor, sels, durationNanos, true);
+		double sentPerSec = recorded / ((System.nanoTime() - start) / 1e9);
+		sent += recorded;
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+		while (consumed.get() < sent && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		if (consumed.get() < sent) {
+			System.out.println(String.format("%-24s only %d of %d events were consumed within 60s", name, consumed.get(), sent));
+		}
+
+		print(name, "corrected", sentPerSec, corrected);
+		print("", "uncorrected", sentPerSec, uncorrected);
+	}
+
+	private long drive(Reactor reactor, Selector[] sels, long nanos, boolean recorded) {
+		long count = (long) ((double) nanos * rate / TimeUnit.SECONDS.toNanos(1));
+		double interval = (double) TimeUnit.SECONDS.toNanos(1) / rate;
+		long start = System.nanoTime();
+		for (long i = 0; i < count; i++) {
+			long intendedAt = start + (long) (i * interval);
+			waitUntil(intendedAt);
+			reactor.notify(sels[(int) (i % sels.length)],
+										 new Event<Sample>(new Sample(intendedAt, System.nanoTime(), recorded)));
+		}
+		return count;
+	}
+
+	private static void waitUntil(long nanoTime) {
+		long remaining;
+		while ((remaining = nanoTime - System.nanoTime()) > 0) {
+			// Parking overshoots, so only park when there's plenty of time left and yield the rest of the way
+			if (remaining > 100000) {
+				LockSupport.parkNanos(remaining - 100000);
+			} else {
+				Thread.yield();
+			}
+		}
+	}
+
+	private static void print(String name, String latency, double sentPerSec, Histogram histogram) {
+		StringBuilder line = new StringBuilder(String.format("%-24s %-12s %12.0f", name, latency, sentPerSec));
+		for (double p : PERCENTILES) {
+			line.append(String.format(" %10.1f", histogram.getValueAtPercentile(p) / 1000d));
+		}
+		line.append(String.format(" %10.1f", histogram.getMax() / 1000d));
+		System.out.println(line);
+	}
+
+	private static Dispatcher createDispatcher(String name) {
+		if ("sync".equals(name)) {
+			return Context.synchronousDispatcher();
+		} else if ("root".equals(name)) {
+			return Context.rootDispatcher();
+		} else if ("worker".equals(name)) {
+			return Context.nextWorkerDispatcher();
+		} else if ("pool".equals(name)) {
+			return Context.workerPoolDispatcher();
+		} else if ("arrayQueue".equals(name)) {
+			// The same backlog as the Context's worker dispatchers, for comparison
+			return new ArrayQueueDispatcher("latency", Integer.getInteger("reactor.dispatcher.backlog", 750));
+		} else if (name.startsWith("ringBuffer-")) {
+			return Context.ringBufferDispatcher(
+					"latency",
+					RingBufferDispatcher.WaitMode.valueOf(name.substring("ringBuffer-".length()))
+			);
+		}
+		throw new IllegalArgumentException("Unknown dispatcher: " + name);
+	}
+
+	private static final class Sample {
+		private final long    intendedAt;
+		private final long    sentAt;
+		private final boolean recorded;
+
+		private Sample(long intendedAt, long sentAt, boolean recorded) {
+			this.intendedAt = intendedAt;
+			this.sentAt = sentAt;
+			this.recorded = recorded;
+		}
+	}
+
+}
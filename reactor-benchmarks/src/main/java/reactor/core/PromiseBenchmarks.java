@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.fn.Consumer;
+import reactor.fn.Function;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks creating and fulfilling a {@link Promise}, with the consumer added before and after the value is set, and
+ * through a mapped {@link Composable}.
+ *
+ * @author Jon Brisbin
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PromiseBenchmarks {
+
+	static final Function<String, Integer> LENGTH = new Function<String, Integer>() {
+		@Override
+		public Integer apply(String s) {
+			return s.length();
+		}
+	};
+
+	private Consumer<String>  consumer;
+	private Consumer<Integer> lengthConsumer;
+
+	@Setup
+	public void setup(final Blackhole bh) {
+		consumer = new Consumer<String>() {
+			@Override
+			public void accept(String s) {
+				bh.consume(s);
+			}
+		};
+		lengthConsumer = new Consumer<Integer>() {
+			@Override
+			public void accept(Integer i) {
+				bh.consume(i);
+			}
+		};
+	}
+
+	@Benchmark
+	public Promise<String> setThenConsume() {
+		return Promise.<String>sync().set("Hello World!").onSuccess(consumer);
+	}
+
+	@Benchmark
+	public Promise<String> consumeThenSet() {
+		return Promise.<String>sync().onSuccess(consumer).set("Hello World!");
+	}
+
+	@Benchmark
+	public Promise<String> mapThenSet() {
+		Promise<String> p = Promise.sync();
+		p.map(LENGTH).consume(lengthConsumer);
+		return p.set("Hello World!");
+	}
+
+}
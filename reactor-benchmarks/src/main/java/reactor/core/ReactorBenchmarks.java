@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core;
+
+import org.openjdk.jmh.annotations.*;
+import reactor.fn.Consumer;
+import reactor.fn.Event;
+import reactor.fn.Selector;
+import reactor.fn.dispatch.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static reactor.Fn.$;
+
+/**
+ * Benchmarks {@link Reactor#notify(Selector, Event)} on each type of {@link Dispatcher}, from the first notification to
+ * the last consumer invocation.
+ * <p/>
+ * Asynchronous dispatchers would otherwise only be measured until their queue fills up, so every invocation sends a
+ * batch of events and then waits for all of them to be consumed. The scores are per event.
+ *
+ * @author Jon Brisbin
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReactorBenchmarks {
+
+	static final int BATCH_SIZE = 1000;
+	static final int BACKLOG    = 2048;
+	static final int THREADS    = Runtime.getRuntime().availableProcessors();
+
+	@Param({"sync", "ringBuffer", "blockingQueue", "pooled", "arrayQueue", "workStealing", "lane"})
+	public String dispatcher;
+
+	@Param({"1", "500"})
+	public int selectors;
+
+	private final AtomicLong              consumed = new AtomicLong();
+	private final Event<String>           hello    = new Event<String>("Hello World!");
+	private final Consumer<Event<String>> count    = new Consumer<Event<String>>() {
+		@Override
+		public void accept(Event<String> ev) {
+			consumed.incrementAndGet();
+		}
+	};
+	private Dispatcher d;
+	private Reactor    reactor;
+	private Selector[] sels;
+	private long       expected;
+
+	@Setup
+	public void setup() {
+		d = createDispatcher(dispatcher);
+		reactor = new Reactor(d);
+		sels = new Selector[selectors];
+		for (int i = 0; i < selectors; i++) {
+			sels[i] = $("test" + i);
+			reactor.on(sels[i], count);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		d.destroy();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public void notifyAndConsume() {
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			reactor.notify(sels[i % selectors], hello);
+		}
+		expected += BATCH_SIZE;
+		while (consumed.get() < expected) {
+			Thread.yield();
+		}
+	}
+
+	static Dispatcher createDispatcher(String type) {
+		if ("sync".equals(type)) {
+			return new SynchronousDispatcher();
+		} else if ("ringBuffer".equals(type)) {
+			return Context.ringBufferDispatcher("bench", RingBufferDispatcher.WaitMode.ADAPTIVE);
+		} else if ("blockingQueue".equals(type)) {
+			return new BlockingQueueDispatcher("bench", BACKLOG);
+		} else if ("pooled".equals(type)) {
+			Dispatcher[] workers = new Dispatcher[THREADS];
+			for (int i = 0; i < THREADS; i++) {
+				workers[i] = new BlockingQueueDispatcher("bench-worker", BACKLOG);
+			}
+			return new PooledDispatcher(workers);
+		} else if ("arrayQueue".equals(type)) {
+			return new ArrayQueueDispatcher("bench", BACKLOG);
+		} else if ("workStealing".equals(type)) {
+			return new WorkStealingDispatcher("bench", THREADS, BACKLOG);
+		} else if ("lane".equals(type)) {
+			return new LaneDispatcher("bench", THREADS, BACKLOG);
+		}
+		throw new IllegalArgumentException("Unknown dispatcher type: " + type);
+	}
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.fn;
+
+import org.openjdk.jmh.annotations.*;
+import reactor.Fn;
+import reactor.core.Reactor;
+import reactor.fn.dispatch.SynchronousDispatcher;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static reactor.Fn.$;
+
+/**
+ * Benchmarks creating {@link Event}s and their {@link Event.Headers}, where most of the garbage of a notification comes
+ * from. Run with the GC profiler to compare allocation rates.
+ * <p/>
+ * Headers backed by a map, as they used to be, are compared with the default array-backed headers. Events created with
+ * {@link Fn#event(Object)} are compared with events taken from an {@link EventPool}, and boxed {@code long} events with
+ * {@link Fn#longEvent(long)}. The events are sent through a {@link Reactor} with a {@link SynchronousDispatcher}, so
+ * pooled events are recycled before the next one is taken.
+ *
+ * @author Jon Brisbin
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventBenchmarks {
+
+	private final Integer   data = 1;
+	private final EventPool pool = new EventPool(16);
+	private final Selector  sel     = $("test");
+	private final Selector  longSel = $("long");
+	private Reactor reactor;
+	private long    sum;
+	private long    next;
+
+	@Setup
+	public void setup() {
+		reactor = new Reactor(new SynchronousDispatcher());
+		reactor.on(sel, new Consumer<Event<Integer>>() {
+			@Override
+			public void accept(Event<Integer> ev) {
+				sum += ev.getData();
+			}
+		});
+		reactor.on(longSel, Fn.longConsumer(new LongConsumer() {
+			@Override
+			public void accept(long value) {
+				sum += value;
+			}
+		}));
+	}
+
+	@Benchmark
+	public String mapHeaders() {
+		Event.Headers headers = new Event.Headers(new ConcurrentHashMap<String, String>());
+		headers.setOrigin("origin").set("x-test", "test");
+		return headers.get("x-test");
+	}
+
+	@Benchmark
+	public String arrayHeaders() {
+		Event.Headers headers = new Event.Headers();
+		headers.setOrigin("origin").set("x-test", "test");
+		return headers.get("x-test");
+	}
+
+	@Benchmark
+	public long notifyEvent() {
+		reactor.notify(sel, Fn.event(data));
+		return sum;
+	}
+
+	@Benchmark
+	public long notifyPooledEvent() {
+		reactor.notify(sel, pool.event(data));
+		return sum;
+	}
+
+	@Benchmark
+	public long notifyBoxedLongEvent() {
+		// Values above the Long cache, like timestamps or byte counts
+		reactor.notify(longSel, Fn.event(1000 + next++));
+		return sum;
+	}
+
+	@Benchmark
+	public long notifyLongEvent() {
+		reactor.notify(longSel, Fn.longEvent(1000 + next++));
+		return sum;
+	}
+
+}
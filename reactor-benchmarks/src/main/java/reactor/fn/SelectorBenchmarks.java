@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.fn;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static reactor.Fn.*;
+
+/**
+ * Benchmarks {@link Selector#matches(Selector)} for each type of {@link Selector}, and tag-aware matching through a
+ * {@link TagAwareSelectionStrategy}. Creating a selector and giving it an id is measured from several threads at once,
+ * since the ids come from a shared sequence.
+ *
+ * @author Jon Brisbin
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SelectorBenchmarks {
+
+	private final Selector                  object         = $("test");
+	private final Selector                  objectKey      = $("test");
+	private final Selector                  regex          = R("test([0-9]+)");
+	private final Selector                  regexKey       = $("test1234");
+	private final Selector                  type           = T(Number.class);
+	private final Selector                  typeKey        = T(Integer.class);
+	private final Selector                  uriTemplate    = U("/resource/{id}/children/{name}");
+	private final Selector                  uriTemplateKey = $("/resource/1234/children/test");
+	private final Selector                  tagged         = $("test").setTags("one", "two");
+	private final Selector                  taggedKey      = $("test").setTags("two");
+	private final TagAwareSelectionStrategy tagStrategy    = new TagAwareSelectionStrategy();
+
+	@Benchmark
+	public boolean objectMatches() {
+		return object.matches(objectKey);
+	}
+
+	@Benchmark
+	public boolean regexMatches() {
+		return regex.matches(regexKey);
+	}
+
+	@Benchmark
+	public boolean classMatches() {
+		return type.matches(typeKey);
+	}
+
+	@Benchmark
+	public boolean uriTemplateMatches() {
+		return uriTemplate.matches(uriTemplateKey);
+	}
+
+	@Benchmark
+	public boolean taggedMatches() {
+		return tagStrategy.matches(tagged, taggedKey);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public Long createSelector() {
+		return $("test").getId();
+	}
+
+}
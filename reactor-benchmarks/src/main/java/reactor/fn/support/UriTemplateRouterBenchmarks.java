@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.fn.support;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks routing a path through a {@link UriTemplateRouter} against matching it with each {@link UriTemplate}'s
+ * pattern in turn, with a varying number of templates. Every path matches exactly one template.
+ *
+ * @author Jon Brisbin
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UriTemplateRouterBenchmarks {
+
+	@Param({"10", "100", "1000"})
+	public int templates;
+
+	private UriTemplateRouter<UriTemplate> router;
+	private UriTemplate[]                  uriTemplates;
+	private String[]                       paths;
+	private int                            next;
+
+	@Setup
+	public void setup() {
+		router = new UriTemplateRouter<UriTemplate>();
+		uriTemplates = new UriTemplate[templates];
+		paths = new String[templates];
+		for (int i = 0; i < templates; i++) {
+			uriTemplates[i] = new UriTemplate("/resource" + i + "/{id}");
+			router.add(uriTemplates[i], uriTemplates[i]);
+			paths[i] = "/resource" + i + "/" + i;
+		}
+	}
+
+	@Benchmark
+	public int matchEachTemplate() {
+		String path = nextPath();
+		int matched = 0;
+		for (UriTemplate template : uriTemplates) {
+			if (template.getUriPattern().matcher(path).matches()) {
+				matched++;
+			}
+		}
+		return matched;
+	}
+
+	@Benchmark
+	public List<UriTemplateRouter.Match<UriTemplate>> route() {
+		return router.route(nextPath());
+	}
+
+	private String nextPath() {
+		next = (next + 1) % templates;
+		return paths[next];
+	}
+
+}
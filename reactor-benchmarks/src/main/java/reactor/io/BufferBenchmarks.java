@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.io;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the common {@link Buffer} operations: appending and reading back primitives, growing a dynamic buffer,
+ * wrapping and decoding strings, and slicing.
+ *
+ * @author Jon Brisbin
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BufferBenchmarks {
+
+	static final String HELLO = "Hello World!";
+
+	@Param({"16", "1024"})
+	public int size;
+
+	private Buffer fixed;
+	private Buffer text;
+	private byte[] bytes;
+
+	@Setup
+	public void setup() {
+		fixed = new Buffer(size * 12, true);
+		StringBuilder sb = new StringBuilder();
+		while (sb.length() < size) {
+			sb.append(HELLO);
+		}
+		text = Buffer.wrap(sb.substring(0, size));
+		bytes = new byte[size];
+	}
+
+	@Benchmark
+	public long appendAndReadPrimitives() {
+		for (int i = 0; i < size; i++) {
+			fixed.append(i).append((long) i);
+		}
+		fixed.flip();
+		long sum = 0;
+		for (int i = 0; i < size; i++) {
+			sum += fixed.readInt() + fixed.readLong();
+		}
+		// Everything has been read, so flipping again makes the whole buffer writable for the next invocation
+		fixed.flip();
+		return sum;
+	}
+
+	@Benchmark
+	public Buffer appendToDynamic() {
+		return new Buffer().append(bytes).append(HELLO).flip();
+	}
+
+	@Benchmark
+	public Buffer wrapString() {
+		return Buffer.wrap(HELLO);
+	}
+
+	@Benchmark
+	public String asString() {
+		text.rewind();
+		return text.asString();
+	}
+
+	@Benchmark
+	public Buffer slice() {
+		return text.slice(0, size / 2);
+	}
+
+}
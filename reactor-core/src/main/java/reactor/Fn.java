@@ -19,8 +19,12 @@
 package reactor;
 
 import reactor.fn.Consumer;
+import reactor.fn.DoubleConsumer;
+import reactor.fn.DoubleEvent;
 import reactor.fn.Event;
 import reactor.fn.Function;
+import reactor.fn.LongConsumer;
+import reactor.fn.LongEvent;
 import reactor.fn.Selector;
 import reactor.fn.selector.BaseSelector;
 import reactor.fn.selector.ClassSelector;
@@ -117,6 +121,74 @@ public abstract class Fn {
 		return new Event<T>(obj).setReplyTo(replyTo);
 	}
 
+	/**
+	 * Wrap the given {@code long} with a {@link LongEvent}, without boxing it.
+	 *
+	 * @param value The value to wrap.
+	 * @return The new {@link LongEvent}.
+	 */
+	public static LongEvent longEvent(long value) {
+		return new LongEvent(value);
+	}
+
+	/**
+	 * Wrap the given {@code double} with a {@link DoubleEvent}, without boxing it.
+	 *
+	 * @param value The value to wrap.
+	 * @return The new {@link DoubleEvent}.
+	 */
+	public static DoubleEvent doubleEvent(double value) {
+		return new DoubleEvent(value);
+	}
+
+	/**
+	 * Adapt the given {@link LongConsumer} so that it can be registered to receive {@link Event}s. The value of a {@link
+	 * LongEvent} is passed to it without being boxed; any other event's data is unboxed, and an event without data is
+	 * ignored.
+	 * <p/>
+	 * A {@link reactor.core.LongComposable} is a {@link LongConsumer}, so values can be passed on through its {@code map},
+	 * {@code filter} and {@code reduce} without being boxed either.
+	 *
+	 * @param consumer The {@link LongConsumer}.
+	 * @return A {@link Consumer} of {@link Event}s that invokes the {@link LongConsumer}.
+	 */
+	public static Consumer<Event<Long>> longConsumer(final LongConsumer consumer) {
+		return new Consumer<Event<Long>>() {
+			@Override
+			public void accept(Event<Long> ev) {
+				if (ev instanceof LongEvent) {
+					consumer.accept(((LongEvent) ev).getLong());
+				} else if (null != ev.getData()) {
+					consumer.accept(ev.getData());
+				}
+			}
+		};
+	}
+
+	/**
+	 * Adapt the given {@link DoubleConsumer} so that it can be registered to receive {@link Event}s. The value of a {@link
+	 * DoubleEvent} is passed to it without being boxed; any other event's data is unboxed, and an event without data is
+	 * ignored.
+	 * <p/>
+	 * A {@link reactor.core.DoubleComposable} is a {@link DoubleConsumer}, so values can be passed on through its {@code
+	 * map}, {@code filter} and {@code reduce} without being boxed either.
+	 *
+	 * @param consumer The {@link DoubleConsumer}.
+	 * @return A {@link Consumer} of {@link Event}s that invokes the {@link DoubleConsumer}.
+	 */
+	public static Consumer<Event<Double>> doubleConsumer(final DoubleConsumer consumer) {
+		return new Consumer<Event<Double>>() {
+			@Override
+			public void accept(Event<Double> ev) {
+				if (ev instanceof DoubleEvent) {
+					consumer.accept(((DoubleEvent) ev).getDouble());
+				} else if (null != ev.getData()) {
+					consumer.accept(ev.getData());
+				}
+			}
+		};
+	}
+
 	/**
 	 * Wrap the given {@link Runnable} and compose a new {@link reactor.fn.Consumer}.
 	 *
@@ -1,33 +1,90 @@
 package reactor.core;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+import org.cliffc.high_scale_lib.Counter;
 import reactor.fn.Registration;
 import reactor.fn.Registry;
 import reactor.fn.SelectionStrategy;
 import reactor.fn.Selector;
 import reactor.fn.selector.BaseSelector;
+import reactor.support.ClockCache;
 
 /**
+ * A {@link Registry} that caches the result of matching a {@link Selector} against the registered {@link Selector}s.
+ * <p/>
+ * Selection never takes a lock, on a cache hit or a miss. Registrations are kept in a copy-on-write list and the cache
+ * is a bounded, lock-free {@link ClockCache} whose entries are stamped with the generation of the registry in which
+ * they were computed. Mutations are serialized and bump the generation. Rather than throwing the cache away, a
+ * mutation updates the entries that were current before it: a new registration is only matched against the cached
+ * {@link Selector}s and a removed one is only taken out of the entries that contain it.
+ * <p/>
+ * Cache misses don't scan every registration either. Registrations are partitioned into {@link RegistrationIndex}es
+ * by the type of their {@link Selector}: plain {@link BaseSelector}s are looked up by hash code, {@link
+ * reactor.fn.selector.UriTemplateSelector}s are routed through a trie, {@link reactor.fn.selector.RegexSelector}s
+ * are filtered by their literal prefix, {@link reactor.fn.selector.ClassSelector}s are resolved through their type
+ * hierarchy and only the remaining selectors are asked one by one. When a {@link SelectionStrategy} applies to the
+ * {@link Selector} being matched, all registrations are still checked against it.
+ * <p/>
+ * The cache holds at most {@code cacheSize} selectors, by default the value of the {@code reactor.registry.cache.size}
+ * system property or 4096, so selectors that are only used once don't accumulate.
+ *
  * @author Jon Brisbin
  * @author Andy Wilkinson
  */
 public class CachingRegistry<T> implements Registry<T> {
 
-	private final    Random                                     random                = new Random();
-	private final    Object                                     monitor               = new Object();
-	private final    List<Registration<? extends T>>            registrations         = new ArrayList<Registration<? extends T>>();
-	private final    Map<Long, List<Registration<? extends T>>> registrationCache     = new HashMap<Long, List<Registration<? extends T>>>();
+	private static final Comparator<Registration<?>> REGISTRATION_ORDER = new Comparator<Registration<?>>() {
+		@Override
+		public int compare(Registration<?> r1, Registration<?> r2) {
+			long s1 = ((CachingRegistry<?>.CachableRegistration<?>) r1).sequence;
+			long s2 = ((CachingRegistry<?>.CachableRegistration<?>) r2).sequence;
+			return (s1 < s2 ? -1 : (s1 == s2 ? 0 : 1));
+		}
+	};
+
+	private final    Random                                   random                = new Random();
+	private final    Object                                   monitor               = new Object();
+	private final    List<Registration<? extends T>>          registrations         = new CopyOnWriteArrayList<Registration<? extends T>>();
+	private final    ClockCache<Long, CacheEntry<T>>          registrationCache;
+	private final    Counter                                  cacheHits             = new Counter();
+	private final    Counter                                  cacheMisses           = new Counter();
+	private final    List<RegistrationIndex<T>>               indexes               = new ArrayList<RegistrationIndex<T>>();
+
+	private volatile LoadBalancingStrategy                    loadBalancingStrategy = LoadBalancingStrategy.NONE;
+	private volatile SelectionStrategy                        selectionStrategy;
+	private volatile long                                     generation;
+	private          long                                     nextSequence;
+
+	/**
+	 * Create a {@literal CachingRegistry} whose cache size is set by the {@code reactor.registry.cache.size} system
+	 * property.
+	 */
+	public CachingRegistry() {
+		this(Integer.parseInt(System.getProperty("reactor.registry.cache.size", "4096")));
+	}
 
-	private volatile LoadBalancingStrategy                      loadBalancingStrategy = LoadBalancingStrategy.NONE;
-	private          SelectionStrategy                          selectionStrategy;
-	private          boolean                                    refreshRequired;
+	/**
+	 * Create a {@literal CachingRegistry} that caches the selection results of at most {@code cacheSize} {@link
+	 * Selector}s.
+	 *
+	 * @param cacheSize The maximum number of cached selection results.
+	 */
+	public CachingRegistry(int cacheSize) {
+		this.registrationCache = new ClockCache<Long, CacheEntry<T>>(cacheSize);
+		this.indexes.add(new ExactMatchIndex<T>());
+		this.indexes.add(new UriTemplateIndex<T>());
+		this.indexes.add(new RegexIndex<T>());
+		this.indexes.add(new ClassIndex<T>());
+		this.indexes.add(new LinearScanIndex<T>());
+	}
 
 	public LoadBalancingStrategy getLoadBalancingStrategy() {
 		return loadBalancingStrategy;
@@ -43,27 +100,28 @@ public class CachingRegistry<T> implements Registry<T> {
 	}
 
 	public SelectionStrategy getSelectionStrategy() {
-		synchronized(monitor) {
-			return selectionStrategy;
-		}
+		return selectionStrategy;
 	}
 
 	@Override
 	public Registry<T> setSelectionStrategy(SelectionStrategy selectionStrategy) {
-		synchronized(monitor) {
+		synchronized (monitor) {
 			this.selectionStrategy = selectionStrategy;
-			refreshRequired = true;
+			generation++;
+			registrationCache.clear();
 		}
 		return this;
 	}
 
 	@Override
 	public <V extends T> Registration<V> register(Selector sel, V obj) {
-		CachableRegistration<V> reg = new CachableRegistration<V>(sel, obj);
+		CachableRegistration<V> reg;
 
 		synchronized (monitor) {
+			reg = new CachableRegistration<V>(nextSequence++, sel, obj);
 			registrations.add(reg);
-			refreshRequired = true;
+			indexFor(sel).add(reg);
+			cacheRegistered(reg);
 		}
 
 		return reg;
@@ -79,8 +137,7 @@ public class CachingRegistry<T> implements Registry<T> {
 			List<Registration<? extends T>> regs = findMatchingRegistrations(sel);
 
 			if (!regs.isEmpty()) {
-				registrations.removeAll(regs);
-				refreshRequired = true;
+				removeRegistrations(regs);
 				return true;
 			} else {
 				return false;
@@ -90,14 +147,10 @@ public class CachingRegistry<T> implements Registry<T> {
 
 	@Override
 	public Iterable<Registration<? extends T>> select(Selector sel) {
-		List<Registration<? extends T>> matchingRegistrations;
+		List<Registration<? extends T>> matchingRegistrations = find(sel);
 
-		synchronized (monitor) {
-			refreshCacheIfNecessary();
-			matchingRegistrations = registrationCache.get(sel.getId());
-			if (null == matchingRegistrations) {
-				matchingRegistrations = find(sel);
-			}
+		if (matchingRegistrations.isEmpty()) {
+			return matchingRegistrations;
 		}
 
 		switch (loadBalancingStrategy) {
@@ -117,52 +170,220 @@ public class CachingRegistry<T> implements Registry<T> {
 		}
 	}
 
+	/**
+	 * Find every registration that matches the given {@link Selector}, the same way {@link #select(Selector)} does but
+	 * without load balancing. The result isn't cached, so one-off lookups, from a management tool for example, don't push
+	 * the selectors in use out of the cache.
+	 *
+	 * @param sel The {@link Selector} to match.
+	 * @return The matching registrations, in the order they were registered.
+	 */
+	public List<Registration<? extends T>> selectAll(Selector sel) {
+		if (registrations.isEmpty()) {
+			return Collections.emptyList();
+		}
+		return Collections.unmodifiableList(findMatchingRegistrations(sel));
+	}
+
+	/**
+	 * The number of selections that were served from the cache.
+	 *
+	 * @return The number of cache hits.
+	 */
+	public long getCacheHits() {
+		return cacheHits.get();
+	}
+
+	/**
+	 * The number of selections that had to be matched against the registrations.
+	 *
+	 * @return The number of cache misses.
+	 */
+	public long getCacheMisses() {
+		return cacheMisses.get();
+	}
+
+	/**
+	 * The number of cached selection results that have been evicted to make room for others.
+	 *
+	 * @return The number of cache evictions.
+	 */
+	public long getCacheEvictions() {
+		return registrationCache.getEvictions();
+	}
+
+	/**
+	 * The number of selection results currently cached.
+	 *
+	 * @return The size of the cache.
+	 */
+	public int getCacheSize() {
+		return registrationCache.size();
+	}
+
 	@Override
 	public Iterator<Registration<? extends T>> iterator() {
-		synchronized (monitor) {
-			return Collections.unmodifiableList(new ArrayList<Registration<? extends T>>(this.registrations)).iterator();
+		return Collections.unmodifiableList(registrations).iterator();
+	}
+
+	private RegistrationIndex<T> indexFor(Selector sel) {
+		for (RegistrationIndex<T> index : indexes) {
+			if (index.supports(sel)) {
+				return index;
+			}
 		}
+		throw new IllegalStateException("No index supports " + sel);
 	}
 
-	private void refreshCacheIfNecessary() {
-		synchronized (monitor) {
-			if (refreshRequired) {
-				registrationCache.clear();
-				for (Registration<? extends T> reg : registrations) {
-					find(reg.getSelector());
-				}
-				refreshRequired = false;
+	/**
+	 * Must be called while holding the monitor.
+	 */
+	private void removeRegistrations(Collection<? extends Registration<? extends T>> regs) {
+		registrations.removeAll(regs);
+		for (Registration<? extends T> reg : regs) {
+			indexFor(reg.getSelector()).remove(reg);
+		}
+		cacheUnregistered(regs);
+	}
+
+	/**
+	 * Must be called while holding the monitor, after the registration has been added. Readers that raced with the
+	 * change may have computed an entry that already contains the registration, so this is idempotent.
+	 */
+	private void cacheRegistered(Registration<? extends T> reg) {
+		long previous = generation++;
+		long current = previous + 1;
+		SelectionStrategy selectionStrategy = this.selectionStrategy;
+
+		for (CacheEntry<T> entry : registrationCache.values()) {
+			if (!isUpdatable(entry, previous)) {
+				continue;
+			}
+
+			List<Registration<? extends T>> regs = entry.registrations;
+			if (matches(selectionStrategy, reg, entry.selector) && !regs.contains(reg)) {
+				List<Registration<? extends T>> newRegs = new ArrayList<Registration<? extends T>>(regs.size() + 1);
+				newRegs.addAll(regs);
+				newRegs.add(reg);
+				registrationCache.replace(entry.selector.getId(),
+				                          entry,
+				                          new CacheEntry<T>(entry.selector, current, Collections.unmodifiableList(newRegs)));
+			} else {
+				entry.generation = current;
 			}
 		}
 	}
 
-	private List<Registration<? extends T>> find(final Selector sel) {
-		synchronized (monitor) {
-			if (registrations.isEmpty()) {
-				return Collections.emptyList();
+	/**
+	 * Must be called while holding the monitor, after the registrations have been removed.
+	 */
+	private void cacheUnregistered(Collection<? extends Registration<? extends T>> removed) {
+		long previous = generation++;
+		long current = previous + 1;
+
+		for (CacheEntry<T> entry : registrationCache.values()) {
+			if (!isUpdatable(entry, previous)) {
+				continue;
 			}
 
-			List<Registration<? extends T>> regs = findMatchingRegistrations(sel);
-			registrationCache.put(sel.getId(), regs);
+			List<Registration<? extends T>> regs = entry.registrations;
+			boolean affected = false;
+			for (Registration<? extends T> reg : removed) {
+				if (regs.contains(reg)) {
+					affected = true;
+					break;
+				}
+			}
 
-			return regs;
+			if (!affected) {
+				entry.generation = current;
+			} else {
+				List<Registration<? extends T>> newRegs = new ArrayList<Registration<? extends T>>(regs);
+				newRegs.removeAll(removed);
+				if (newRegs.isEmpty()) {
+					// Most likely a one-shot selector whose only consumer was cancelled after use
+					registrationCache.remove(entry.selector.getId(), entry);
+				} else {
+					registrationCache.replace(entry.selector.getId(),
+					                          entry,
+					                          new CacheEntry<T>(entry.selector, current, Collections.unmodifiableList(newRegs)));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Entries computed before the previous generation can never be served again, so drop them instead of carrying them
+	 * forward. Entries computed by readers that already saw the new generation don't need updating.
+	 */
+	private boolean isUpdatable(CacheEntry<T> entry, long previous) {
+		if (entry.generation < previous) {
+			registrationCache.remove(entry.selector.getId(), entry);
+			return false;
 		}
+		return entry.generation == previous;
+	}
+
+	private List<Registration<? extends T>> find(Selector sel) {
+		long gen = generation;
+		CacheEntry<T> entry = registrationCache.get(sel.getId());
+		if (null != entry && entry.generation >= gen) {
+			cacheHits.increment();
+			return entry.registrations;
+		}
+		cacheMisses.increment();
+
+		if (registrations.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		List<Registration<? extends T>> regs = Collections.unmodifiableList(findMatchingRegistrations(sel));
+		CacheEntry<T> newEntry = new CacheEntry<T>(sel, gen, regs);
+		if (null == entry) {
+			registrationCache.putIfAbsent(sel.getId(), newEntry);
+		} else {
+			registrationCache.replace(sel.getId(), entry, newEntry);
+		}
+
+		return regs;
 	}
 
 	private List<Registration<? extends T>> findMatchingRegistrations(Selector sel) {
+		SelectionStrategy selectionStrategy = this.selectionStrategy;
 		List<Registration<? extends T>> regs = new ArrayList<Registration<? extends T>>();
-		for (Registration<? extends T> reg : registrations) {
-			if (null != selectionStrategy
-					&& selectionStrategy.supports(sel)
-					&& selectionStrategy.matches(reg.getSelector(), sel)) {
-				regs.add(reg);
-			} else if (reg.getSelector().matches(sel)) {
-				regs.add(reg);
+
+		if (null != selectionStrategy && selectionStrategy.supports(sel)) {
+			for (Registration<? extends T> reg : registrations) {
+				if (matches(selectionStrategy, reg, sel)) {
+					regs.add(reg);
+				}
 			}
+			return regs;
+		}
+
+		int sources = 0;
+		for (RegistrationIndex<T> index : indexes) {
+			int size = regs.size();
+			index.select(sel, regs);
+			if (regs.size() > size) {
+				sources++;
+			}
+		}
+		if (sources > 1) {
+			Collections.sort(regs, REGISTRATION_ORDER);
 		}
 		return regs;
 	}
 
+	private static boolean matches(SelectionStrategy selectionStrategy, Registration<?> reg, Selector sel) {
+		if (null != selectionStrategy
+				&& selectionStrategy.supports(sel)
+				&& selectionStrategy.matches(reg.getSelector(), sel)) {
+			return true;
+		}
+		return reg.getSelector().matches(sel);
+	}
+
 	@SuppressWarnings("unchecked")
 	private void expire(Selector sel, long olderThan) {
 		synchronized (monitor) {
@@ -172,20 +393,33 @@ public class CachingRegistry<T> implements Registry<T> {
 					regsToRemove.add(reg);
 				}
 			}
-			registrations.removeAll(regsToRemove);
-			refreshRequired = true;
+			removeRegistrations(regsToRemove);
+		}
+	}
+
+	private static class CacheEntry<T> {
+		private final    Selector                        selector;
+		private final    List<Registration<? extends T>> registrations;
+		private volatile long                            generation;
+
+		private CacheEntry(Selector selector, long generation, List<Registration<? extends T>> registrations) {
+			this.selector = selector;
+			this.registrations = registrations;
+			this.generation = generation;
 		}
 	}
 
-	private class CachableRegistration<V> implements Registration<V> {
+	private class CachableRegistration<V extends T> implements Registration<V> {
 		private final long created = System.currentTimeMillis();
+		private final long     sequence;
 		private final Selector selector;
 		private final V        object;
 		private volatile boolean cancelAfterUse = false;
 		private volatile boolean cancelled      = false;
 		private volatile boolean paused         = false;
 
-		private CachableRegistration(Selector selector, V object) {
+		private CachableRegistration(long sequence, Selector selector, V object) {
+			this.sequence = sequence;
 			this.selector = selector;
 			this.object = object;
 		}
@@ -218,8 +452,11 @@ public class CachingRegistry<T> implements Registry<T> {
 		@Override
 		public Registration<V> cancel() {
 			this.cancelled = true;
-			registrations.remove(CachableRegistration.this);
-			refreshRequired = true;
+			synchronized (monitor) {
+				if (registrations.contains(CachableRegistration.this)) {
+					removeRegistrations(Collections.<Registration<? extends T>>singletonList(CachableRegistration.this));
+				}
+			}
 			return this;
 		}
 
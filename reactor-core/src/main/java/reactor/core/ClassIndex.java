@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import reactor.fn.Registration;
+import reactor.fn.Selector;
+import reactor.fn.selector.ClassSelector;
+
+/**
+ * A {@link RegistrationIndex} for {@link ClassSelector}s that resolves a type to the registrations for all of its
+ * supertypes with a single map lookup.
+ * <p/>
+ * The registrations that match a type are worked out the first time it is selected, by checking it against each
+ * distinct registered type, and cached until the registrations change. Errors are selected by their type, so a storm
+ * of the same exception doesn't compare every registration with every error.
+ *
+ * @author Jon Brisbin
+ */
+class ClassIndex<T> extends RegistrationIndex<T> {
+
+	private static final Comparator<Entry<?>> INSERTION_ORDER = new Comparator<Entry<?>>() {
+		@Override
+		public int compare(Entry<?> e1, Entry<?> e2) {
+			return (e1.sequence < e2.sequence ? -1 : (e1.sequence == e2.sequence ? 0 : 1));
+		}
+	};
+
+	private final    Map<Class<?>, List<Entry<T>>> types    = new LinkedHashMap<Class<?>, List<Entry<T>>>();
+	private volatile Snapshot<T>                   snapshot = new Snapshot<T>(types);
+	private          long                          nextSequence;
+
+	@Override
+	public boolean supports(Selector sel) {
+		return sel.getClass() == ClassSelector.class;
+	}
+
+	@Override
+	void add(Registration<? extends T> reg) {
+		Class<?> type = ((ClassSelector) reg.getSelector()).getObject();
+		List<Entry<T>> entries = types.get(type);
+		if (null == entries) {
+			entries = new ArrayList<Entry<T>>();
+			types.put(type, entries);
+		}
+		entries.add(new Entry<T>(nextSequence++, reg));
+		snapshot = new Snapshot<T>(types);
+	}
+
+	@Override
+	void remove(Registration<? extends T> reg) {
+		Class<?> type = ((ClassSelector) reg.getSelector()).getObject();
+		List<Entry<T>> entries = types.get(type);
+		if (null == entries) {
+			return;
+		}
+		for (int i = 0; i < entries.size(); i++) {
+			if (entries.get(i).registration == reg) {
+				entries.remove(i);
+				if (entries.isEmpty()) {
+					types.remove(type);
+				}
+				snapshot = new Snapshot<T>(types);
+				return;
+			}
+		}
+	}
+
+	@Override
+	void select(Selector sel, List<Registration<? extends T>> matches) {
+		if (!(sel instanceof ClassSelector)) {
+			return;
+		}
+		Snapshot<T> snapshot = this.snapshot;
+		if (snapshot.types.isEmpty()) {
+			return;
+		}
+
+		Class<?> type = ((ClassSelector) sel).getObject();
+		List<Registration<? extends T>> resolved = snapshot.resolved.get(type);
+		if (null == resolved) {
+			resolved = snapshot.resolve(type);
+			// The snapshot is replaced whenever the registrations change, so this can never be stale
+			snapshot.resolved.putIfAbsent(type, resolved);
+		}
+		matches.addAll(resolved);
+	}
+
+	private static class Entry<T> {
+		private final long                      sequence;
+		private final Registration<? extends T> registration;
+
+		private Entry(long sequence, Registration<? extends T> registration) {
+			this.sequence = sequence;
+			this.registration = registration;
+		}
+	}
+
+	private static class Snapshot<T> {
+		private final Map<Class<?>, List<Entry<T>>>                                types;
+		private final ConcurrentHashMap<Class<?>, List<Registration<? extends T>>> resolved = new ConcurrentHashMap<Class<?>, List<Registration<? extends T>>>();
+
+		private Snapshot(Map<Class<?>, List<Entry<T>>> types) {
+			this.types = new LinkedHashMap<Class<?>, List<Entry<T>>>();
+			for (Map.Entry<Class<?>, List<Entry<T>>> e : types.entrySet()) {
+				this.types.put(e.getKey(), new ArrayList<Entry<T>>(e.getValue()));
+			}
+		}
+
+		private List<Registration<? extends T>> resolve(Class<?> type) {
+			List<Entry<T>> entries = new ArrayList<Entry<T>>();
+			int supertypes = 0;
+			for (Map.Entry<Class<?>, List<Entry<T>>> e : types.entrySet()) {
+				if (e.getKey().isAssignableFrom(type)) {
+					entries.addAll(e.getValue());
+					supertypes++;
+				}
+			}
+			if (supertypes > 1) {
+				Collections.sort(entries, INSERTION_ORDER);
+			}
+
+			List<Registration<? extends T>> regs = new ArrayList<Registration<? extends T>>(entries.size());
+			for (Entry<T> entry : entries) {
+				regs.add(entry.registration);
+			}
+			return Collections.unmodifiableList(regs);
+		}
+	}
+
+}
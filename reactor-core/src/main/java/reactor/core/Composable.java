@@ -9,6 +9,7 @@ import reactor.fn.dispatch.DispatcherAware;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -64,6 +65,7 @@ public class Composable<T> implements Consumer<T>, Supplier<T>, Deferred<T>, Dis
 	protected boolean hasBlockers = false;
 	protected T         value;
 	protected Throwable error;
+	protected volatile HashedWheelTimer.Timeout timeout;
 
 	/**
 	 * Create a {@literal Composable} with default behavior.
@@ -159,7 +161,7 @@ public class Composable<T> implements Consumer<T>, Supplier<T>, Deferred<T>, Dis
 	public Composable<T> setExpectedAcceptCount(long expectedAcceptCount) {
 		this.expectedAcceptCount.set(expectedAcceptCount);
 		if (this.acceptedCount.get() >= expectedAcceptCount) {
-			observable.notify(last, Fn.event(value));
+			observable.notify(last, valueEvent());
 			synchronized (monitor) {
 				monitor.notifyAll();
 			}
@@ -167,6 +169,29 @@ public class Composable<T> implements Consumer<T>, Supplier<T>, Deferred<T>, Dis
 		return this;
 	}
 
+	/**
+	 * Fail this {@literal Composable} with a {@link TimeoutException} if it hasn't completed within the given time. The
+	 * error is delivered like any other, so it can be handled with {@link #when(Class, Consumer)}. Replaces any timeout
+	 * set before.
+	 *
+	 * @param timeout The time to wait for completion.
+	 * @param unit    The unit of the time.
+	 * @return {@literal this}
+	 */
+	public Composable<T> timeout(final long timeout, final TimeUnit unit) {
+		HashedWheelTimer.Timeout previous = this.timeout;
+		if (null != previous) {
+			previous.cancel();
+		}
+		this.timeout = R.TIMER.schedule(new Consumer<Void>() {
+			@Override
+			public void accept(Void v) {
+				expire(new TimeoutException("Not completed within " + timeout + " " + unit.toString().toLowerCase()));
+			}
+		}, null, timeout, unit);
+		return this;
+	}
+
 	/**
 	 * Register a {@link Consumer} that will be invoked whenever {@link #accept(Object)} is called.
 	 *
@@ -410,12 +435,9 @@ public class Composable<T> implements Consumer<T>, Supplier<T>, Deferred<T>, Dis
 	 */
 	public void accept(Throwable error) {
 		synchronized (monitor) {
-			this.error = error;
-			if (hasBlockers) {
-				monitor.notifyAll();
-			}
+			setError(error);
 		}
-		observable.notify(Fn.T(error.getClass()), Fn.event(error));
+		notifyError(error);
 	}
 
 	/**
@@ -430,8 +452,7 @@ public class Composable<T> implements Consumer<T>, Supplier<T>, Deferred<T>, Dis
 				monitor.notifyAll();
 			}
 		}
-		observable.notify(accept, Fn.event(value));
-		acceptedCount.incrementAndGet();
+		accepted(Fn.event(value));
 	}
 
 	@Override
@@ -441,9 +462,21 @@ public class Composable<T> implements Consumer<T>, Supplier<T>, Deferred<T>, Dis
 
 	@Override
 	public T await(long timeout, TimeUnit unit) throws InterruptedException {
+		awaitComplete(timeout, unit);
+		return get();
+	}
+
+	/**
+	 * Wait for this {@literal Composable} to complete, or for the given time to run out.
+	 *
+	 * @param timeout The time to wait. A negative time waits forever.
+	 * @param unit    The unit of the time.
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	protected void awaitComplete(long timeout, TimeUnit unit) throws InterruptedException {
 		synchronized (monitor) {
 			if (isComplete()) {
-				return get();
+				return;
 			}
 			if (timeout >= 0) {
 				hasBlockers = true;
@@ -460,12 +493,87 @@ public class Composable<T> implements Consumer<T>, Supplier<T>, Deferred<T>, Dis
 			}
 			hasBlockers = false;
 		}
-		return get();
+	}
+
+	/**
+	 * Notify the consumers of a value that has just been set, and count it as accepted.
+	 *
+	 * @param ev The {@link Event} carrying the value.
+	 */
+	protected void accepted(Event<T> ev) {
+		observable.notify(accept, ev);
+		acceptedCount.incrementAndGet();
+		if (isComplete()) {
+			cancelTimeout();
+		}
+	}
+
+	/**
+	 * Whether a value has been set.
+	 *
+	 * @return {@literal true} once a value has been set.
+	 */
+	protected boolean hasValue() {
+		return null != value;
+	}
+
+	/**
+	 * Wrap the current value with an {@link Event}.
+	 *
+	 * @return The new {@link Event}.
+	 */
+	protected Event<T> valueEvent() {
+		return Fn.event(value);
+	}
+
+	/**
+	 * Called by the timer when a {@link #timeout(long, TimeUnit)} runs out.
+	 *
+	 * @param timeoutException The error to complete with.
+	 */
+	protected void expire(TimeoutException timeoutException) {
+		// Checked and set together, so that a value that completes this Composable first isn't followed by the error
+		synchronized (monitor) {
+			if (isComplete()) {
+				return;
+			}
+			setError(timeoutException);
+		}
+		notifyError(timeoutException);
+	}
+
+	/**
+	 * Set the error and wake up anyone waiting for it. Must be called while holding the monitor.
+	 *
+	 * @param error The error.
+	 */
+	protected void setError(Throwable error) {
+		this.error = error;
+		if (hasBlockers) {
+			monitor.notifyAll();
+		}
+	}
+
+	/**
+	 * Deliver an error that has been set to the consumers registered for it.
+	 *
+	 * @param error The error.
+	 */
+	protected void notifyError(Throwable error) {
+		cancelTimeout();
+		observable.notify(Fn.T(error.getClass()), Fn.event(error));
+	}
+
+	protected void cancelTimeout() {
+		HashedWheelTimer.Timeout t = timeout;
+		if (null != t) {
+			t.cancel();
+		}
 	}
 
 	private boolean isComplete() {
 		long expectedAcceptCount = this.expectedAcceptCount.get();
-		return null != error || (null != value && expectedAcceptCount >= 0 && acceptedCount.get() >= expectedAcceptCount);
+		return null != error || (hasValue() && expectedAcceptCount >= 0 && acceptedCount.get() >= expectedAcceptCount);
 	}
 
 	@Override
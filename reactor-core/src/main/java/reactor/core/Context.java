@@ -1,6 +1,5 @@
 package reactor.core;
 
-import com.lmax.disruptor.BlockingWaitStrategy;
 import com.lmax.disruptor.dsl.ProducerType;
 import reactor.fn.Lifecycle;
 import reactor.fn.dispatch.*;
@@ -17,10 +16,13 @@ public class Context implements Lifecycle {
 
 	private final static int PROCESSORS = Runtime.getRuntime().availableProcessors();
 
-	private final Dispatcher   rootDispatcher;
-	private final Dispatcher[] workerDispatchers;
-	private final Dispatcher   poolDispatcher;
-	private final Dispatcher   syncDispatcher;
+	private final Dispatcher                        rootDispatcher;
+	private final Dispatcher[]                      workerDispatchers;
+	private final Dispatcher                        poolDispatcher;
+	private final Dispatcher                        syncDispatcher;
+	private final int                               ringbufferThreads;
+	private final int                               ringbufferBacklog;
+	private final RingBufferDispatcher.ConsumerMode ringbufferMode;
 	private final AtomicLong nextDispatcherCounter = new AtomicLong(Long.MIN_VALUE);
 
 	private volatile boolean alive = false;
@@ -39,15 +41,17 @@ public class Context implements Lifecycle {
 	 */
 	public Context(int poolSize) {
 		int backlog = Integer.parseInt(System.getProperty("reactor.dispatcher.backlog", "750"));
-		int ringbufferThreads = Integer.parseInt(System.getProperty("reactor.max.ringbuffer.threads", "1"));
-		int ringbufferbacklog = Integer.parseInt(System.getProperty("reactor.max.ringbuffer.backlog", "1024"));
-		rootDispatcher = new RingBufferDispatcher(
-				"root",
-				ringbufferThreads,
-				ringbufferbacklog,
-				ProducerType.MULTI,
-				new BlockingWaitStrategy()
+		ringbufferThreads = Integer.parseInt(System.getProperty("reactor.max.ringbuffer.threads", "1"));
+		ringbufferBacklog = Integer.parseInt(System.getProperty("reactor.max.ringbuffer.backlog", "1024"));
+		// The other consumer modes are opt-in, such as SELECTOR_ORDERED to keep each selector's events in order
+		ringbufferMode = RingBufferDispatcher.ConsumerMode.valueOf(
+				System.getProperty("reactor.ringbuffer.mode", "SINGLE_THREAD")
+		);
+		// Blocking unless another wait mode, such as ADAPTIVE, is asked for
+		RingBufferDispatcher.WaitMode rootWaitMode = RingBufferDispatcher.WaitMode.valueOf(
+				System.getProperty("reactor.ringbuffer.wait", "BLOCKING")
 		);
+		rootDispatcher = createRingBufferDispatcher("root", rootWaitMode);
 
 		workerDispatchers = new Dispatcher[poolSize];
 		for (int i = 0; i < poolSize; i++) {
@@ -157,6 +161,29 @@ public class Context implements Lifecycle {
 		return self.workerDispatchers[(int) l];
 	}
 
+	/**
+	 * Returns the fixed set of "worker" {@link Dispatcher}s handed out by {@link #nextWorkerDispatcher()}, e.g. to compare
+	 * their {@link Dispatcher#getMetrics() metrics} and find the busiest.
+	 *
+	 * @return A copy of the worker {@link Dispatcher}s.
+	 */
+	public static Dispatcher[] workerDispatchers() {
+		return self.workerDispatchers.clone();
+	}
+
+	/**
+	 * Create a new {@link RingBufferDispatcher}, sized like the root {@link Dispatcher}, whose consumers wait for tasks
+	 * using the given {@link RingBufferDispatcher.WaitMode}. The caller owns the new {@link Dispatcher} and is
+	 * responsible for destroying it.
+	 *
+	 * @param name     The name of the dispatcher, used to name its threads.
+	 * @param waitMode How the consumers wait for tasks.
+	 * @return The new {@link Dispatcher}.
+	 */
+	public static Dispatcher ringBufferDispatcher(String name, RingBufferDispatcher.WaitMode waitMode) {
+		return self.createRingBufferDispatcher(name, waitMode);
+	}
+
 	/**
 	 * Get the current {@link Context} that is a static singleton.
 	 *
@@ -175,6 +202,17 @@ public class Context implements Lifecycle {
 		return local.get();
 	}
 
+	private Dispatcher createRingBufferDispatcher(String name, RingBufferDispatcher.WaitMode waitMode) {
+		return new RingBufferDispatcher(
+				name,
+				ringbufferThreads,
+				ringbufferBacklog,
+				ProducerType.MULTI,
+				waitMode.createWaitStrategy(),
+				ringbufferMode
+		);
+	}
+
 	private static void init() {
 		boolean init = Boolean.parseBoolean(System.getProperty("reactor.init.auto", "true"));
 		if (init) {
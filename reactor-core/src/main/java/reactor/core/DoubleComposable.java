@@ -0,0 +1,264 @@
+/*
+ * Copyright 2002-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package reactor.core;
+
+import reactor.Fn;
+import reactor.fn.*;
+import reactor.support.Assert;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static reactor.Fn.$;
+
+/**
+ * A {@link Composable} of primitive {@code double} values. Values travel between it, the {@literal DoubleComposable}s
+ * created by its {@link #map(DoubleFunction)}, {@link #filter(DoublePredicate)} and {@link
+ * #reduce(DoubleReduceFunction, double)}, and their {@link DoubleConsumer}s as {@link DoubleEvent}s, so a numeric
+ * stream doesn't box any of them. A {@literal DoubleComposable} is itself a {@link DoubleConsumer}, so it can be fed
+ * from a {@link Reactor} through {@link Fn#doubleConsumer(DoubleConsumer)}.
+ * <p/>
+ * It is still a {@code Composable<Double>}: the operators that take a {@link Function}, {@link #get()} and {@link
+ * #await()} work as they do on any {@link Composable}, but box the values they see.
+ *
+ * @author Jon Brisbin
+ */
+public class DoubleComposable extends Composable<Double> implements DoubleConsumer {
+
+	private double  doubleValue;
+	private boolean hasDoubleValue;
+
+	/**
+	 * Create a {@literal DoubleComposable} with default behavior.
+	 */
+	public DoubleComposable() {
+		super();
+	}
+
+	/**
+	 * Create a {@literal DoubleComposable} that uses the given {@link Observable} for publishing events internally.
+	 *
+	 * @param observable The {@link Observable} to use.
+	 */
+	public DoubleComposable(Observable observable) {
+		super(observable);
+	}
+
+	/**
+	 * Register a {@link DoubleConsumer} that will be invoked whenever {@link #accept(double)} is called.
+	 *
+	 * @param consumer The consumer to invoke.
+	 * @return {@literal this}
+	 */
+	public DoubleComposable consume(final DoubleConsumer consumer) {
+		if (hasValue()) {
+			Selector sel = $();
+			observable.on(sel, Fn.doubleConsumer(consumer)).cancelAfterUse();
+			observable.notify(sel, valueEvent());
+		} else {
+			observable.on(accept, Fn.doubleConsumer(consumer));
+		}
+		return this;
+	}
+
+	/**
+	 * Create a new {@literal DoubleComposable} that is linked to this one through the given {@link DoubleFunction}. When
+	 * this one's {@link #accept(double)} is invoked, the function is applied and the result is passed into the returned
+	 * {@link DoubleComposable}.
+	 *
+	 * @param fn The transformation function to apply.
+	 * @return The new {@literal DoubleComposable}.
+	 */
+	public DoubleComposable map(final DoubleFunction fn) {
+		final DoubleComposable c = createDoubleComposable(createObservable(observable));
+		consume(new DoubleConsumer() {
+			@Override
+			public void accept(double value) {
+				try {
+					c.accept(fn.apply(value));
+				} catch (Throwable t) {
+					// Errors should be reported on the returned Composable, not the parent.
+					c.observable.notify(Fn.T(t.getClass()), Fn.event(t));
+					c.decreaseAcceptLength();
+				}
+			}
+		});
+		return c;
+	}
+
+	/**
+	 * Create a new {@literal DoubleComposable} that is only passed the values that match the given {@link
+	 * DoublePredicate}.
+	 *
+	 * @param fn The filter function.
+	 * @return The new {@literal DoubleComposable}.
+	 */
+	public DoubleComposable filter(final DoublePredicate fn) {
+		final DoubleComposable c = createDoubleComposable(createObservable(observable));
+		consume(new DoubleConsumer() {
+			@Override
+			public void accept(double value) {
+				try {
+					if (fn.apply(value)) {
+						c.accept(value);
+					} else {
+						c.decreaseAcceptLength();
+					}
+				} catch (Throwable t) {
+					// Errors should be reported on the returned Composable, not the parent.
+					c.observable.notify(Fn.T(t.getClass()), Fn.event(t));
+					c.decreaseAcceptLength();
+				}
+			}
+		});
+		return c;
+	}
+
+	/**
+	 * Accumulate a result until the expected accept count has been reached. If this limit hasn't been set, each
+	 * accumulated result is passed into the returned {@literal DoubleComposable}.
+	 *
+	 * @param fn      The reduce function, given the last accumulated result and the next value.
+	 * @param initial The initial accumulated result.
+	 * @return The new {@literal DoubleComposable}.
+	 */
+	public DoubleComposable reduce(final DoubleReduceFunction fn, double initial) {
+		// Holds the bits of the accumulated double
+		final AtomicLong lastValue = new AtomicLong(Double.doubleToRawLongBits(initial));
+		final DoubleComposable c = createDoubleComposable(createObservable(observable));
+		c.setExpectedAcceptCount(1);
+		consume(new DoubleConsumer() {
+			@Override
+			public void accept(double value) {
+				try {
+					lastValue.set(Double.doubleToRawLongBits(fn.apply(Double.longBitsToDouble(lastValue.get()), value)));
+					if (expectedAcceptCount.get() < 0) {
+						c.accept(Double.longBitsToDouble(lastValue.get()));
+					}
+				} catch (Throwable t) {
+					// Errors should be reported on the returned Composable, not the parent.
+					c.observable.notify(Fn.T(t.getClass()), Fn.event(t));
+					c.decreaseAcceptLength();
+				}
+			}
+		});
+		observable.on(last, new Consumer<Event<Double>>() {
+			@Override
+			public void accept(Event<Double> ev) {
+				c.accept(Double.longBitsToDouble(lastValue.get()));
+			}
+		});
+		return c;
+	}
+
+	/**
+	 * Trigger composition with a value to be processed by dedicated consumers, without boxing it.
+	 *
+	 * @param value The value.
+	 */
+	@Override
+	public void accept(double value) {
+		synchronized (monitor) {
+			this.doubleValue = value;
+			this.hasDoubleValue = true;
+			if (hasBlockers) {
+				monitor.notifyAll();
+			}
+		}
+		accepted(new DoubleEvent(value));
+	}
+
+	@Override
+	public void accept(Double value) {
+		Assert.notNull(value, "Value cannot be null.");
+		accept(value.doubleValue());
+	}
+
+	/**
+	 * Get the current value without boxing it.
+	 *
+	 * @return The value, or {@literal 0.0} if none has been set yet.
+	 */
+	public double getDouble() {
+		synchronized (monitor) {
+			if (null != error) {
+				throw new IllegalStateException(error);
+			}
+			return doubleValue;
+		}
+	}
+
+	@Override
+	public Double get() {
+		synchronized (monitor) {
+			double d = getDouble();
+			return (hasDoubleValue ? Double.valueOf(d) : null);
+		}
+	}
+
+	/**
+	 * Wait for this {@literal DoubleComposable} to complete and get its value without boxing it.
+	 *
+	 * @return The value, or {@literal 0.0} if none was set in time.
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public double awaitDouble() throws InterruptedException {
+		return awaitDouble(DEFAULT_TIMEOUT, DEFAULT_TIMEUNIT);
+	}
+
+	/**
+	 * Wait for this {@literal DoubleComposable} to complete, or for the given time to run out, and get its value without
+	 * boxing it.
+	 *
+	 * @param timeout The time to wait. A negative time waits forever.
+	 * @param unit    The unit of the time.
+	 * @return The value, or {@literal 0.0} if none was set in time.
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public double awaitDouble(long timeout, TimeUnit unit) throws InterruptedException {
+		awaitComplete(timeout, unit);
+		return getDouble();
+	}
+
+	@Override
+	protected Composable<Double> when(Selector sel, Consumer<Double> consumer) {
+		if (sel == accept && hasValue()) {
+			R.schedule(consumer, get(), observable);
+			return this;
+		}
+		return super.when(sel, consumer);
+	}
+
+	@Override
+	protected boolean hasValue() {
+		return hasDoubleValue;
+	}
+
+	@Override
+	protected Event<Double> valueEvent() {
+		return new DoubleEvent(doubleValue);
+	}
+
+	protected DoubleComposable createDoubleComposable(Observable src) {
+		DoubleComposable c = new DoubleComposable(src);
+		c.expectedAcceptCount.set(expectedAcceptCount.get());
+		return c;
+	}
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import reactor.fn.Registration;
+import reactor.fn.Selector;
+import reactor.fn.selector.BaseSelector;
+
+/**
+ * A {@link RegistrationIndex} for plain {@link BaseSelector}s, which match on the hash code or equality of the objects
+ * they wrap. Registrations are bucketed by the hash code of the object so a lookup is a single map access.
+ *
+ * @author Jon Brisbin
+ */
+class ExactMatchIndex<T> extends RegistrationIndex<T> {
+
+	private final ConcurrentHashMap<Integer, List<Registration<? extends T>>> buckets = new ConcurrentHashMap<Integer, List<Registration<? extends T>>>();
+
+	@Override
+	public boolean supports(Selector sel) {
+		// Subclasses override matches(), so only the exact type can be looked up by hash code
+		return sel.getClass() == BaseSelector.class;
+	}
+
+	@Override
+	void add(Registration<? extends T> reg) {
+		Integer key = reg.getSelector().getObject().hashCode();
+		List<Registration<? extends T>> bucket = buckets.get(key);
+
+		List<Registration<? extends T>> newBucket;
+		if (null == bucket) {
+			newBucket = Collections.<Registration<? extends T>>singletonList(reg);
+		} else {
+			newBucket = new ArrayList<Registration<? extends T>>(bucket.size() + 1);
+			newBucket.addAll(bucket);
+			newBucket.add(reg);
+		}
+		buckets.put(key, newBucket);
+	}
+
+	@Override
+	void remove(Registration<? extends T> reg) {
+		Integer key = reg.getSelector().getObject().hashCode();
+		List<Registration<? extends T>> bucket = buckets.get(key);
+		if (null == bucket || !bucket.contains(reg)) {
+			return;
+		}
+
+		if (bucket.size() == 1) {
+			buckets.remove(key);
+		} else {
+			List<Registration<? extends T>> newBucket = new ArrayList<Registration<? extends T>>(bucket);
+			newBucket.remove(reg);
+			buckets.put(key, newBucket);
+		}
+	}
+
+	@Override
+	void select(Selector sel, List<Registration<? extends T>> matches) {
+		if (!(sel instanceof BaseSelector)) {
+			return;
+		}
+		List<Registration<? extends T>> bucket = buckets.get(sel.getObject().hashCode());
+		if (null != bucket) {
+			matches.addAll(bucket);
+		}
+	}
+
+}
@@ -0,0 +1,476 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.fn.*;
+import reactor.fn.dispatch.Dispatcher;
+import reactor.fn.dispatch.Task;
+import reactor.support.Assert;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+import static reactor.Fn.$;
+
+/**
+ * A timer that keeps its timeouts in a wheel of buckets, one per tick, so that scheduling and cancelling a timeout are
+ * constant-time no matter how many are pending.
+ * <p/>
+ * A single thread advances the wheel once per tick. It never runs the scheduled {@link Consumer}s itself: an expired
+ * timeout is handed to a {@link Dispatcher}, either the one given when it was scheduled or the timer's default. Timeouts
+ * fire on the first tick at or after their deadline, so a timeout can fire up to one tick late.
+ * <p/>
+ * New and cancelled timeouts are queued by the scheduling threads and moved into or out of the wheel by the timer
+ * thread, so the wheel itself is only ever touched by one thread.
+ * <p/>
+ * Handing off an expired timeout never waits for a full {@link Dispatcher}. The timeout is set aside and handed off
+ * again on the following ticks, until the dispatcher has room for it. A repeating timeout skips its runs while its
+ * previous run is still set aside.
+ *
+ * @author Jon Brisbin
+ */
+public class HashedWheelTimer implements Lifecycle {
+
+	private static final Logger LOG                    = LoggerFactory.getLogger(HashedWheelTimer.class);
+	// Keeps a flood of new timeouts from delaying the tick too much. The rest are picked up on the next tick.
+	private static final int    MAX_TRANSFERS_PER_TICK = 100000;
+	private static final int    INIT                   = 0;
+	private static final int    CANCELLED              = 1;
+	private static final int    EXPIRED                = 2;
+
+	private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+			AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+	private final Selector                               fire              = $();
+	private final Registry<Consumer<? extends Event<?>>> registry          = new CachingRegistry<Consumer<? extends Event<?>>>();
+	private final Queue<Timeout>                         newTimeouts       = new ConcurrentLinkedQueue<Timeout>();
+	private final Queue<Timeout>                         cancelledTimeouts = new ConcurrentLinkedQueue<Timeout>();
+	private final Queue<Timeout>                         deferredTimeouts  = new ConcurrentLinkedQueue<Timeout>();
+	private final Consumer<Throwable>                    errorConsumer     = new Consumer<Throwable>() {
+		@Override
+		public void accept(Throwable t) {
+			LOG.error(t.getMessage(), t);
+		}
+	};
+	private final String     name;
+	private final long       tickNanos;
+	private final Bucket[]   wheel;
+	private final int        mask;
+	private final Dispatcher dispatcher;
+	private final long       startTime;
+	// Only touched by the timer thread
+	private long             tick;
+	private volatile Worker  worker;
+
+	/**
+	 * Create a {@literal HashedWheelTimer}.
+	 *
+	 * @param name       The name of the timer thread.
+	 * @param tick       How often the wheel advances, which is also the precision of the timer.
+	 * @param unit       The unit of the tick.
+	 * @param wheelSize  The number of buckets in the wheel, rounded up to a power of 2. Timeouts further away than a
+	 *                   full turn of the wheel wait in their bucket for the turns that are left.
+	 * @param dispatcher The {@link Dispatcher} that runs expired timeouts scheduled without one of their own.
+	 */
+	public HashedWheelTimer(String name, long tick, TimeUnit unit, int wheelSize, Dispatcher dispatcher) {
+		Assert.isTrue(tick > 0, "Tick must be greater than 0.");
+		Assert.isTrue(wheelSize > 0 && wheelSize <= (1 << 30), "Wheel size must be between 1 and 2^30.");
+		Assert.notNull(dispatcher, "Dispatcher cannot be null.");
+		this.name = name;
+		this.tickNanos = unit.toNanos(tick);
+		this.dispatcher = dispatcher;
+		this.startTime = System.nanoTime();
+
+		int size = Integer.highestOneBit(wheelSize);
+		if (size < wheelSize) {
+			size <<= 1;
+		}
+		this.wheel = new Bucket[size];
+		for (int i = 0; i < size; i++) {
+			wheel[i] = new Bucket();
+		}
+		this.mask = size - 1;
+
+		registry.register(fire, new Consumer<Event<Timeout>>() {
+			@Override
+			public void accept(Event<Timeout> ev) {
+				ev.getData().run();
+			}
+		});
+
+		this.start();
+	}
+
+	/**
+	 * Schedule the given {@link Consumer} to be run once, on the timer's default {@link Dispatcher}, after the given
+	 * delay.
+	 *
+	 * @param consumer The {@link Consumer} to run.
+	 * @param data     The data to pass to the consumer.
+	 * @param delay    The delay. If 0 or less the consumer is dispatched right away.
+	 * @param unit     The unit of the delay.
+	 * @param <T>      The type of the data.
+	 * @return A {@link Timeout} that can be used to cancel the scheduled run.
+	 */
+	public <T> Timeout schedule(Consumer<T> consumer, T data, long delay, TimeUnit unit) {
+		return schedule(consumer, data, delay, 0, unit, dispatcher);
+	}
+
+	/**
+	 * Schedule the given {@link Consumer} to be run repeatedly, on the timer's default {@link Dispatcher}, first after the
+	 * given delay and then once every period until the returned {@link Timeout} is cancelled.
+	 *
+	 * @param consumer The {@link Consumer} to run.
+	 * @param data     The data to pass to the consumer.
+	 * @param delay    The delay before the first run. If 0 or less the consumer is dispatched right away.
+	 * @param period   The time between runs. If 0 or less the consumer is run only once.
+	 * @param unit     The unit of the delay and period.
+	 * @param <T>      The type of the data.
+	 * @return A {@link Timeout} that can be used to cancel the scheduled runs.
+	 */
+	public <T> Timeout schedule(Consumer<T> consumer, T data, long delay, long period, TimeUnit unit) {
+		return schedule(consumer, data, delay, period, unit, dispatcher);
+	}
+
+	/**
+	 * Schedule the given {@link Consumer} to be run, on the given {@link Dispatcher}, first after the given delay and then,
+	 * if a period is given, once every period until the returned {@link Timeout} is cancelled.
+	 *
+	 * @param consumer   The {@link Consumer} to run.
+	 * @param data       The data to pass to the consumer.
+	 * @param delay      The delay before the first run. If 0 or less the consumer is dispatched right away.
+	 * @param period     The time between runs. If 0 or less the consumer is run only once.
+	 * @param unit       The unit of the delay and period.
+	 * @param dispatcher The {@link Dispatcher} to run the consumer on.
+	 * @param <T>        The type of the data.
+	 * @return A {@link Timeout} that can be used to cancel the scheduled runs.
+	 */
+	@SuppressWarnings({"unchecked"})
+	public <T> Timeout schedule(Consumer<T> consumer,
+															T data,
+															long delay,
+															long period,
+															TimeUnit unit,
+															Dispatcher dispatcher) {
+		Assert.notNull(consumer, "Consumer cannot be null.");
+		Assert.notNull(unit, "TimeUnit cannot be null.");
+		Assert.notNull(dispatcher, "Dispatcher cannot be null.");
+		Timeout t = new Timeout((Consumer<Object>) consumer,
+														data,
+														dispatcher,
+														Math.max(unit.toNanos(period), 0));
+		if (delay <= 0) {
+			// Nothing to wait for, so don't make it wait for a tick
+			if (t.period == 0) {
+				t.expire();
+			} else {
+				t.deadline = System.nanoTime() - startTime + t.period;
+				dispatch(t);
+				newTimeouts.add(t);
+			}
+		} else {
+			t.deadline = System.nanoTime() - startTime + unit.toNanos(delay);
+			newTimeouts.add(t);
+		}
+		return t;
+	}
+
+	/**
+	 * The number of timeouts waiting to be added to the wheel. Those are moved into the wheel on every tick.
+	 *
+	 * @return The number of new timeouts.
+	 */
+	public int getPendingCount() {
+		return newTimeouts.size();
+	}
+
+	/**
+	 * The number of expired timeouts waiting for their {@link Dispatcher} to have room for them. Those are handed off
+	 * again on every tick.
+	 *
+	 * @return The number of deferred timeouts.
+	 */
+	public int getDeferredCount() {
+		return deferredTimeouts.size();
+	}
+
+	@Override
+	public synchronized Lifecycle destroy() {
+		return stop();
+	}
+
+	@Override
+	public synchronized Lifecycle stop() {
+		if (null != worker) {
+			worker.interrupt();
+			worker = null;
+		}
+		return this;
+	}
+
+	@Override
+	public synchronized Lifecycle start() {
+		if (null == worker) {
+			worker = new Worker(name);
+			worker.start();
+		}
+		return this;
+	}
+
+	@Override
+	public boolean isAlive() {
+		return null != worker;
+	}
+
+	private void dispatch(Timeout t) {
+		if (t.deferred) {
+			return;
+		}
+		if (!tryDispatch(t)) {
+			t.deferred = true;
+			deferredTimeouts.add(t);
+		}
+	}
+
+	private boolean tryDispatch(Timeout t) {
+		Task<Timeout> task = t.dispatcher.tryNextTask();
+		if (null == task) {
+			return false;
+		}
+		task.setSelector(fire);
+		task.setEvent(new Event<Timeout>(t));
+		task.setConsumerRegistry(registry);
+		task.setErrorConsumer(errorConsumer);
+		task.submit();
+		return true;
+	}
+
+	/**
+	 * A handle on a scheduled run of a {@link Consumer}.
+	 */
+	public final class Timeout {
+		private final Consumer<Object> consumer;
+		private final Object           data;
+		private final Dispatcher       dispatcher;
+		private final long             period;
+		volatile int state = INIT;
+		// Only touched by the timer thread once the timeout has been handed to it
+		private long    deadline;
+		private long    remainingRounds;
+		private Bucket  bucket;
+		private Timeout prev;
+		private Timeout next;
+		private boolean deferred;
+
+		private Timeout(Consumer<Object> consumer, Object data, Dispatcher dispatcher, long period) {
+			this.consumer = consumer;
+			this.data = data;
+			this.dispatcher = dispatcher;
+			this.period = period;
+		}
+
+		/**
+		 * Cancel this timeout so its {@link Consumer} isn't run again. A run that has already been dispatched still
+		 * happens.
+		 *
+		 * @return {@literal true} if this call cancelled the timeout, {@literal false} if it had already expired or been
+		 * cancelled.
+		 */
+		public boolean cancel() {
+			if (!STATE.compareAndSet(this, INIT, CANCELLED)) {
+				return false;
+			}
+			cancelledTimeouts.add(this);
+			return true;
+		}
+
+		/**
+		 * Whether this timeout has been cancelled.
+		 *
+		 * @return {@literal true} if cancelled, {@literal false} otherwise.
+		 */
+		public boolean isCancelled() {
+			return state == CANCELLED;
+		}
+
+		/**
+		 * Whether this timeout has fired. Repeating timeouts never expire, they run until they're cancelled.
+		 *
+		 * @return {@literal true} if expired, {@literal false} otherwise.
+		 */
+		public boolean isExpired() {
+			return state == EXPIRED;
+		}
+
+		private void expire() {
+			if (period > 0) {
+				if (state == INIT) {
+					dispatch(this);
+					deadline += period;
+					newTimeouts.add(this);
+				}
+			} else if (STATE.compareAndSet(this, INIT, EXPIRED)) {
+				dispatch(this);
+			}
+		}
+
+		private void run() {
+			if (state != CANCELLED) {
+				consumer.accept(data);
+			}
+		}
+	}
+
+	private static class Bucket {
+		private Timeout head;
+		private Timeout tail;
+
+		private void add(Timeout t) {
+			t.bucket = this;
+			if (null == head) {
+				head = tail = t;
+			} else {
+				tail.next = t;
+				t.prev = tail;
+				tail = t;
+			}
+		}
+
+		private Timeout remove(Timeout t) {
+			Timeout next = t.next;
+			if (null != t.prev) {
+				t.prev.next = next;
+			}
+			if (null != next) {
+				next.prev = t.prev;
+			}
+			if (t == head) {
+				head = next;
+			}
+			if (t == tail) {
+				tail = t.prev;
+			}
+			t.prev = null;
+			t.next = null;
+			t.bucket = null;
+			return next;
+		}
+	}
+
+	private class Worker extends Thread {
+		private Worker(String name) {
+			super(name);
+			setDaemon(true);
+		}
+
+		@Override
+		public void run() {
+			while (!isInterrupted()) {
+				long deadline = waitForNextTick();
+				if (deadline < 0) {
+					break;
+				}
+				removeCancelled();
+				transferNew();
+				dispatchDeferred();
+				expire(wheel[(int) (tick & mask)], deadline);
+				tick++;
+			}
+		}
+
+		private long waitForNextTick() {
+			long deadline = tickNanos * (tick + 1);
+			long sleep;
+			while ((sleep = deadline - (System.nanoTime() - startTime)) > 0) {
+				LockSupport.parkNanos(sleep);
+				if (isInterrupted()) {
+					return -1;
+				}
+			}
+			return deadline;
+		}
+
+		private void removeCancelled() {
+			Timeout t;
+			while (null != (t = cancelledTimeouts.poll())) {
+				if (null != t.bucket) {
+					t.bucket.remove(t);
+				}
+			}
+		}
+
+		private void dispatchDeferred() {
+			// Only the ones deferred before this tick, the ones that are deferred again wait for the next
+			Timeout t;
+			for (int i = deferredTimeouts.size(); i > 0 && null != (t = deferredTimeouts.poll()); i--) {
+				t.deferred = false;
+				if (t.state == CANCELLED) {
+					continue;
+				}
+				try {
+					dispatch(t);
+				} catch (Throwable x) {
+					LOG.error(x.getMessage(), x);
+				}
+			}
+		}
+
+		private void transferNew() {
+			Timeout t;
+			for (int i = 0; i < MAX_TRANSFERS_PER_TICK && null != (t = newTimeouts.poll()); i++) {
+				if (t.state == CANCELLED) {
+					continue;
+				}
+				long ticks = t.deadline / tickNanos;
+				t.remainingRounds = (ticks - tick) / wheel.length;
+				// Deadlines that are already behind us go in the current bucket
+				wheel[(int) (Math.max(ticks, tick) & mask)].add(t);
+			}
+		}
+
+		private void expire(Bucket bucket, long deadline) {
+			Timeout t = bucket.head;
+			while (null != t) {
+				if (t.remainingRounds <= 0) {
+					Timeout next = bucket.remove(t);
+					if (t.deadline <= deadline) {
+						try {
+							t.expire();
+						} catch (Throwable x) {
+							LOG.error(x.getMessage(), x);
+						}
+					} else {
+						// Not due yet after all, put it back
+						newTimeouts.add(t);
+					}
+					t = next;
+				} else if (t.state == CANCELLED) {
+					t = bucket.remove(t);
+				} else {
+					t.remainingRounds--;
+					t = t.next;
+				}
+			}
+		}
+	}
+
+}
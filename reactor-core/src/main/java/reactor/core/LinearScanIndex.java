@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import reactor.fn.Registration;
+import reactor.fn.Selector;
+
+/**
+ * A {@link RegistrationIndex} that supports any {@link Selector} and matches by asking each one of them in turn.
+ *
+ * @author Jon Brisbin
+ */
+class LinearScanIndex<T> extends RegistrationIndex<T> {
+
+	private final List<Registration<? extends T>> registrations = new CopyOnWriteArrayList<Registration<? extends T>>();
+
+	@Override
+	public boolean supports(Selector sel) {
+		return true;
+	}
+
+	@Override
+	void add(Registration<? extends T> reg) {
+		registrations.add(reg);
+	}
+
+	@Override
+	void remove(Registration<? extends T> reg) {
+		registrations.remove(reg);
+	}
+
+	@Override
+	void select(Selector sel, List<Registration<? extends T>> matches) {
+		for (Registration<? extends T> reg : registrations) {
+			if (reg.getSelector().matches(sel)) {
+				matches.add(reg);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2002-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package reactor.core;
+
+import reactor.Fn;
+import reactor.fn.*;
+import reactor.support.Assert;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static reactor.Fn.$;
+
+/**
+ * A {@link Composable} of primitive {@code long} values. Values travel between it, the {@literal LongComposable}s
+ * created by its {@link #map(LongFunction)}, {@link #filter(LongPredicate)} and {@link #reduce(LongReduceFunction,
+ * long)}, and their {@link LongConsumer}s as {@link LongEvent}s, so a numeric stream doesn't box any of them. A
+ * {@literal LongComposable} is itself a {@link LongConsumer}, so it can be fed from a {@link Reactor} through {@link
+ * Fn#longConsumer(LongConsumer)}.
+ * <p/>
+ * It is still a {@code Composable<Long>}: the operators that take a {@link Function}, {@link #get()} and {@link
+ * #await()} work as they do on any {@link Composable}, but box the values they see.
+ *
+ * @author Jon Brisbin
+ */
+public class LongComposable extends Composable<Long> implements LongConsumer {
+
+	private long    longValue;
+	private boolean hasLongValue;
+
+	/**
+	 * Create a {@literal LongComposable} with default behavior.
+	 */
+	public LongComposable() {
+		super();
+	}
+
+	/**
+	 * Create a {@literal LongComposable} that uses the given {@link Observable} for publishing events internally.
+	 *
+	 * @param observable The {@link Observable} to use.
+	 */
+	public LongComposable(Observable observable) {
+		super(observable);
+	}
+
+	/**
+	 * Register a {@link LongConsumer} that will be invoked whenever {@link #accept(long)} is called.
+	 *
+	 * @param consumer The consumer to invoke.
+	 * @return {@literal this}
+	 */
+	public LongComposable consume(final LongConsumer consumer) {
+		if (hasValue()) {
+			Selector sel = $();
+			observable.on(sel, Fn.longConsumer(consumer)).cancelAfterUse();
+			observable.notify(sel, valueEvent());
+		} else {
+			observable.on(accept, Fn.longConsumer(consumer));
+		}
+		return this;
+	}
+
+	/**
+	 * Create a new {@literal LongComposable} that is linked to this one through the given {@link LongFunction}. When this
+	 * one's {@link #accept(long)} is invoked, the function is applied and the result is passed into the returned {@link
+	 * LongComposable}.
+	 *
+	 * @param fn The transformation function to apply.
+	 * @return The new {@literal LongComposable}.
+	 */
+	public LongComposable map(final LongFunction fn) {
+		final LongComposable c = createLongComposable(createObservable(observable));
+		consume(new LongConsumer() {
+			@Override
+			public void accept(long value) {
+				try {
+					c.accept(fn.apply(value));
+				} catch (Throwable t) {
+					// Errors should be reported on the returned Composable, not the parent.
+					c.observable.notify(Fn.T(t.getClass()), Fn.event(t));
+					c.decreaseAcceptLength();
+				}
+			}
+		});
+		return c;
+	}
+
+	/**
+	 * Create a new {@literal LongComposable} that is only passed the values that match the given {@link LongPredicate}.
+	 *
+	 * @param fn The filter function.
+	 * @return The new {@literal LongComposable}.
+	 */
+	public LongComposable filter(final LongPredicate fn) {
+		final LongComposable c = createLongComposable(createObservable(observable));
+		consume(new LongConsumer() {
+			@Override
+			public void accept(long value) {
+				try {
+					if (fn.apply(value)) {
+						c.accept(value);
+					} else {
+						c.decreaseAcceptLength();
+					}
+				} catch (Throwable t) {
+					// Errors should be reported on the returned Composable, not the parent.
+					c.observable.notify(Fn.T(t.getClass()), Fn.event(t));
+					c.decreaseAcceptLength();
+				}
+			}
+		});
+		return c;
+	}
+
+	/**
+	 * Accumulate a result until the expected accept count has been reached. If this limit hasn't been set, each
+	 * accumulated result is passed into the returned {@literal LongComposable}.
+	 *
+	 * @param fn      The reduce function, given the last accumulated result and the next value.
+	 * @param initial The initial accumulated result.
+	 * @return The new {@literal LongComposable}.
+	 */
+	public LongComposable reduce(final LongReduceFunction fn, long initial) {
+		final AtomicLong lastValue = new AtomicLong(initial);
+		final LongComposable c = createLongComposable(createObservable(observable));
+		c.setExpectedAcceptCount(1);
+		consume(new LongConsumer() {
+			@Override
+			public void accept(long value) {
+				try {
+					lastValue.set(fn.apply(lastValue.get(), value));
+					if (expectedAcceptCount.get() < 0) {
+						c.accept(lastValue.get());
+					}
+				} catch (Throwable t) {
+					// Errors should be reported on the returned Composable, not the parent.
+					c.observable.notify(Fn.T(t.getClass()), Fn.event(t));
+					c.decreaseAcceptLength();
+				}
+			}
+		});
+		observable.on(last, new Consumer<Event<Long>>() {
+			@Override
+			public void accept(Event<Long> ev) {
+				c.accept(lastValue.get());
+			}
+		});
+		return c;
+	}
+
+	/**
+	 * Trigger composition with a value to be processed by dedicated consumers, without boxing it.
+	 *
+	 * @param value The value.
+	 */
+	@Override
+	public void accept(long value) {
+		synchronized (monitor) {
+			this.longValue = value;
+			this.hasLongValue = true;
+			if (hasBlockers) {
+				monitor.notifyAll();
+			}
+		}
+		accepted(new LongEvent(value));
+	}
+
+	@Override
+	public void accept(Long value) {
+		Assert.notNull(value, "Value cannot be null.");
+		accept(value.longValue());
+	}
+
+	/**
+	 * Get the current value without boxing it.
+	 *
+	 * @return The value, or {@literal 0} if none has been set yet.
+	 */
+	public long getLong() {
+		synchronized (monitor) {
+			if (null != error) {
+				throw new IllegalStateException(error);
+			}
+			return longValue;
+		}
+	}
+
+	@Override
+	public Long get() {
+		synchronized (monitor) {
+			long l = getLong();
+			return (hasLongValue ? Long.valueOf(l) : null);
+		}
+	}
+
+	/**
+	 * Wait for this {@literal LongComposable} to complete and get its value without boxing it.
+	 *
+	 * @return The value, or {@literal 0} if none was set in time.
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public long awaitLong() throws InterruptedException {
+		return awaitLong(DEFAULT_TIMEOUT, DEFAULT_TIMEUNIT);
+	}
+
+	/**
+	 * Wait for this {@literal LongComposable} to complete, or for the given time to run out, and get its value without
+	 * boxing it.
+	 *
+	 * @param timeout The time to wait. A negative time waits forever.
+	 * @param unit    The unit of the time.
+	 * @return The value, or {@literal 0} if none was set in time.
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public long awaitLong(long timeout, TimeUnit unit) throws InterruptedException {
+		awaitComplete(timeout, unit);
+		return getLong();
+	}
+
+	@Override
+	protected Composable<Long> when(Selector sel, Consumer<Long> consumer) {
+		if (sel == accept && hasValue()) {
+			R.schedule(consumer, get(), observable);
+			return this;
+		}
+		return super.when(sel, consumer);
+	}
+
+	@Override
+	protected boolean hasValue() {
+		return hasLongValue;
+	}
+
+	@Override
+	protected Event<Long> valueEvent() {
+		return new LongEvent(longValue);
+	}
+
+	protected LongComposable createLongComposable(Observable src) {
+		LongComposable c = new LongComposable(src);
+		c.expectedAcceptCount.set(expectedAcceptCount.get());
+		return c;
+	}
+
+}
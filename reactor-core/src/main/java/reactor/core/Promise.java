@@ -24,6 +24,9 @@ import reactor.Fn;
 import reactor.fn.*;
 import reactor.fn.dispatch.Dispatcher;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 /**
  * A {@literal Promise} is a {@link Composable} that can only be used once. When created, it starts with a state of
  * {@link State#PENDING}. If a value of type {@link Throwable} is set, then the {@literal Promise} transitions to state
@@ -164,6 +167,20 @@ public class Promise<T> extends Composable<T> {
 		return this;
 	}
 
+	/**
+	 * Set this {@literal Promise} to state {@link State#FAILURE} with a {@link TimeoutException} if it is still {@link
+	 * State#PENDING} after the given time.
+	 *
+	 * @param timeout The time to wait for a value or error.
+	 * @param unit    The unit of the time.
+	 * @return {@literal this}
+	 */
+	@Override
+	public Promise<T> timeout(long timeout, TimeUnit unit) {
+		super.timeout(timeout, unit);
+		return this;
+	}
+
 	/**
 	 * Get the state the {@literal Promise} is currently in.
 	 *
@@ -183,9 +200,9 @@ public class Promise<T> extends Composable<T> {
 	public Promise<T> set(Throwable error) {
 		synchronized (monitor) {
 			assertPending();
-			this.state = State.FAILURE;
+			fail(error);
 		}
-		super.accept(error);
+		notifyError(error);
 		return this;
 	}
 
@@ -408,6 +425,23 @@ public class Promise<T> extends Composable<T> {
 		return new Promise<T>(src);
 	}
 
+	@Override
+	protected void expire(TimeoutException timeoutException) {
+		synchronized (monitor) {
+			if (state != State.PENDING) {
+				return;
+			}
+			fail(timeoutException);
+		}
+		notifyError(timeoutException);
+	}
+
+	private void fail(Throwable error) {
+		// The error is set before the state, so that get() never sees FAILURE without it
+		setError(error);
+		this.state = State.FAILURE;
+	}
+
 	private void assertSuccess() {
 		if (state == State.FAILURE) {
 			throw new IllegalStateException(error);
@@ -23,17 +23,18 @@ import org.cliffc.high_scale_lib.NonBlockingHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.Fn;
+import reactor.core.jmx.ReactorMBeans;
 import reactor.fn.Consumer;
 import reactor.fn.Event;
 import reactor.fn.Observable;
 import reactor.fn.Selector;
+import reactor.fn.dispatch.BlockingQueueDispatcher;
 import reactor.fn.dispatch.Dispatcher;
 import reactor.fn.dispatch.SynchronousDispatcher;
 import reactor.support.Assert;
 
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.concurrent.TimeUnit;
 
 import static reactor.Fn.$;
@@ -47,11 +48,42 @@ import static reactor.Fn.T;
  */
 public class R {
 
-	public static final Timer TIMER = new Timer("reactor-timer", true);
+	/**
+	 * The global timer. Its timeouts run on a {@link Dispatcher} of its own, with a single daemon thread, unless
+	 * scheduled with one of their own. The timer doesn't use the {@link Context}'s dispatchers, so that {@literal R}
+	 * can be loaded before the {@link Context} is, or without one at all.
+	 * <p/>
+	 * This used to be a {@link java.util.Timer}. Code that scheduled {@link java.util.TimerTask}s on it directly should
+	 * use {@link #schedule(Consumer, Object, long, TimeUnit)} or {@link HashedWheelTimer#schedule(Consumer, Object,
+	 * long, TimeUnit)} instead.
+	 */
+	public static final HashedWheelTimer TIMER = new HashedWheelTimer(
+			"reactor-timer",
+			Long.parseLong(System.getProperty("reactor.timer.tick", "10")),
+			TimeUnit.MILLISECONDS,
+			Integer.parseInt(System.getProperty("reactor.timer.wheelsize", "512")),
+			new BlockingQueueDispatcher("reactor-timer", Integer.parseInt(System.getProperty("reactor.timer.backlog", "256")))
+	);
 
 	private static final Logger     LOG             = LoggerFactory.getLogger(R.class);
 	private static final Dispatcher SYNC_DISPATCHER = new SynchronousDispatcher();
 
+	static {
+		// Scheduled once here rather than for every R that is created
+		TIMER.schedule(new Consumer<Void>() {
+			@Override
+			public void accept(Void v) {
+				if (null != self) {
+					self.removeInvalidReactors();
+				}
+			}
+		}, null, 5000, 5000, TimeUnit.MILLISECONDS);
+
+		if (Boolean.parseBoolean(System.getProperty("reactor.jmx.enabled", "false"))) {
+			ReactorMBeans.register();
+		}
+	}
+
 	private final Reactor rootReactor;
 	private final NonBlockingHashMap<String, ReactorEntry> reactors = new NonBlockingHashMap<String, ReactorEntry>();
 
@@ -62,30 +94,6 @@ public class R {
 	}
 
 	public R() {
-		TIMER.schedule(new TimerTask() {
-			@Override
-			public void run() {
-				for (Map.Entry<String, ReactorEntry> entry : reactors.entrySet()) {
-					try {
-						if (null != entry.getValue().validator
-								&& entry.getValue().validator.isValid(entry.getKey(),
-																											entry.getValue().reactor,
-																											(System.nanoTime() - entry.getValue().created))) {
-							if (LOG.isInfoEnabled()) {
-								LOG.info("Removing invalid Reactor {} with id {}",
-												 entry.getValue().reactor,
-												 entry.getKey());
-							}
-							reactors.remove(entry.getKey());
-						}
-					} catch (Exception e) {
-						throw new IllegalStateException(e);
-					}
-				}
-				//todo Configuration DSL
-			}
-		}, 5000, 5000);
-
 		//start root reactor
 		rootReactor = new Reactor();
 
@@ -178,6 +186,23 @@ public class R {
 		return (null != self.reactors.get(id));
 	}
 
+	/**
+	 * Get every {@link Reactor} in the registry.
+	 *
+	 * @return A snapshot of the registry, keyed by the {@literal Reactor}s' ids.
+	 */
+	public static Map<String, Reactor> reactors() {
+		Map<String, Reactor> reactors = new HashMap<String, Reactor>();
+		if (null == self) {
+			// Still being created
+			return reactors;
+		}
+		for (Map.Entry<String, ReactorEntry> entry : self.reactors.entrySet()) {
+			reactors.put(entry.getKey(), entry.getValue().reactor);
+		}
+		return reactors;
+	}
+
 	/**
 	 * Get a {@link Reactor} from the registry.
 	 *
@@ -354,44 +379,65 @@ public class R {
 	}
 
 	/**
-	 * Schedule an arbitrary {@link Consumer} to be executed on the global timer thread.
+	 * Schedule an arbitrary {@link Consumer} to be executed right away on the {@link #TIMER}'s {@link Dispatcher}.
 	 *
 	 * @param consumer The {@link Consumer} to invoke.
 	 * @param data     The data to pass to the consumer.
 	 * @param <T>      The type of the data.
+	 * @return The {@link HashedWheelTimer.Timeout} of the scheduled run.
 	 */
-	public static <T> void schedule(final Consumer<T> consumer, final T data) {
-		TIMER.schedule(
-				new TimerTask() {
-					@Override
-					public void run() {
-						consumer.accept(data);
-					}
-				},
-				0
-		);
+	public static <T> HashedWheelTimer.Timeout schedule(Consumer<T> consumer, T data) {
+		return TIMER.schedule(consumer, data, 0, TimeUnit.MILLISECONDS);
 	}
 
 	/**
-	 * Schedule an arbitrary repeating {@link Consumer} to be executed on the global timer thread using the given
-	 * interval.
+	 * Schedule an arbitrary repeating {@link Consumer} to be executed on the {@link #TIMER}'s {@link Dispatcher} using
+	 * the given interval, starting right away.
 	 *
 	 * @param consumer The {@link Consumer} to schedule.
 	 * @param data     The data to pass to the consumer.
-	 * @param interval The interval at which to schedule this repeating task.
+	 * @param interval The interval, in milliseconds, at which to schedule this repeating task.
 	 * @param <T>      The type of the data.
+	 * @return The {@link HashedWheelTimer.Timeout} to cancel to stop the repeating task.
 	 */
-	public static <T> void schedule(final Consumer<T> consumer, final T data, long interval) {
-		TIMER.schedule(
-				new TimerTask() {
-					@Override
-					public void run() {
-						consumer.accept(data);
+	public static <T> HashedWheelTimer.Timeout schedule(Consumer<T> consumer, T data, long interval) {
+		return TIMER.schedule(consumer, data, 0, interval, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Schedule an arbitrary {@link Consumer} to be executed on the {@link #TIMER}'s {@link Dispatcher} after the
+	 * given delay.
+	 *
+	 * @param consumer The {@link Consumer} to invoke.
+	 * @param data     The data to pass to the consumer.
+	 * @param delay    The delay.
+	 * @param unit     The unit of the delay.
+	 * @param <T>      The type of the data.
+	 * @return The {@link HashedWheelTimer.Timeout} to cancel to stop the task from running.
+	 */
+	public static <T> HashedWheelTimer.Timeout schedule(Consumer<T> consumer, T data, long delay, TimeUnit unit) {
+		return TIMER.schedule(consumer, data, delay, unit);
+	}
+
+	void removeInvalidReactors() {
+		for (Map.Entry<String, ReactorEntry> entry : reactors.entrySet()) {
+			try {
+				if (null != entry.getValue().validator
+						&& entry.getValue().validator.isValid(entry.getKey(),
+																									entry.getValue().reactor,
+																									(System.nanoTime() - entry.getValue().created))) {
+					if (LOG.isInfoEnabled()) {
+						LOG.info("Removing invalid Reactor {} with id {}",
+										 entry.getValue().reactor,
+										 entry.getKey());
 					}
-				},
-				0,
-				interval
-		);
+					reactors.remove(entry.getKey());
+				}
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		}
+		//todo Configuration DSL
 	}
 
 	protected void postInit() {
@@ -19,16 +19,23 @@
 package reactor.core;
 
 import com.eaio.uuid.UUID;
+import org.cliffc.high_scale_lib.Counter;
 import org.cliffc.high_scale_lib.NonBlockingHashSet;
 import reactor.Fn;
 import reactor.convert.Converter;
 import reactor.fn.*;
+import reactor.fn.dispatch.CallerRunsTask;
 import reactor.fn.dispatch.Dispatcher;
 import reactor.fn.dispatch.DispatcherAware;
 import reactor.fn.dispatch.Task;
+import reactor.fn.dispatch.TaskBatch;
 import reactor.support.Assert;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 
 import static reactor.Fn.$;
 import static reactor.Fn.T;
@@ -60,6 +67,13 @@ public class Reactor implements Observable, DispatcherAware, Linkable<Reactor> {
 	protected volatile SelectionStrategy selectionStrategy;
 	protected volatile Dispatcher        dispatcher;
 	protected volatile Converter         converter;
+	protected volatile OverflowPolicy    overflowPolicy = OverflowPolicy.BLOCK;
+
+	private final Counter blocked       = new Counter();
+	private final Counter rejected      = new Counter();
+	private final Counter droppedNewest = new Counter();
+	private final Counter droppedOldest = new Counter();
+	private final Counter callerRuns    = new Counter();
 
 	/**
 	 * Copy constructor that creates a shallow copy of the given {@link Reactor} minus the {@link Registry}. Each {@literal
@@ -73,6 +87,7 @@ public class Reactor implements Observable, DispatcherAware, Linkable<Reactor> {
 		this(src.getDispatcher());
 		this.selectionStrategy = src.getSelectionStrategy();
 		this.converter = src.getConverter();
+		this.overflowPolicy = src.getOverflowPolicy();
 	}
 
 	/**
@@ -186,6 +201,74 @@ public class Reactor implements Observable, DispatcherAware, Linkable<Reactor> {
 		return this;
 	}
 
+	/**
+	 * Get the {@link OverflowPolicy} that decides what a notification does when the {@link Dispatcher} is saturated.
+	 *
+	 * @return The {@link OverflowPolicy} in use. Defaults to {@link OverflowPolicy#BLOCK}.
+	 */
+	public OverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+	/**
+	 * Set the {@link OverflowPolicy} that decides what a notification does when the {@link Dispatcher} is saturated.
+	 *
+	 * @param overflowPolicy The {@link OverflowPolicy} to use.
+	 * @return {@literal this}
+	 */
+	public Reactor setOverflowPolicy(OverflowPolicy overflowPolicy) {
+		Assert.notNull(overflowPolicy, "OverflowPolicy cannot be null.");
+		this.overflowPolicy = overflowPolicy;
+		return this;
+	}
+
+	/**
+	 * The number of notifications that had to wait for the saturated {@link Dispatcher} under {@link
+	 * OverflowPolicy#BLOCK}. Each event of a batch that didn't fit in the room left counts as one.
+	 *
+	 * @return The number of blocked notifications.
+	 */
+	public long getBlockedCount() {
+		return blocked.get();
+	}
+
+	/**
+	 * The number of notifications rejected under {@link OverflowPolicy#FAIL_FAST}.
+	 *
+	 * @return The number of rejected notifications.
+	 */
+	public long getRejectedCount() {
+		return rejected.get();
+	}
+
+	/**
+	 * The number of new events dropped under {@link OverflowPolicy#DROP_NEWEST}, or under {@link
+	 * OverflowPolicy#DROP_OLDEST} when the {@link Dispatcher} had no waiting task to evict.
+	 *
+	 * @return The number of events dropped on arrival.
+	 */
+	public long getDroppedNewestCount() {
+		return droppedNewest.get();
+	}
+
+	/**
+	 * The number of waiting events evicted to make room for new ones under {@link OverflowPolicy#DROP_OLDEST}.
+	 *
+	 * @return The number of evicted events.
+	 */
+	public long getDroppedOldestCount() {
+		return droppedOldest.get();
+	}
+
+	/**
+	 * The number of notifications run on the notifying thread under {@link OverflowPolicy#CALLER_RUNS}.
+	 *
+	 * @return The number of notifications run by their callers.
+	 */
+	public long getCallerRunsCount() {
+		return callerRuns.get();
+	}
+
 	@Override
 	public boolean respondsTo(Selector sel) {
 		Assert.notNull(sel, "Selector cannot be null.");
@@ -216,19 +299,27 @@ public class Reactor implements Observable, DispatcherAware, Linkable<Reactor> {
 		Assert.notNull(sel, "Selector cannot be null.");
 		Assert.notNull(ev, "Event cannot be null.");
 
-		Task<T> task = dispatcher.nextTask();
-		task.setSelector(sel);
-		task.setEvent(ev);
-		task.setConverter(converter);
-		task.setConsumerRegistry(consumerRegistry);
-		task.setErrorConsumer(errorHandler);
-		task.setCompletionConsumer((Consumer<Event<T>>) onComplete);
-		task.submit();
-
-		if (!linkedReactors.isEmpty()) {
-			for (Reactor r : linkedReactors) {
-				r.notify(sel, ev);
+		// A pooled event mustn't be recycled by the first dispatch to finish while it's still being handed to the others
+		ev.retain();
+		try {
+			Task<T> task = nextTask();
+			if (null != task) {
+				task.setSelector(sel);
+				task.setEvent(ev);
+				task.setConverter(converter);
+				task.setConsumerRegistry(consumerRegistry);
+				task.setErrorConsumer(errorHandler);
+				task.setCompletionConsumer((Consumer<Event<T>>) onComplete);
+				task.submit();
 			}
+
+			if (!linkedReactors.isEmpty()) {
+				for (Reactor r : linkedReactors) {
+					r.notify(sel, ev);
+				}
+			}
+		} finally {
+			ev.release();
 		}
 
 		return this;
@@ -239,6 +330,81 @@ public class Reactor implements Observable, DispatcherAware, Linkable<Reactor> {
 		return notify(sel, ev, null);
 	}
 
+	@Override
+	public <T, E extends Event<T>> Reactor notify(Selector sel, Collection<E> events) {
+		Assert.notNull(sel, "Selector cannot be null.");
+		Assert.notNull(events, "Events cannot be null.");
+
+		for (E ev : events) {
+			Assert.notNull(ev, "Event cannot be null.");
+		}
+		for (E ev : events) {
+			ev.retain();
+		}
+		try {
+			if (overflowPolicy == OverflowPolicy.BLOCK) {
+				Iterator<E> iter = events.iterator();
+				int remaining = events.size();
+				while (remaining > 0) {
+					long room = dispatcher.getMetrics().getRemainingCapacity();
+					TaskBatch<T> batch = dispatcher.nextTasks(remaining);
+					if (room < batch.size()) {
+						// Counted per event, like the notifications that wait one at a time
+						blocked.add(batch.size() - room);
+					}
+					int filled = 0;
+					try {
+						for (; filled < batch.size(); filled++) {
+							Task<T> task = batch.get(filled);
+							task.setSelector(sel);
+							task.setEvent(iter.next());
+							task.setConverter(converter);
+							task.setConsumerRegistry(consumerRegistry);
+							task.setErrorConsumer(errorHandler);
+							task.setCompletionConsumer(null);
+						}
+					} finally {
+						if (filled < batch.size()) {
+							// The tasks are claimed, so they must still be submitted or a ring buffer's consumers would wait
+							// behind them forever. Emptied, they do nothing when they run.
+							for (int i = 0; i < batch.size(); i++) {
+								batch.get(i).reset();
+							}
+						}
+						batch.submit();
+					}
+					remaining -= batch.size();
+				}
+			} else {
+				// Batches wait for room, so apply the policy one event at a time instead
+				for (E ev : events) {
+					Task<T> task = nextTask();
+					if (null != task) {
+						task.setSelector(sel);
+						task.setEvent(ev);
+						task.setConverter(converter);
+						task.setConsumerRegistry(consumerRegistry);
+						task.setErrorConsumer(errorHandler);
+						task.setCompletionConsumer(null);
+						task.submit();
+					}
+				}
+			}
+
+			if (!linkedReactors.isEmpty()) {
+				for (Reactor r : linkedReactors) {
+					r.notify(sel, events);
+				}
+			}
+		} finally {
+			for (E ev : events) {
+				ev.release();
+			}
+		}
+
+		return this;
+	}
+
 	@Override
 	public <T, S extends Supplier<Event<T>>> Reactor notify(Selector sel, S supplier) {
 		return notify(sel, supplier.get(), null);
@@ -365,6 +531,15 @@ public class Reactor implements Observable, DispatcherAware, Linkable<Reactor> {
 		return this;
 	}
 
+	/**
+	 * Get the {@link Reactor}s that events notified on this {@literal Reactor} are also passed to.
+	 *
+	 * @return An unmodifiable view of the linked {@link Reactor}s.
+	 */
+	public Set<Reactor> getLinkedReactors() {
+		return Collections.unmodifiableSet(linkedReactors);
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
@@ -381,6 +556,65 @@ public class Reactor implements Observable, DispatcherAware, Linkable<Reactor> {
 		return id.hashCode();
 	}
 
+	private <T> Task<T> nextTask() {
+		Task<T> task = dispatcher.tryNextTask();
+		if (null != task) {
+			return task;
+		}
+
+		switch (overflowPolicy) {
+			case FAIL_FAST:
+				rejected.increment();
+				throw new RejectedExecutionException("Dispatcher " + dispatcher + " is saturated");
+			case DROP_NEWEST:
+				droppedNewest.increment();
+				return null;
+			case DROP_OLDEST:
+				if (null != (task = dispatcher.evictOldestTask())) {
+					droppedOldest.increment();
+					return task;
+				}
+				// Nothing to evict, so the new event has to go instead
+				droppedNewest.increment();
+				return null;
+			case CALLER_RUNS:
+				callerRuns.increment();
+				return new CallerRunsTask<T>(dispatcher);
+			default:
+				blocked.increment();
+				return dispatcher.nextTask();
+		}
+	}
+
+	/**
+	 * What a {@link Reactor} does with a notification when its {@link Dispatcher} has no room for another task.
+	 */
+	public enum OverflowPolicy {
+		/**
+		 * Wait for the {@link Dispatcher} to free up a task.
+		 */
+		BLOCK,
+		/**
+		 * Throw a {@link RejectedExecutionException} back to the caller.
+		 */
+		FAIL_FAST,
+		/**
+		 * Silently drop the new event.
+		 */
+		DROP_NEWEST,
+		/**
+		 * Evict the oldest event still waiting in the {@link Dispatcher} and dispatch the new one in its place. Dispatchers
+		 * that can't take back submitted tasks, like the {@link reactor.fn.dispatch.RingBufferDispatcher}, drop the new
+		 * event instead.
+		 */
+		DROP_OLDEST,
+		/**
+		 * Run the new event's consumers on the notifying thread. The run is still counted in the {@link Dispatcher}'s
+		 * metrics.
+		 */
+		CALLER_RUNS
+	}
+
 	private static class ReplyToEvent<T> extends Event<T> {
 		private final Observable replyToObservable;
 
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import reactor.fn.Registration;
+import reactor.fn.Selector;
+import reactor.fn.selector.RegexSelector;
+
+/**
+ * A {@link RegistrationIndex} for {@link RegexSelector}s that only runs the regular expressions that can possibly match
+ * a key.
+ * <p/>
+ * Most patterns start with some literal text, such as {@code topic\.orders\..*}. Patterns are bucketed by that
+ * literal prefix, and a lookup only runs the patterns in the buckets whose prefix the key starts with, along with the
+ * patterns that have no literal prefix at all. Every pattern that matches is still reported, so the result is the same
+ * as trying every pattern in turn.
+ *
+ * @author Jon Brisbin
+ */
+class RegexIndex<T> extends RegistrationIndex<T> {
+
+	private static final String REGEX_CHARS    = "\\.[]{}()*+?^$|";
+	private static final String OPTIONAL_CHARS = "*?{";
+
+	private static final Comparator<Entry<?>> INSERTION_ORDER = new Comparator<Entry<?>>() {
+		@Override
+		public int compare(Entry<?> e1, Entry<?> e2) {
+			return (e1.sequence < e2.sequence ? -1 : (e1.sequence == e2.sequence ? 0 : 1));
+		}
+	};
+
+	private final    List<Entry<T>> entries  = new ArrayList<Entry<T>>();
+	private volatile Snapshot<T>    snapshot = new Snapshot<T>(entries);
+	private          long           nextSequence;
+
+	@Override
+	public boolean supports(Selector sel) {
+		return sel.getClass() == RegexSelector.class;
+	}
+
+	@Override
+	void add(Registration<? extends T> reg) {
+		Pattern pattern = ((RegexSelector) reg.getSelector()).getObject();
+		entries.add(new Entry<T>(nextSequence++, pattern, literalPrefix(pattern), reg));
+		snapshot = new Snapshot<T>(entries);
+	}
+
+	@Override
+	void remove(Registration<? extends T> reg) {
+		for (int i = 0; i < entries.size(); i++) {
+			if (entries.get(i).registration == reg) {
+				entries.remove(i);
+				snapshot = new Snapshot<T>(entries);
+				return;
+			}
+		}
+	}
+
+	@Override
+	void select(Selector sel, List<Registration<? extends T>> matches) {
+		Snapshot<T> snapshot = this.snapshot;
+		if (snapshot.isEmpty()) {
+			return;
+		}
+		String key = sel.getObject().toString();
+
+		List<Entry<T>> candidates = new ArrayList<Entry<T>>();
+		int buckets = 0;
+		if (!snapshot.unprefixed.isEmpty()) {
+			candidates.addAll(snapshot.unprefixed);
+			buckets++;
+		}
+		for (int len : snapshot.prefixLengths) {
+			if (len > key.length()) {
+				break;
+			}
+			List<Entry<T>> bucket = snapshot.prefixed.get(key.substring(0, len));
+			if (null != bucket) {
+				candidates.addAll(bucket);
+				buckets++;
+			}
+		}
+		if (buckets > 1) {
+			Collections.sort(candidates, INSERTION_ORDER);
+		}
+
+		for (Entry<T> entry : candidates) {
+			if (entry.pattern.matcher(key).matches()) {
+				matches.add(entry.registration);
+			}
+		}
+	}
+
+	/**
+	 * The literal text every string matched by the pattern starts with, or {@literal null} if there is none or it can't
+	 * be worked out safely.
+	 */
+	static String literalPrefix(Pattern pattern) {
+		String regex = pattern.pattern();
+		if (pattern.flags() != 0 || regex.indexOf('|') >= 0) {
+			return null;
+		}
+
+		int start = (regex.startsWith("^") ? 1 : 0);
+		int end = start;
+		while (end < regex.length() && REGEX_CHARS.indexOf(regex.charAt(end)) < 0) {
+			end++;
+		}
+		if (end < regex.length() && end > start && OPTIONAL_CHARS.indexOf(regex.charAt(end)) >= 0) {
+			// The last literal character is quantified and may not be there at all
+			end--;
+		}
+
+		return (end > start ? regex.substring(start, end) : null);
+	}
+
+	private static class Entry<T> {
+		private final long                      sequence;
+		private final Pattern                   pattern;
+		private final String                    prefix;
+		private final Registration<? extends T> registration;
+
+		private Entry(long sequence, Pattern pattern, String prefix, Registration<? extends T> registration) {
+			this.sequence = sequence;
+			this.pattern = pattern;
+			this.prefix = prefix;
+			this.registration = registration;
+		}
+	}
+
+	private static class Snapshot<T> {
+		private final List<Entry<T>>              unprefixed = new ArrayList<Entry<T>>();
+		private final Map<String, List<Entry<T>>> prefixed   = new HashMap<String, List<Entry<T>>>();
+		private final int[]                       prefixLengths;
+
+		private Snapshot(List<Entry<T>> entries) {
+			TreeSet<Integer> lengths = new TreeSet<Integer>();
+			for (Entry<T> entry : entries) {
+				if (null == entry.prefix) {
+					unprefixed.add(entry);
+					continue;
+				}
+				List<Entry<T>> bucket = prefixed.get(entry.prefix);
+				if (null == bucket) {
+					bucket = new ArrayList<Entry<T>>();
+					prefixed.put(entry.prefix, bucket);
+					lengths.add(entry.prefix.length());
+				}
+				bucket.add(entry);
+			}
+
+			prefixLengths = new int[lengths.size()];
+			int i = 0;
+			for (Integer len : lengths) {
+				prefixLengths[i++] = len;
+			}
+		}
+
+		private boolean isEmpty() {
+			return unprefixed.isEmpty() && prefixed.isEmpty();
+		}
+	}
+
+}
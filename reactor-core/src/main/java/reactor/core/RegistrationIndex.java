@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core;
+
+import java.util.List;
+
+import reactor.fn.Registration;
+import reactor.fn.Selector;
+import reactor.fn.Supports;
+
+/**
+ * A {@literal RegistrationIndex} holds the {@link Registration}s whose {@link Selector}s it {@link #supports(Object)
+ * supports} and finds the ones that match a given {@link Selector} without necessarily comparing it to every one of
+ * them.
+ * <p/>
+ * {@link #add(Registration)} and {@link #remove(Registration)} are only ever called by one thread at a time, but {@link
+ * #select(Selector, List)} can be called concurrently with them and must not block.
+ *
+ * @author Jon Brisbin
+ */
+abstract class RegistrationIndex<T> implements Supports<Selector> {
+
+	/**
+	 * Add the given {@link Registration}, whose {@link Selector} is supported by this index.
+	 *
+	 * @param reg The {@link Registration} to add.
+	 */
+	abstract void add(Registration<? extends T> reg);
+
+	/**
+	 * Remove the given {@link Registration} if this index holds it.
+	 *
+	 * @param reg The {@link Registration} to remove.
+	 */
+	abstract void remove(Registration<? extends T> reg);
+
+	/**
+	 * Add to {@code matches}, in the order they were added to this index, the {@link Registration}s whose {@link
+	 * Selector} matches the given {@link Selector}.
+	 *
+	 * @param sel     The right-hand side of the {@link Selector} comparison.
+	 * @param matches The list to add the matching {@link Registration}s to.
+	 */
+	abstract void select(Selector sel, List<Registration<? extends T>> matches);
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core;
+
+import java.util.List;
+
+import reactor.fn.Registration;
+import reactor.fn.Selector;
+import reactor.fn.selector.UriTemplateSelector;
+import reactor.fn.support.UriTemplateRouter;
+
+/**
+ * A {@link RegistrationIndex} for {@link UriTemplateSelector}s that routes a path to all matching templates at once
+ * using a {@link UriTemplateRouter}, rather than running each template's regular expression in turn.
+ *
+ * @author Jon Brisbin
+ */
+class UriTemplateIndex<T> extends RegistrationIndex<T> {
+
+	private final UriTemplateRouter<Registration<? extends T>> router = new UriTemplateRouter<Registration<? extends T>>();
+
+	@Override
+	public boolean supports(Selector sel) {
+		return sel.getClass() == UriTemplateSelector.class;
+	}
+
+	@Override
+	void add(Registration<? extends T> reg) {
+		router.add(((UriTemplateSelector) reg.getSelector()).getObject(), reg);
+	}
+
+	@Override
+	void remove(Registration<? extends T> reg) {
+		router.remove(reg);
+	}
+
+	@Override
+	void select(Selector sel, List<Registration<? extends T>> matches) {
+		if (!(sel.getObject() instanceof String)) {
+			return;
+		}
+		for (UriTemplateRouter.Match<Registration<? extends T>> match : router.route((String) sel.getObject())) {
+			matches.add(match.getValue());
+		}
+	}
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.jmx;
+
+import reactor.fn.dispatch.Dispatcher;
+import reactor.fn.dispatch.DispatcherMetrics;
+import reactor.support.Assert;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exposes a {@link Dispatcher}'s {@link DispatcherMetrics} to JMX.
+ *
+ * @author Jon Brisbin
+ */
+public class ManagedDispatcher implements ManagedDispatcherMBean {
+
+	private static final long THROUGHPUT_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	private final Dispatcher dispatcher;
+	private long   lastCount;
+	private long   lastNanos;
+	private double throughput;
+
+	/**
+	 * Create a {@literal ManagedDispatcher} for the given {@link Dispatcher}.
+	 *
+	 * @param dispatcher The {@link Dispatcher} to expose.
+	 */
+	public ManagedDispatcher(Dispatcher dispatcher) {
+		Assert.notNull(dispatcher, "Dispatcher cannot be null.");
+		this.dispatcher = dispatcher;
+		this.lastCount = finishedCount();
+		this.lastNanos = System.nanoTime();
+	}
+
+	@Override
+	public String getType() {
+		return dispatcher.getClass().getSimpleName();
+	}
+
+	@Override
+	public boolean isAlive() {
+		return dispatcher.isAlive();
+	}
+
+	@Override
+	public long getBacklog() {
+		return metrics().getBacklog();
+	}
+
+	@Override
+	public long getRemainingCapacity() {
+		return metrics().getRemainingCapacity();
+	}
+
+	@Override
+	public long getSubmittedCount() {
+		return metrics().getSubmittedCount();
+	}
+
+	@Override
+	public long getCompletedCount() {
+		return metrics().getCompletedCount();
+	}
+
+	@Override
+	public long getFailedCount() {
+		return metrics().getFailedCount();
+	}
+
+	@Override
+	public long getEvictedCount() {
+		return metrics().getEvictedCount();
+	}
+
+	@Override
+	public synchronized double getThroughput() {
+		// Only start a new window once the current one is long enough, so that clients polling often don't see noise
+		long now = System.nanoTime();
+		long elapsed = now - lastNanos;
+		if (elapsed >= THROUGHPUT_WINDOW_NANOS) {
+			long count = finishedCount();
+			throughput = (double) (count - lastCount) * TimeUnit.SECONDS.toNanos(1) / elapsed;
+			lastCount = count;
+			lastNanos = now;
+		}
+		return throughput;
+	}
+
+	@Override
+	public double getQueueWaitTimeMean() {
+		return metrics().getQueueWaitTimes().getMean();
+	}
+
+	@Override
+	public long getQueueWaitTime99thPercentile() {
+		return metrics().getQueueWaitTimes().getValueAtPercentile(99);
+	}
+
+	@Override
+	public long getQueueWaitTimeMax() {
+		return metrics().getQueueWaitTimes().getMax();
+	}
+
+	@Override
+	public double getExecutionTimeMean() {
+		return metrics().getExecutionTimes().getMean();
+	}
+
+	@Override
+	public long getExecutionTime99thPercentile() {
+		return metrics().getExecutionTimes().getValueAtPercentile(99);
+	}
+
+	@Override
+	public long getExecutionTimeMax() {
+		return metrics().getExecutionTimes().getMax();
+	}
+
+	@Override
+	public int getSampleRate() {
+		return metrics().getSampleRate();
+	}
+
+	@Override
+	public void setSampleRate(int rate) {
+		metrics().setSampleRate(rate);
+	}
+
+	private DispatcherMetrics metrics() {
+		return dispatcher.getMetrics();
+	}
+
+	private long finishedCount() {
+		return metrics().getCompletedCount() + metrics().getFailedCount();
+	}
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.jmx;
+
+/**
+ * The management interface of a {@link reactor.fn.dispatch.Dispatcher}. Times are in nanoseconds and come from the
+ * sample of tasks that the dispatcher times.
+ *
+ * @author Jon Brisbin
+ */
+public interface ManagedDispatcherMBean {
+
+	/**
+	 * @return The simple class name of the dispatcher.
+	 */
+	String getType();
+
+	/**
+	 * @return {@literal true} if the dispatcher is running, {@literal false} otherwise.
+	 */
+	boolean isAlive();
+
+	/**
+	 * @return The number of tasks that have been submitted but haven't started running yet.
+	 */
+	long getBacklog();
+
+	/**
+	 * @return The number of tasks that can be handed out without waiting, or {@link Long#MAX_VALUE} if unbounded.
+	 */
+	long getRemainingCapacity();
+
+	/**
+	 * @return The number of tasks submitted.
+	 */
+	long getSubmittedCount();
+
+	/**
+	 * @return The number of tasks that ran without an exception.
+	 */
+	long getCompletedCount();
+
+	/**
+	 * @return The number of tasks whose consumers threw an exception.
+	 */
+	long getFailedCount();
+
+	/**
+	 * @return The number of tasks evicted from the queue without running, to make room for newer ones.
+	 */
+	long getEvictedCount();
+
+	/**
+	 * @return The number of tasks finished per second, measured over at least the last second.
+	 */
+	double getThroughput();
+
+	/**
+	 * @return The mean time tasks waited to be run.
+	 */
+	double getQueueWaitTimeMean();
+
+	/**
+	 * @return The time 99% of tasks waited to be run at most.
+	 */
+	long getQueueWaitTime99thPercentile();
+
+	/**
+	 * @return The longest time a task waited to be run.
+	 */
+	long getQueueWaitTimeMax();
+
+	/**
+	 * @return The mean time tasks took to run.
+	 */
+	double getExecutionTimeMean();
+
+	/**
+	 * @return The time 99% of tasks took to run at most.
+	 */
+	long getExecutionTime99thPercentile();
+
+	/**
+	 * @return The longest time a task took to run.
+	 */
+	long getExecutionTimeMax();
+
+	/**
+	 * @return How many tasks are counted for every one that is timed.
+	 */
+	int getSampleRate();
+
+	/**
+	 * @param rate How many tasks to count for every one that is timed. Rounded up to a power of 2.
+	 */
+	void setSampleRate(int rate);
+
+}
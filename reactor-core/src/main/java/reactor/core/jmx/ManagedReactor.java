@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.jmx;
+
+import reactor.core.CachingRegistry;
+import reactor.core.Reactor;
+import reactor.fn.Consumer;
+import reactor.fn.Event;
+import reactor.fn.Registration;
+import reactor.fn.Registry;
+import reactor.fn.Selector;
+import reactor.support.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static reactor.Fn.$;
+
+/**
+ * Exposes a {@link Reactor} to JMX, and lets its consumers be paused and resumed and its load-balancing strategy and
+ * overflow policy be changed while it runs.
+ *
+ * @author Jon Brisbin
+ */
+public class ManagedReactor implements ManagedReactorMBean {
+
+	private final String  id;
+	private final Reactor reactor;
+
+	/**
+	 * Create a {@literal ManagedReactor} for the given {@link Reactor}.
+	 *
+	 * @param id      The id the {@link Reactor} is known by.
+	 * @param reactor The {@link Reactor} to expose.
+	 */
+	public ManagedReactor(String id, Reactor reactor) {
+		Assert.notNull(id, "Id cannot be null.");
+		Assert.notNull(reactor, "Reactor cannot be null.");
+		this.id = id;
+		this.reactor = reactor;
+	}
+
+	@Override
+	public String getId() {
+		return id;
+	}
+
+	@Override
+	public String getDispatcherType() {
+		return (null != reactor.getDispatcher() ? reactor.getDispatcher().getClass().getSimpleName() : null);
+	}
+
+	@Override
+	public String[] getLinkedReactors() {
+		List<String> ids = new ArrayList<String>();
+		for (Reactor r : reactor.getLinkedReactors()) {
+			ids.add(r.getId().toString());
+		}
+		return ids.toArray(new String[ids.size()]);
+	}
+
+	@Override
+	public int getRegistrationCount() {
+		int count = 0;
+		for (Registration<?> reg : registry()) {
+			if (!reg.isCancelled()) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Override
+	public int getPausedRegistrationCount() {
+		int count = 0;
+		for (Registration<?> reg : registry()) {
+			if (!reg.isCancelled() && reg.isPaused()) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Override
+	public int getCacheSize() {
+		CachingRegistry<?> cr = cachingRegistry();
+		return (null != cr ? cr.getCacheSize() : -1);
+	}
+
+	@Override
+	public long getCacheHits() {
+		CachingRegistry<?> cr = cachingRegistry();
+		return (null != cr ? cr.getCacheHits() : -1);
+	}
+
+	@Override
+	public long getCacheMisses() {
+		CachingRegistry<?> cr = cachingRegistry();
+		return (null != cr ? cr.getCacheMisses() : -1);
+	}
+
+	@Override
+	public double getCacheHitRatio() {
+		CachingRegistry<?> cr = cachingRegistry();
+		if (null == cr) {
+			return -1;
+		}
+		long hits = cr.getCacheHits();
+		long total = hits + cr.getCacheMisses();
+		return (total > 0 ? (double) hits / total : 0);
+	}
+
+	@Override
+	public long getCacheEvictions() {
+		CachingRegistry<?> cr = cachingRegistry();
+		return (null != cr ? cr.getCacheEvictions() : -1);
+	}
+
+	@Override
+	public String getLoadBalancingStrategy() {
+		CachingRegistry<?> cr = cachingRegistry();
+		return (null != cr ? cr.getLoadBalancingStrategy().name() : null);
+	}
+
+	@Override
+	public void setLoadBalancingStrategy(String strategy) {
+		registry().setLoadBalancingStrategy(Registry.LoadBalancingStrategy.valueOf(strategy));
+	}
+
+	@Override
+	public String getOverflowPolicy() {
+		return reactor.getOverflowPolicy().name();
+	}
+
+	@Override
+	public void setOverflowPolicy(String policy) {
+		reactor.setOverflowPolicy(Reactor.OverflowPolicy.valueOf(policy));
+	}
+
+	@Override
+	public long getBlockedCount() {
+		return reactor.getBlockedCount();
+	}
+
+	@Override
+	public long getRejectedCount() {
+		return reactor.getRejectedCount();
+	}
+
+	@Override
+	public long getDroppedNewestCount() {
+		return reactor.getDroppedNewestCount();
+	}
+
+	@Override
+	public long getDroppedOldestCount() {
+		return reactor.getDroppedOldestCount();
+	}
+
+	@Override
+	public long getCallerRunsCount() {
+		return reactor.getCallerRunsCount();
+	}
+
+	@Override
+	public int pause(String key) {
+		return pause(matching(key), true);
+	}
+
+	@Override
+	public int resume(String key) {
+		return pause(matching(key), false);
+	}
+
+	@Override
+	public int pauseAll() {
+		return pause(registry(), true);
+	}
+
+	@Override
+	public int resumeAll() {
+		return pause(registry(), false);
+	}
+
+	private static int pause(Iterable<? extends Registration<?>> regs, boolean pause) {
+		int count = 0;
+		for (Registration<?> reg : regs) {
+			if (reg.isCancelled() || reg.isPaused() == pause) {
+				continue;
+			}
+			if (pause) {
+				reg.pause();
+			} else {
+				reg.resume();
+			}
+			count++;
+		}
+		return count;
+	}
+
+	private List<Registration<?>> matching(String key) {
+		// Registry.select would apply the load-balancing strategy and only return one of the matching consumers
+		Selector sel = $(key);
+		CachingRegistry<?> caching = cachingRegistry();
+		if (null != caching) {
+			return new ArrayList<Registration<?>>(caching.selectAll(sel));
+		}
+		List<Registration<?>> regs = new ArrayList<Registration<?>>();
+		for (Registration<?> reg : registry()) {
+			if (reg.getSelector().matches(sel)) {
+				regs.add(reg);
+			}
+		}
+		return regs;
+	}
+
+	private Registry<Consumer<? extends Event<?>>> registry() {
+		return reactor.getConsumerRegistry();
+	}
+
+	private CachingRegistry<?> cachingRegistry() {
+		Registry<?> registry = registry();
+		return (registry instanceof CachingRegistry ? (CachingRegistry<?>) registry : null);
+	}
+
+}
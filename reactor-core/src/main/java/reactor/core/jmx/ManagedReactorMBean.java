@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.jmx;
+
+/**
+ * The management interface of a {@link reactor.core.Reactor}: its registrations, the selection cache of its {@link
+ * reactor.core.CachingRegistry}, the {@literal Reactor}s it is linked to and how it handles a saturated dispatcher.
+ *
+ * @author Jon Brisbin
+ */
+public interface ManagedReactorMBean {
+
+	/**
+	 * @return The id of the {@literal Reactor}.
+	 */
+	String getId();
+
+	/**
+	 * @return The simple class name of the {@literal Reactor}'s dispatcher.
+	 */
+	String getDispatcherType();
+
+	/**
+	 * @return The ids of the {@literal Reactor}s that events are also passed to.
+	 */
+	String[] getLinkedReactors();
+
+	/**
+	 * @return The number of consumers registered.
+	 */
+	int getRegistrationCount();
+
+	/**
+	 * @return The number of registered consumers that are paused.
+	 */
+	int getPausedRegistrationCount();
+
+	/**
+	 * @return The number of selection results cached, or -1 if the registry doesn't cache them.
+	 */
+	int getCacheSize();
+
+	/**
+	 * @return The number of selections served from the cache, or -1 if the registry doesn't cache them.
+	 */
+	long getCacheHits();
+
+	/**
+	 * @return The number of selections that weren't cached, or -1 if the registry doesn't cache them.
+	 */
+	long getCacheMisses();
+
+	/**
+	 * @return The share of selections served from the cache, between 0 and 1, or -1 if the registry doesn't cache them.
+	 */
+	double getCacheHitRatio();
+
+	/**
+	 * @return The number of cached selections evicted to make room for others, or -1 if the registry doesn't cache them.
+	 */
+	long getCacheEvictions();
+
+	/**
+	 * @return The name of the {@link reactor.fn.Registry.LoadBalancingStrategy} in use, or {@literal null} if the registry
+	 * doesn't say.
+	 */
+	String getLoadBalancingStrategy();
+
+	/**
+	 * @param strategy The name of the {@link reactor.fn.Registry.LoadBalancingStrategy} to use.
+	 */
+	void setLoadBalancingStrategy(String strategy);
+
+	/**
+	 * @return The name of the {@link reactor.core.Reactor.OverflowPolicy} in use.
+	 */
+	String getOverflowPolicy();
+
+	/**
+	 * @param policy The name of the {@link reactor.core.Reactor.OverflowPolicy} to use.
+	 */
+	void setOverflowPolicy(String policy);
+
+	/**
+	 * @return The number of notifications that had to wait for the dispatcher.
+	 */
+	long getBlockedCount();
+
+	/**
+	 * @return The number of notifications rejected because the dispatcher was saturated.
+	 */
+	long getRejectedCount();
+
+	/**
+	 * @return The number of notifications dropped because the dispatcher was saturated.
+	 */
+	long getDroppedNewestCount();
+
+	/**
+	 * @return The number of waiting notifications dropped to make room for newer ones.
+	 */
+	long getDroppedOldestCount();
+
+	/**
+	 * @return The number of notifications run on the notifying thread because the dispatcher was saturated.
+	 */
+	long getCallerRunsCount();
+
+	/**
+	 * Pause every consumer whose selector matches the given key. The load-balancing strategy doesn't apply, so all of
+	 * them are paused, not just the one the next event would be dispatched to.
+	 *
+	 * @param key The key, matched as the object of a {@link reactor.fn.Selector}.
+	 * @return The number of consumers paused.
+	 */
+	int pause(String key);
+
+	/**
+	 * Resume every consumer whose selector matches the given key. The load-balancing strategy doesn't apply, so all of
+	 * them are resumed, not just the one the next event would be dispatched to.
+	 *
+	 * @param key The key, matched as the object of a {@link reactor.fn.Selector}.
+	 * @return The number of consumers resumed.
+	 */
+	int resume(String key);
+
+	/**
+	 * Pause every registered consumer.
+	 *
+	 * @return The number of consumers paused.
+	 */
+	int pauseAll();
+
+	/**
+	 * Resume every paused consumer.
+	 *
+	 * @return The number of consumers resumed.
+	 */
+	int resumeAll();
+
+}
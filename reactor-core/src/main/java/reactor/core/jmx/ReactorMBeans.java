@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.jmx;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Context;
+import reactor.core.HashedWheelTimer;
+import reactor.core.R;
+import reactor.core.Reactor;
+import reactor.fn.Consumer;
+import reactor.fn.dispatch.Dispatcher;
+import reactor.fn.dispatch.PooledDispatcher;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registers MBeans for the {@link Dispatcher}s of the current {@link Context} and for every {@link Reactor} held by
+ * {@link R} with the platform {@link MBeanServer}.
+ * <p/>
+ * The {@link Context}'s dispatchers, if there is one, are registered as {@code reactor:type=Dispatcher,name=root},
+ * {@code name=worker-<n>}, {@code name=pool}, {@code name=pool-worker-<n>} and {@code name=sync}, and the reactors as
+ * {@code reactor:type=Reactor,id=<id>}. Reactors come and go, so the reactor MBeans are brought up to date with {@link R}
+ * every 5 seconds until {@link #unregister()} is called.
+ * <p/>
+ * Setting the {@literal reactor.jmx.enabled} system property to {@literal true} registers the MBeans when {@link R}
+ * is loaded.
+ *
+ * @author Jon Brisbin
+ */
+public class ReactorMBeans {
+
+	private static final Logger LOG                   = LoggerFactory.getLogger(ReactorMBeans.class);
+	private static final String DOMAIN                = "reactor";
+	private static final long   REFRESH_PERIOD_MILLIS = 5000;
+
+	private static final Map<ObjectName, Object> dispatchers = new HashMap<ObjectName, Object>();
+	private static final Map<ObjectName, Object> reactors    = new HashMap<ObjectName, Object>();
+	private static HashedWheelTimer.Timeout refresh;
+
+	private ReactorMBeans() {
+	}
+
+	/**
+	 * Register the MBeans, unless they are already registered.
+	 */
+	public static synchronized void register() {
+		if (null != refresh) {
+			return;
+		}
+		if (null != Context.current()) {
+			registerContextDispatchers();
+		}
+
+		refresh();
+		refresh = R.TIMER.schedule(new Consumer<Void>() {
+			@Override
+			public void accept(Void v) {
+				refresh();
+			}
+		}, null, REFRESH_PERIOD_MILLIS, REFRESH_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Unregister every MBean registered by {@link #register()} and stop keeping the reactor MBeans up to date.
+	 */
+	public static synchronized void unregister() {
+		if (null == refresh) {
+			return;
+		}
+		refresh.cancel();
+		refresh = null;
+		for (ObjectName name : dispatchers.keySet()) {
+			unregister(name);
+		}
+		dispatchers.clear();
+		for (ObjectName name : reactors.keySet()) {
+			unregister(name);
+		}
+		reactors.clear();
+	}
+
+	/**
+	 * Register MBeans for the {@link Reactor}s that {@link R} has gained and unregister those of the ones it has lost
+	 * since the last time. Called periodically once the MBeans are registered.
+	 */
+	public static synchronized void refresh() {
+		Map<ObjectName, Reactor> current = new HashMap<ObjectName, Reactor>();
+		Map<ObjectName, String> ids = new HashMap<ObjectName, String>();
+		for (Map.Entry<String, Reactor> entry : R.reactors().entrySet()) {
+			ObjectName name = nameOf("Reactor", "id", entry.getKey());
+			current.put(name, entry.getValue());
+			ids.put(name, entry.getKey());
+		}
+
+		for (Map.Entry<ObjectName, Object> entry : new HashMap<ObjectName, Object>(reactors).entrySet()) {
+			if (current.get(entry.getKey()) != entry.getValue()) {
+				unregister(entry.getKey());
+				reactors.remove(entry.getKey());
+			}
+		}
+		for (Map.Entry<ObjectName, Reactor> entry : current.entrySet()) {
+			if (!reactors.containsKey(entry.getKey())) {
+				ObjectName name = entry.getKey();
+				if (register(name, new ManagedReactor(ids.get(name), entry.getValue()))) {
+					reactors.put(name, entry.getValue());
+				}
+			}
+		}
+	}
+
+	private static void registerContextDispatchers() {
+		registerDispatcher("root", Context.rootDispatcher());
+		Dispatcher[] workers = Context.workerDispatchers();
+		for (int i = 0; i < workers.length; i++) {
+			registerDispatcher("worker-" + i, workers[i]);
+		}
+		Dispatcher pool = Context.workerPoolDispatcher();
+		registerDispatcher("pool", pool);
+		if (pool instanceof PooledDispatcher) {
+			Dispatcher[] poolWorkers = ((PooledDispatcher) pool).getDispatchers();
+			for (int i = 0; i < poolWorkers.length; i++) {
+				registerDispatcher("pool-worker-" + i, poolWorkers[i]);
+			}
+		}
+		registerDispatcher("sync", Context.synchronousDispatcher());
+	}
+
+	private static void registerDispatcher(String name, Dispatcher dispatcher) {
+		ObjectName objectName = nameOf("Dispatcher", "name", name);
+		if (register(objectName, new ManagedDispatcher(dispatcher))) {
+			dispatchers.put(objectName, dispatcher);
+		}
+	}
+
+	private static boolean register(ObjectName name, Object mbean) {
+		try {
+			server().registerMBean(mbean, name);
+			return true;
+		} catch (JMException e) {
+			LOG.warn("Could not register MBean " + name + ": " + e.getMessage(), e);
+			return false;
+		}
+	}
+
+	private static void unregister(ObjectName name) {
+		try {
+			if (server().isRegistered(name)) {
+				server().unregisterMBean(name);
+			}
+		} catch (JMException e) {
+			LOG.warn("Could not unregister MBean " + name + ": " + e.getMessage(), e);
+		}
+	}
+
+	private static ObjectName nameOf(String type, String key, String value) {
+		try {
+			return new ObjectName(DOMAIN + ":type=" + type + "," + key + "=" + value);
+		} catch (JMException e) {
+			// An id with characters that can't be used as they are
+			try {
+				return new ObjectName(DOMAIN + ":type=" + type + "," + key + "=" + ObjectName.quote(value));
+			} catch (JMException e2) {
+				throw new IllegalArgumentException(e2);
+			}
+		}
+	}
+
+	private static MBeanServer server() {
+		return ManagementFactory.getPlatformMBeanServer();
+	}
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.fn;
+
+import reactor.support.Assert;
+
+/**
+ * An {@link Event} that carries a primitive {@code double}. The value is only boxed if {@link #getData()} is called, so a
+ * {@literal DoubleEvent} can be dispatched to a {@link DoubleConsumer} without allocating a {@link Double}.
+ *
+ * @author Jon Brisbin
+ * @see reactor.Fn#doubleEvent(double)
+ */
+public class DoubleEvent extends Event<Double> {
+
+	private double value;
+
+	public DoubleEvent(double value) {
+		super((Double) null);
+		this.value = value;
+	}
+
+	/**
+	 * Get the value without boxing it.
+	 *
+	 * @return The value.
+	 */
+	public double getDouble() {
+		return value;
+	}
+
+	/**
+	 * Set the value without boxing it.
+	 *
+	 * @param value The value.
+	 * @return {@literal this}
+	 */
+	public DoubleEvent setDouble(double value) {
+		this.value = value;
+		return this;
+	}
+
+	@Override
+	public Double getData() {
+		return value;
+	}
+
+	@Override
+	public DoubleEvent setData(Double data) {
+		Assert.notNull(data, "Data cannot be null.");
+		this.value = data;
+		return this;
+	}
+
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.fn;
+
+/**
+ * Implementations transform a primitive {@code double} value into another, so that numeric streams don't have to box
+ * every value.
+ *
+ * @author Jon Brisbin
+ * @see Function
+ * @see reactor.core.DoubleComposable#map(DoubleFunction)
+ */
+public interface DoubleFunction {
+
+	/**
+	 * Execute the logic of the action, accepting the given value.
+	 *
+	 * @param value The value to pass to the function.
+	 * @return result
+	 */
+	double apply(double value);
+
+}
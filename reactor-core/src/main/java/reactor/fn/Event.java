@@ -21,24 +21,42 @@ package reactor.fn;
 import com.eaio.uuid.UUID;
 import reactor.support.Assert;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * Wrapper for an object that needs to be processed by {@link Consumer}s.
+ * <p/>
+ * An event's id is only generated, and its headers only allocated, when they are first used. Events can also be
+ * recycled through an {@link EventPool}.
  *
  * @author Jon Brisbin
  * @author Stephane Maldini
  */
 public class Event<T> {
 
-	private final UUID id = new UUID();
-	private Headers  headers;
-	private Selector replyTo;
-	private T        data;
+	@SuppressWarnings("rawtypes")
+	private static final AtomicIntegerFieldUpdater<Event> REFERENCES = AtomicIntegerFieldUpdater.newUpdater(Event.class, "references");
+
+	private volatile UUID      id;
+	private          Headers   headers;
+	private          Selector  replyTo;
+	private          T         data;
+	private          EventPool pool;
+	private volatile int       references;
 
 	public Event(Headers headers, T data) {
 		this.headers = headers;
@@ -50,12 +68,24 @@ public class Event<T> {
 		this.data = data;
 	}
 
+	Event(EventPool pool) {
+		this.headers = Headers.EMPTY_HEADERS;
+		this.pool = pool;
+	}
+
 	/**
-	 * Get the globally-unique id of this event.
+	 * Get the globally-unique id of this event. The id is generated the first time it is asked for.
 	 *
 	 * @return Unique {@link UUID} of this event.
 	 */
 	public UUID getId() {
+		if (null == id) {
+			synchronized (this) {
+				if (null == id) {
+					id = new UUID();
+				}
+			}
+		}
 		return id;
 	}
 
@@ -71,6 +101,16 @@ public class Event<T> {
 		return headers;
 	}
 
+	/**
+	 * Get the value of the given header without allocating headers for an event that has none.
+	 *
+	 * @param name The name of the header.
+	 * @return The value of the header, or {@literal null} if it isn't set.
+	 */
+	public String getHeader(String name) {
+		return headers.get(name);
+	}
+
 	/**
 	 * Get the {@link Selector} to send replies to.
 	 *
@@ -113,16 +153,58 @@ public class Event<T> {
 	}
 
 	/**
-	 * Headers are backed by a {@code Map&lt;String, String&gt;} and provide a little extra sugar for creating read-only
-	 * versions and the like.
+	 * Note that this event is about to be dispatched, so that it isn't recycled before it has been. Does nothing unless
+	 * the event came from an {@link EventPool}.
+	 *
+	 * @return {@literal this}
+	 */
+	public Event<T> retain() {
+		if (null != pool) {
+			REFERENCES.incrementAndGet(this);
+		}
+		return this;
+	}
+
+	/**
+	 * Note that a dispatch of this event has finished. Once every dispatch has, an event that came from an {@link
+	 * EventPool} is returned to it and must no longer be used.
+	 */
+	public void release() {
+		if (null != pool && REFERENCES.decrementAndGet(this) == 0) {
+			id = null;
+			headers = Headers.EMPTY_HEADERS;
+			replyTo = null;
+			data = null;
+			pool.recycle(this);
+		}
+	}
+
+	/**
+	 * Headers provide a little extra sugar over a {@code Map&lt;String, String&gt;} for creating read-only versions and
+	 * the like. Header names are case-insensitive.
+	 * <p/>
+	 * Events usually carry only a few headers, so up to {@value #MAX_ARRAY_HEADERS} headers are kept in a flat array
+	 * of names and values that is copied when a header is set. Beyond that, they are moved to a {@link
+	 * ConcurrentHashMap}. Names are only lower-cased when they aren't already.
 	 */
 	public static class Headers implements Serializable, Iterable<Map.Entry<String, String>> {
-		public static final  String  ORIGIN           = "x-reactor-origin";
-		public static final  Headers EMPTY_HEADERS    = new Headers(true, Collections.<String, String>emptyMap());
-		private static final long    serialVersionUID = 4984692586458514948L;
-		private final Map<String, String> headers;
+		public static final  String   ORIGIN            = "x-reactor-origin";
+		public static final  Headers  EMPTY_HEADERS     = new Headers(true, Collections.<String, String>emptyMap());
+		private static final long     serialVersionUID  = 4984692586458514948L;
+		private static final int      MAX_ARRAY_HEADERS = 8;
+		private static final String[] NO_HEADERS        = new String[0];
+
+		private static final AtomicReferenceFieldUpdater<Headers, String[]> NAMES_AND_VALUES = AtomicReferenceFieldUpdater.newUpdater(Headers.class, String[].class, "namesAndValues");
+		// Serialized as the single map of headers they used to be kept in, whichever way they are kept now
+		private static final ObjectStreamField[] serialPersistentFields = {new ObjectStreamField("headers", Map.class)};
+
+		private final    boolean             sealed;
+		// Alternating names and values, or null once the headers have moved to the map
+		private volatile String[]            namesAndValues;
+		private volatile Map<String, String> headers;
 
 		private Headers(boolean sealed, Map<String, String> headers) {
+			this.sealed = sealed;
 			if (sealed) {
 				this.headers = Collections.unmodifiableMap(headers);
 			} else {
@@ -140,21 +222,22 @@ public class Event<T> {
 		}
 
 		/**
-		 * Create headers using a new, empty map.
+		 * Create headers using a new, empty set of headers.
 		 */
 		public Headers() {
-			this(false, new ConcurrentHashMap<String, String>());
+			this.sealed = false;
+			this.namesAndValues = NO_HEADERS;
 		}
 
 		/**
 		 * Set the header value.
 		 *
 		 * @param name  The name of the header.
-		 * @param value The header's value.
+		 * @param value The header's value, which cannot be {@literal null}.
 		 * @return {@literal this}
 		 */
 		public Headers set(String name, String value) {
-			headers.put(name.toLowerCase(), value);
+			put(lowerCase(name), value);
 			return this;
 		}
 
@@ -177,7 +260,7 @@ public class Event<T> {
 		 * @return {@literal this}
 		 */
 		public Headers setOrigin(String id) {
-			headers.put(ORIGIN, id);
+			put(ORIGIN, id);
 			return this;
 		}
 
@@ -187,7 +270,7 @@ public class Event<T> {
 		 * @return The unique id of the component in which this event originated.
 		 */
 		public String getOrigin() {
-			return headers.get(ORIGIN);
+			return lookup(ORIGIN);
 		}
 
 		/**
@@ -197,7 +280,7 @@ public class Event<T> {
 		 * @return The value of the header, or {@literal null} if none exists.
 		 */
 		public String get(String name) {
-			return headers.get(name.toLowerCase());
+			return lookup(lowerCase(name));
 		}
 
 		/**
@@ -207,16 +290,16 @@ public class Event<T> {
 		 * @return {@literal true} if a value exists, {@literal false} otherwise.
 		 */
 		public boolean contains(String name) {
-			return headers.containsKey(name.toLowerCase());
+			return null != lookup(lowerCase(name));
 		}
 
 		/**
-		 * Get these headers as a {@link Map}.
+		 * Get these headers as a {@link Map}. The map is a read-only view that reflects later changes to the headers.
 		 *
 		 * @return The headers as a map.
 		 */
 		public Map<String, String> asMap() {
-			return Collections.unmodifiableMap(headers);
+			return new HeadersMap();
 		}
 
 		/**
@@ -225,12 +308,196 @@ public class Event<T> {
 		 * @return A read-only version of the headers.
 		 */
 		public Headers readOnly() {
-			return new Headers(true, headers);
+			return new Headers(true, asMap());
 		}
 
 		@Override
+		@SuppressWarnings("unchecked")
 		public Iterator<Map.Entry<String, String>> iterator() {
-			return headers.entrySet().iterator();
+			final String[] kv = namesAndValues;
+			if (null == kv) {
+				return headers.entrySet().iterator();
+			}
+			return new Iterator<Map.Entry<String, String>>() {
+				private int i;
+
+				@Override
+				public boolean hasNext() {
+					return i < kv.length;
+				}
+
+				@Override
+				public Map.Entry<String, String> next() {
+					if (i >= kv.length) {
+						throw new NoSuchElementException();
+					}
+					Map.Entry<String, String> entry = new AbstractMap.SimpleImmutableEntry<String, String>(kv[i], kv[i + 1]);
+					i += 2;
+					return entry;
+				}
+
+				@Override
+				public void remove() {
+					throw new UnsupportedOperationException();
+				}
+			};
+		}
+
+		private String lookup(String name) {
+			String[] kv = namesAndValues;
+			if (null == kv) {
+				return headers.get(name);
+			}
+			for (int i = 0; i < kv.length; i += 2) {
+				if (name == kv[i] || name.equals(kv[i])) {
+					return kv[i + 1];
+				}
+			}
+			return null;
+		}
+
+		private void put(String name, String value) {
+			if (sealed) {
+				throw new UnsupportedOperationException("These headers are read-only");
+			}
+			// Like the map the headers used to be kept in, so that moving them to one can't fail later
+			Assert.notNull(value, "Header value cannot be null.");
+
+			for (; ; ) {
+				String[] kv = namesAndValues;
+				if (null == kv) {
+					headers.put(name, value);
+					return;
+				}
+
+				int existing = -1;
+				for (int i = 0; i < kv.length; i += 2) {
+					if (name == kv[i] || name.equals(kv[i])) {
+						existing = i;
+						break;
+					}
+				}
+
+				String[] newKv;
+				if (existing >= 0) {
+					newKv = kv.clone();
+					newKv[existing + 1] = value;
+				} else if (kv.length / 2 < MAX_ARRAY_HEADERS) {
+					newKv = new String[kv.length + 2];
+					System.arraycopy(kv, 0, newKv, 0, kv.length);
+					newKv[kv.length] = name;
+					newKv[kv.length + 1] = value;
+				} else {
+					synchronized (this) {
+						// Another writer may have moved to the map, or set a header, since this one read the array
+						if (namesAndValues != kv) {
+							continue;
+						}
+						// Readers only look at the map once the array is gone, so it can be replaced until then
+						Map<String, String> map = new ConcurrentHashMap<String, String>();
+						for (int i = 0; i < kv.length; i += 2) {
+							map.put(kv[i], kv[i + 1]);
+						}
+						map.put(name, value);
+						headers = map;
+						if (NAMES_AND_VALUES.compareAndSet(this, kv, null)) {
+							return;
+						}
+					}
+					continue;
+				}
+
+				if (NAMES_AND_VALUES.compareAndSet(this, kv, newKv)) {
+					return;
+				}
+			}
+		}
+
+		private Map<String, String> copy() {
+			Map<String, String> map = new ConcurrentHashMap<String, String>();
+			for (Map.Entry<String, String> entry : this) {
+				map.put(entry.getKey(), entry.getValue());
+			}
+			return map;
+		}
+
+		private void writeObject(ObjectOutputStream out) throws IOException {
+			Map<String, String> map = copy();
+			ObjectOutputStream.PutField fields = out.putFields();
+			fields.put("headers", (sealed ? Collections.unmodifiableMap(map) : map));
+			out.writeFields();
+		}
+
+		@SuppressWarnings("unchecked")
+		private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+			ObjectInputStream.GetField fields = in.readFields();
+			// Read-only headers come back with a read-only map, so they still can't be set
+			Map<String, String> map = (Map<String, String>) fields.get("headers", null);
+			headers = (null != map ? map : new ConcurrentHashMap<String, String>());
+		}
+
+		private static String lowerCase(String name) {
+			if (name == ORIGIN) {
+				return name;
+			}
+			for (int i = 0; i < name.length(); i++) {
+				char c = name.charAt(i);
+				if ((c >= 'A' && c <= 'Z') || (c > 127 && Character.isUpperCase(c))) {
+					return name.toLowerCase();
+				}
+			}
+			return name;
+		}
+
+		private class HeadersMap extends AbstractMap<String, String> implements Serializable {
+			private static final long serialVersionUID = -6213482185014215364L;
+
+			private Object writeReplace() {
+				// A copy, like the read-only map this view replaced
+				return Collections.unmodifiableMap(copy());
+			}
+
+			@Override
+			public String get(Object key) {
+				return (key instanceof String ? lookup((String) key) : null);
+			}
+
+			@Override
+			public boolean containsKey(Object key) {
+				return null != get(key);
+			}
+
+			@Override
+			public Set<Map.Entry<String, String>> entrySet() {
+				return new AbstractSet<Map.Entry<String, String>>() {
+					@Override
+					public Iterator<Map.Entry<String, String>> iterator() {
+						final Iterator<Map.Entry<String, String>> entries = Headers.this.iterator();
+						return new Iterator<Map.Entry<String, String>>() {
+							@Override
+							public boolean hasNext() {
+								return entries.hasNext();
+							}
+
+							@Override
+							public Map.Entry<String, String> next() {
+								return entries.next();
+							}
+
+							@Override
+							public void remove() {
+								throw new UnsupportedOperationException();
+							}
+						};
+					}
+
+					@Override
+					public int size() {
+						String[] kv = namesAndValues;
+						return (null == kv ? headers.size() : kv.length / 2);
+					}
+				};
+			}
 		}
 	}
 
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.fn;
+
+import org.cliffc.high_scale_lib.Counter;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A pool of reusable {@link Event}s, for publishers that want to notify without allocating a new {@link Event} every
+ * time.
+ * <p/>
+ * An event taken from the pool is returned to it once every dispatch of it has finished: {@link
+ * reactor.core.Reactor#notify(Selector, Event) notifying} {@link Event#retain() retains} the event for each {@link
+ * reactor.fn.dispatch.Task} it is dispatched with, and the {@link reactor.fn.dispatch.Dispatcher} {@link
+ * Event#release() releases} it when the task has run. Consumers must therefore not hold on to a pooled event, or its
+ * headers, after they've been invoked with it. An event that is never notified is simply not returned to the pool.
+ * <p/>
+ * If the pool is empty, a new event is created; if it is full, a returned event is dropped.
+ *
+ * @author Jon Brisbin
+ */
+public class EventPool {
+
+	private final BlockingQueue<Event<?>> events;
+	private final Counter                 created  = new Counter();
+	private final Counter                 recycled = new Counter();
+
+	/**
+	 * Create a pool that holds at most {@code capacity} unused events.
+	 *
+	 * @param capacity The maximum number of events to keep for reuse.
+	 */
+	public EventPool(int capacity) {
+		this.events = new ArrayBlockingQueue<Event<?>>(capacity);
+	}
+
+	/**
+	 * Take an event from the pool, or create one if the pool is empty.
+	 *
+	 * @param data The data the event should wrap.
+	 * @param <T>  The type of the data.
+	 * @return An event wrapping the data.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> Event<T> event(T data) {
+		Event<T> ev = (Event<T>) events.poll();
+		if (null == ev) {
+			created.increment();
+			ev = new Event<T>(this);
+		}
+		return ev.setData(data);
+	}
+
+	/**
+	 * The number of events that had to be created because the pool was empty.
+	 *
+	 * @return The number of events created.
+	 */
+	public long getCreated() {
+		return created.get();
+	}
+
+	/**
+	 * The number of events that have been returned to the pool.
+	 *
+	 * @return The number of events recycled.
+	 */
+	public long getRecycled() {
+		return recycled.get();
+	}
+
+	void recycle(Event<?> ev) {
+		recycled.increment();
+		events.offer(ev);
+	}
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.fn;
+
+import reactor.support.Assert;
+
+/**
+ * An {@link Event} that carries a primitive {@code long}. The value is only boxed if {@link #getData()} is called, so a
+ * {@literal LongEvent} can be dispatched to a {@link LongConsumer} without allocating a {@link Long}.
+ *
+ * @author Jon Brisbin
+ * @see reactor.Fn#longEvent(long)
+ */
+public class LongEvent extends Event<Long> {
+
+	private long value;
+
+	public LongEvent(long value) {
+		super((Long) null);
+		this.value = value;
+	}
+
+	/**
+	 * Get the value without boxing it.
+	 *
+	 * @return The value.
+	 */
+	public long getLong() {
+		return value;
+	}
+
+	/**
+	 * Set the value without boxing it.
+	 *
+	 * @param value The value.
+	 * @return {@literal this}
+	 */
+	public LongEvent setLong(long value) {
+		this.value = value;
+		return this;
+	}
+
+	@Override
+	public Long getData() {
+		return value;
+	}
+
+	@Override
+	public LongEvent setData(Long data) {
+		Assert.notNull(data, "Data cannot be null.");
+		this.value = data;
+		return this;
+	}
+
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.fn;
+
+/**
+ * Implementations test a primitive {@code long} value, so that numeric streams can be filtered without boxing every
+ * value.
+ *
+ * @author Jon Brisbin
+ * @see reactor.core.LongComposable#filter(LongPredicate)
+ */
+public interface LongPredicate {
+
+	/**
+	 * Execute the logic of the action, testing the given value.
+	 *
+	 * @param value The value to test.
+	 * @return {@literal true} if the value passes the test, {@literal false} otherwise.
+	 */
+	boolean apply(long value);
+
+}
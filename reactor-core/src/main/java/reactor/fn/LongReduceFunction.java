@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.fn;
+
+/**
+ * Implementations combine an accumulated primitive {@code long} value with the next one, so that numeric streams can be
+ * reduced without boxing every value.
+ *
+ * @author Jon Brisbin
+ * @see reactor.core.LongComposable#reduce(LongReduceFunction, long)
+ */
+public interface LongReduceFunction {
+
+	/**
+	 * Execute the logic of the action, combining the accumulated value with the next one.
+	 *
+	 * @param lastValue The value accumulated so far.
+	 * @param nextValue The next value.
+	 * @return The new accumulated value.
+	 */
+	long apply(long lastValue, long nextValue);
+
+}
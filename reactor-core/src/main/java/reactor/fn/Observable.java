@@ -18,6 +18,8 @@
 
 package reactor.fn;
 
+import java.util.Collection;
+
 /**
  * Basic unit of event handling in Reactor.
  *
@@ -86,6 +88,18 @@ public interface Observable {
 	 */
 	<T, E extends Event<T>> Observable notify(Selector sel, E ev);
 
+	/**
+	 * Notify this component that a batch of {@link Event}s is ready to be processed. The events are dispatched in the
+	 * order of the collection's iterator, and a dispatcher that can will claim and submit them as a batch rather than
+	 * one at a time.
+	 *
+	 * @param sel    The right-hand side of the {@link Selector} comparison.
+	 * @param events The {@literal Event}s.
+	 * @param <T>    The type of the data in the {@link Event}s.
+	 * @return {@literal this}
+	 */
+	<T, E extends Event<T>> Observable notify(Selector sel, Collection<E> events);
+
 	/**
 	 * Notify this component that the given {@link Supplier} can provide an event that's ready to be processed.
 	 *
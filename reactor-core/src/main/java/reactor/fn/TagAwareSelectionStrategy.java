@@ -18,8 +18,13 @@
 
 package reactor.fn;
 
+import reactor.fn.selector.BaseSelector;
+import reactor.fn.support.Tags;
+
 /**
  * Match two {@link Selector}s like normal, but only do that check if the two have at least one tag in common.
+ * <p/>
+ * Tags are compared as {@link Tags bitsets}, or as sets when a selector has a tag that didn't get a bit.
  *
  * @author Jon Brisbin
  * @author Andy Wilkinson
@@ -28,14 +33,12 @@ public class TagAwareSelectionStrategy implements SelectionStrategy {
 
 	@Override
 	public boolean matches(Selector sel1, Selector sel2) {
-		for (String s2 : sel2.getTags()) {
-			for (String s1 : sel1.getTags()) {
-				if (s1.equals(s2) && sel1.matches(sel2)) {
-					return true;
-				}
-			}
-		}
-		return false;
+		long[] bits1 = tagBits(sel1);
+		long[] bits2 = tagBits(sel2);
+		boolean shareTag = (null != bits1 && null != bits2
+				? Tags.intersect(bits1, bits2)
+				: Tags.intersect(sel1.getTags(), sel2.getTags()));
+		return shareTag && sel1.matches(sel2);
 	}
 
 	@Override
@@ -43,4 +46,11 @@ public class TagAwareSelectionStrategy implements SelectionStrategy {
 		return !sel.getTags().isEmpty();
 	}
 
+	private static long[] tagBits(Selector sel) {
+		if (sel instanceof BaseSelector) {
+			return ((BaseSelector<?>) sel).getTagBits();
+		}
+		return Tags.bitsOf(sel.getTags());
+	}
+
 }
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.fn.dispatch;
+
+import com.lmax.disruptor.AlertException;
+import com.lmax.disruptor.Sequence;
+import com.lmax.disruptor.SequenceBarrier;
+import com.lmax.disruptor.WaitStrategy;
+import reactor.support.Assert;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link WaitStrategy} that spins, then yields, then blocks, and that decides how long to spin and yield from how
+ * long it has recently had to wait for new tasks.
+ * <p/>
+ * While tasks arrive close together the consumer spins or yields long enough to catch the next one without being put
+ * to sleep. Once the gaps grow longer than the yield window the consumer goes straight to blocking, so an idle
+ * dispatcher doesn't burn a core. Publishers only take the lock to wake the consumer up when it is actually blocked.
+ * <p/>
+ * On a single processor spinning only keeps the publisher off the CPU, so the default spin window is 0 there.
+ *
+ * @author Jon Brisbin
+ */
+public class AdaptiveWaitStrategy implements WaitStrategy {
+
+	private static final long DEFAULT_MAX_SPIN_NANOS  = Runtime.getRuntime().availableProcessors() > 1
+			? TimeUnit.MICROSECONDS.toNanos(10)
+			: 0;
+	private static final long DEFAULT_MAX_YIELD_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+	// Publishers signal whenever someone is blocked, this only covers a wake-up missed by a racing publisher
+	private static final long MAX_BLOCK_NANOS         = TimeUnit.MILLISECONDS.toNanos(10);
+	private static final int  CLOCK_CHECK_MASK        = 63;
+
+	private final Lock          lock      = new ReentrantLock();
+	private final Condition     signal    = lock.newCondition();
+	private final AtomicInteger blocked   = new AtomicInteger();
+	private final long maxSpinNanos;
+	private final long maxYieldNanos;
+	// Moving average of how long waitFor had to wait. Updated without synchronization since it's only a hint.
+	private volatile long averageWaitNanos;
+
+	/**
+	 * Create an {@literal AdaptiveWaitStrategy} that spins for up to 10us (0 on a single processor) and yields for up
+	 * to 100us before blocking.
+	 */
+	public AdaptiveWaitStrategy() {
+		this(DEFAULT_MAX_SPIN_NANOS, DEFAULT_MAX_YIELD_NANOS, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Create an {@literal AdaptiveWaitStrategy} with the given upper bounds on the time spent spinning and yielding
+	 * before blocking.
+	 *
+	 * @param maxSpin  The longest time to spin for.
+	 * @param maxYield The longest time, including the time spent spinning, to yield for.
+	 * @param unit     The unit of both times.
+	 */
+	public AdaptiveWaitStrategy(long maxSpin, long maxYield, TimeUnit unit) {
+		Assert.isTrue(maxSpin >= 0, "Max spin time cannot be negative.");
+		Assert.isTrue(maxYield >= maxSpin, "Max yield time cannot be less than the max spin time.");
+		Assert.notNull(unit, "TimeUnit cannot be null.");
+		this.maxSpinNanos = unit.toNanos(maxSpin);
+		this.maxYieldNanos = unit.toNanos(maxYield);
+		this.averageWaitNanos = this.maxSpinNanos;
+	}
+
+	@Override
+	public long waitFor(long sequence,
+											Sequence cursor,
+											Sequence dependentSequence,
+											SequenceBarrier barrier) throws AlertException, InterruptedException {
+		long availableSequence;
+		if ((availableSequence = dependentSequence.get()) >= sequence) {
+			// Still working through a burst
+			record(0);
+			return availableSequence;
+		}
+
+		long start = System.nanoTime();
+		long avg = averageWaitNanos;
+		long spinNanos;
+		long yieldNanos;
+		if (avg > maxYieldNanos) {
+			// Tasks are far apart. Spinning or yielding would only waste CPU.
+			spinNanos = 0;
+			yieldNanos = 0;
+		} else {
+			// Cover twice the usual wait so that most tasks arrive before the consumer blocks
+			spinNanos = Math.min(maxSpinNanos, avg << 1);
+			yieldNanos = maxYieldNanos;
+		}
+
+		int tries = 0;
+		long elapsed = 0;
+		while ((availableSequence = dependentSequence.get()) < sequence) {
+			barrier.checkAlert();
+			if ((++tries & CLOCK_CHECK_MASK) == 0 || elapsed >= spinNanos) {
+				elapsed = System.nanoTime() - start;
+			}
+			if (elapsed < spinNanos) {
+				continue;
+			} else if (elapsed < yieldNanos) {
+				Thread.yield();
+			} else {
+				availableSequence = block(sequence, cursor, dependentSequence, barrier);
+				break;
+			}
+		}
+
+		record(System.nanoTime() - start);
+		return availableSequence;
+	}
+
+	@Override
+	public void signalAllWhenBlocking() {
+		if (blocked.get() > 0) {
+			lock.lock();
+			try {
+				signal.signalAll();
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Get the moving average of the time the consumers have had to wait for tasks, which drives how long they spin and
+	 * yield.
+	 *
+	 * @return The average wait, in nanoseconds.
+	 */
+	public long getAverageWaitNanos() {
+		return averageWaitNanos;
+	}
+
+	private long block(long sequence,
+										 Sequence cursor,
+										 Sequence dependentSequence,
+										 SequenceBarrier barrier) throws AlertException, InterruptedException {
+		long availableSequence;
+		if (cursor.get() < sequence) {
+			lock.lock();
+			blocked.incrementAndGet();
+			try {
+				while (cursor.get() < sequence) {
+					barrier.checkAlert();
+					signal.awaitNanos(MAX_BLOCK_NANOS);
+				}
+			} finally {
+				blocked.decrementAndGet();
+				lock.unlock();
+			}
+		}
+		while ((availableSequence = dependentSequence.get()) < sequence) {
+			barrier.checkAlert();
+		}
+		return availableSequence;
+	}
+
+	private void record(long waitNanos) {
+		long avg = averageWaitNanos;
+		averageWaitNanos = avg + ((waitNanos - avg) >> 3);
+	}
+
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package reactor.fn.dispatch;
+
+import reactor.fn.*;
+import reactor.support.Assert;
+import reactor.support.BoundedArrayQueue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Implementation of {@link Dispatcher} that queues tasks for a single thread in a bounded {@link BoundedArrayQueue}.
+ * <p/>
+ * A fixed number of tasks are created up front and cycle between the producers and the dispatcher thread through two
+ * array-backed queues, so dispatching doesn't allocate. When it runs out of tasks, the dispatcher thread spins for a
+ * while and then parks until a producer unparks it, so it reacts at once to tasks submitted shortly after it went idle
+ * without burning a core while there is nothing to do. Producers spin and then back off with a bounded park when every
+ * task is in use.
+ *
+ * @author Jon Brisbin
+ */
+public class ArrayQueueDispatcher implements Dispatcher {
+
+	private final static int  SPINS          = 1000;
+	private final static long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private final String                     name;
+	private final BoundedArrayQueue<Task<?>> readyTasks;
+	private final BoundedArrayQueue<Task<?>> taskQueue;
+	private final DispatcherMetrics          metrics = new DispatcherMetrics() {
+		@Override
+		public long getBacklog() {
+			return taskQueue.size();
+		}
+
+		@Override
+		public long getRemainingCapacity() {
+			return readyTasks.size();
+		}
+	};
+	private volatile TaskExecutor    taskExecutor;
+	private volatile boolean         parked  = false;
+	private volatile ConsumerInvoker invoker = new ConverterAwareConsumerInvoker();
+
+	/**
+	 * Create an {@literal ArrayQueueDispatcher}.
+	 *
+	 * @param name    The name of the dispatcher, used to name its thread.
+	 * @param backlog The number of tasks that can be queued. Rounded up to a power of 2.
+	 */
+	public ArrayQueueDispatcher(String name, int backlog) {
+		this.name = name;
+		this.readyTasks = new BoundedArrayQueue<Task<?>>(backlog);
+		this.taskQueue = new BoundedArrayQueue<Task<?>>(backlog);
+		for (int i = 0; i < readyTasks.capacity(); i++) {
+			readyTasks.offer(new ArrayQueueTask());
+		}
+		this.start();
+	}
+
+	@Override
+	public ConsumerInvoker getConsumerInvoker() {
+		return invoker;
+	}
+
+	@Override
+	public ArrayQueueDispatcher setConsumerInvoker(ConsumerInvoker consumerInvoker) {
+		this.invoker = consumerInvoker;
+		return this;
+	}
+
+	@Override
+	@SuppressWarnings({"unchecked"})
+	public <T> Task<T> nextTask() {
+		Task<?> t = readyTasks.poll();
+		for (int i = 0; null == t; i++) {
+			// Every task is in use: spin, then back off
+			if (i >= SPINS) {
+				LockSupport.parkNanos(Math.min(1L << Math.min(i - SPINS, 20), MAX_PARK_NANOS));
+			}
+			t = readyTasks.poll();
+		}
+		return (Task<T>) t;
+	}
+
+	@Override
+	@SuppressWarnings({"unchecked"})
+	public <T> Task<T> tryNextTask() {
+		return (Task<T>) readyTasks.poll();
+	}
+
+	@Override
+	@SuppressWarnings({"unchecked"})
+	public <T> Task<T> evictOldestTask() {
+		Task<?> t = taskQueue.poll();
+		if (null != t) {
+			metrics.evicted();
+			t.reset();
+		}
+		return (Task<T>) t;
+	}
+
+	@Override
+	@SuppressWarnings({"unchecked"})
+	public <T> TaskBatch<T> nextTasks(int size) {
+		Assert.isTrue(size > 0, "Size must be greater than 0.");
+		Task<T>[] tasks = (Task<T>[]) new Task<?>[Math.min(size, readyTasks.capacity())];
+		tasks[0] = nextTask();
+		// Only wait for the first task. Waiting for the rest could wait forever if every other task is in this batch.
+		int count = 1;
+		Task<?> t;
+		while (count < tasks.length && null != (t = readyTasks.poll())) {
+			tasks[count++] = (Task<T>) t;
+		}
+		if (count < tasks.length) {
+			Task<T>[] fewer = (Task<T>[]) new Task<?>[count];
+			System.arraycopy(tasks, 0, fewer, 0, count);
+			tasks = fewer;
+		}
+		return new ArrayTaskBatch<T>(tasks);
+	}
+
+	@Override
+	public DispatcherMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * The number of tasks waiting to be run.
+	 *
+	 * @return The number of queued tasks.
+	 */
+	public int getQueueDepth() {
+		return taskQueue.size();
+	}
+
+	@Override
+	public synchronized Lifecycle destroy() {
+		return stop();
+	}
+
+	/**
+	 * Stop the dispatcher thread and wait for it to finish the task it is running, unless called from that thread. Tasks
+	 * that are still queued are kept and run once the dispatcher is started again.
+	 *
+	 * @return {@literal this}
+	 */
+	@Override
+	public synchronized Lifecycle stop() {
+		TaskExecutor executor = taskExecutor;
+		if (null != executor) {
+			taskExecutor = null;
+			executor.stopped = true;
+			LockSupport.unpark(executor);
+			// A restarted dispatcher must never have two threads taking its tasks
+			executor.awaitExit();
+		}
+		return this;
+	}
+
+	@Override
+	public synchronized Lifecycle start() {
+		if (null == taskExecutor) {
+			taskExecutor = new TaskExecutor(name + "-dispatcher");
+			taskExecutor.start();
+		}
+		return this;
+	}
+
+	@Override
+	public boolean isAlive() {
+		return null != taskExecutor;
+	}
+
+	private class ArrayQueueTask extends Task<Object> {
+		@Override
+		public void submit() {
+			metrics.submitted(this);
+			if (!taskQueue.offer(this)) {
+				// There are never more tasks than the queue can hold
+				throw new IllegalStateException("Task queue is full");
+			}
+			if (parked) {
+				TaskExecutor executor = taskExecutor;
+				if (null != executor) {
+					LockSupport.unpark(executor);
+				}
+			}
+		}
+	}
+
+	private class TaskExecutor extends Thread {
+		private volatile boolean stopped;
+
+		private TaskExecutor(String name) {
+			super(name);
+			setDaemon(true);
+		}
+
+		private void awaitExit() {
+			if (this == Thread.currentThread()) {
+				return;
+			}
+			boolean interrupted = false;
+			while (true) {
+				try {
+					join();
+					break;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		private Task<?> take() {
+			Task<?> t = taskQueue.poll();
+			for (int i = 0; null == t; i++) {
+				if (stopped) {
+					return null;
+				}
+				if (i >= SPINS) {
+					// An interrupt left by a consumer would stop park() from parking
+					Thread.interrupted();
+					parked = true;
+					// Look again, in case a task was submitted before the producer could see this thread was parked
+					if (null == (t = taskQueue.poll()) && !stopped) {
+						LockSupport.park(this);
+					}
+					parked = false;
+					if (null != t) {
+						return t;
+					}
+				}
+				t = taskQueue.poll();
+			}
+			return t;
+		}
+
+		@Override
+		public void run() {
+			// Only stopping ends the loop: an interrupt from a consumer, or one that a consumer swallowed, doesn't
+			Task<?> t;
+			while (!stopped && null != (t = take())) {
+				try {
+					t.execute(invoker, metrics);
+				} finally {
+					t.reset();
+					readyTasks.offer(t);
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.fn.dispatch;
+
+/**
+ * A {@link TaskBatch} for dispatchers that have no cheaper way to submit a group of tasks than submitting them one at a
+ * time.
+ *
+ * @author Jon Brisbin
+ */
+class ArrayTaskBatch<T> extends TaskBatch<T> {
+
+	private final Task<T>[] tasks;
+
+	ArrayTaskBatch(Task<T>[] tasks) {
+		this.tasks = tasks;
+	}
+
+	@Override
+	public int size() {
+		return tasks.length;
+	}
+
+	@Override
+	public Task<T> get(int index) {
+		return tasks[index];
+	}
+
+	@Override
+	public void submit() {
+		for (Task<T> task : tasks) {
+			task.submit();
+		}
+	}
+
+}
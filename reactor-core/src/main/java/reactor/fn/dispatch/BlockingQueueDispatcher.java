@@ -21,6 +21,7 @@ package reactor.fn.dispatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.fn.*;
+import reactor.support.Assert;
 import reactor.support.QueueFactory;
 
 import java.util.ArrayList;
@@ -46,7 +47,19 @@ public class BlockingQueueDispatcher implements Dispatcher, Linkable<Dispatcher>
 	private final List<Dispatcher> linkedDispatchers = Collections.synchronizedList(new ArrayList<Dispatcher>());
 	private final BlockingQueue<Task<?>> readyTasks;
 	private final TaskExecutor           taskExecutor;
+	private final DispatcherMetrics      metrics = new DispatcherMetrics() {
+		@Override
+		public long getBacklog() {
+			return taskExecutor.taskQueue.size();
+		}
+
+		@Override
+		public long getRemainingCapacity() {
+			return readyTasks.size();
+		}
+	};
 	private volatile ConsumerInvoker invoker = new ConverterAwareConsumerInvoker();
+	private volatile boolean         alive   = true;
 
 	public BlockingQueueDispatcher(String name, int backlog) {
 		this.readyTasks = QueueFactory.createQueue();
@@ -100,20 +113,59 @@ public class BlockingQueueDispatcher implements Dispatcher, Linkable<Dispatcher>
 		}
 	}
 
+	@Override
+	@SuppressWarnings({"unchecked"})
+	public <T> Task<T> tryNextTask() {
+		return (Task<T>) readyTasks.poll();
+	}
+
+	@Override
+	@SuppressWarnings({"unchecked"})
+	public <T> Task<T> evictOldestTask() {
+		Task<?> t = taskExecutor.taskQueue.poll();
+		if (null != t) {
+			metrics.evicted();
+			t.reset();
+		}
+		return (Task<T>) t;
+	}
+
+	@Override
+	@SuppressWarnings({"unchecked"})
+	public <T> TaskBatch<T> nextTasks(int size) {
+		Assert.isTrue(size > 0, "Size must be greater than 0.");
+		List<Task<T>> tasks = new ArrayList<Task<T>>(Math.min(size, 64));
+		tasks.add(this.<T>nextTask());
+		// Only wait for the first task. Waiting for the rest could wait forever if the batch is bigger than the backlog.
+		Task<?> t;
+		while (tasks.size() < size && null != (t = readyTasks.poll())) {
+			tasks.add((Task<T>) t);
+		}
+		return new ArrayTaskBatch<T>(tasks.toArray((Task<T>[]) new Task<?>[tasks.size()]));
+	}
+
+	@Override
+	public DispatcherMetrics getMetrics() {
+		return metrics;
+	}
+
 	private class BlockingQueueTask<T> extends Task<T> {
 		@Override
 		public void submit() {
+			metrics.submitted(this);
 			taskExecutor.taskQueue.add(this);
 		}
 	}
 
 	@Override
 	public Lifecycle destroy() {
-		return this;
+		return stop();
 	}
 
 	@Override
 	public Lifecycle stop() {
+		alive = false;
+		// Wake the thread up if it's waiting for a task
 		taskExecutor.interrupt();
 		return this;
 	}
@@ -126,7 +178,7 @@ public class BlockingQueueDispatcher implements Dispatcher, Linkable<Dispatcher>
 
 	@Override
 	public boolean isAlive() {
-		return true;
+		return alive;
 	}
 
 	private class TaskExecutor extends Thread {
@@ -141,11 +193,14 @@ public class BlockingQueueDispatcher implements Dispatcher, Linkable<Dispatcher>
 		}
 
 		@Override
-		@SuppressWarnings({"unchecked"})
 		public void run() {
 			Task<?> t = null;
 			BlockingQueueDispatcher victim = null;
-			while (true) {
+			// Runs until the dispatcher is stopped or destroyed. Any other interrupt, from a consumer for example,
+			// is ignored.
+			while (alive) {
+				t = null;
+				victim = null;
 				try {
 					t = taskQueue.poll(200, TimeUnit.MILLISECONDS);
 					if (null == t) {
@@ -168,27 +223,11 @@ public class BlockingQueueDispatcher implements Dispatcher, Linkable<Dispatcher>
 						continue;
 					}
 
-					try {
-						for (Registration<? extends Consumer<? extends Event<?>>> reg : t.getConsumerRegistry().select(t.getSelector())) {
-							if (reg.isCancelled() || reg.isPaused()) {
-								continue;
-							}
-							invoker.invoke(reg.getObject(), t.getConverter(), Void.TYPE, t.getEvent());
-							if (reg.isCancelAfterUse()) {
-								reg.cancel();
-							}
-						}
-						if (null != t.getCompletionConsumer()) {
-							invoker.invoke(t.getCompletionConsumer(), t.getConverter(), Void.TYPE, t.getEvent());
-						}
-					} catch (Throwable x) {
-						LOG.error(x.getMessage(), x);
-						if (null != t.getErrorConsumer()) {
-							t.getErrorConsumer().accept(x);
-						}
-					}
-				} catch (InterruptedException e) {
-					interrupt();
+					// A stolen task is counted by the dispatcher it was submitted to
+					DispatcherMetrics taskMetrics = (null != victim ? victim.metrics : metrics);
+					t.execute(invoker, taskMetrics);
+				} catch (InterruptedException ignored) {
+					continue;
 				} catch (Exception e) {
 					LOG.error(e.getMessage(), e);
 				} finally {
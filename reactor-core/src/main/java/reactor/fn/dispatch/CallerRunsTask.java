@@ -0,0 +1,53 @@
+/*
+ * Copyright 2002-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package reactor.fn.dispatch;
+
+/**
+ * A {@link Task} that runs on the thread that submits it, in place of a task the given {@link Dispatcher} had no room
+ * for. It uses that dispatcher's {@link reactor.fn.ConsumerInvoker} when it is submitted and is counted in its {@link
+ * DispatcherMetrics}, but never touches its queue.
+ *
+ * @param <T> The type of the event's data.
+ * @author Jon Brisbin
+ */
+public class CallerRunsTask<T> extends Task<T> {
+
+	private final Dispatcher dispatcher;
+
+	/**
+	 * Create a {@literal CallerRunsTask} that runs on behalf of the given {@link Dispatcher}.
+	 *
+	 * @param dispatcher The {@link Dispatcher} that had no room for the task.
+	 */
+	public CallerRunsTask(Dispatcher dispatcher) {
+		this.dispatcher = dispatcher;
+	}
+
+	@Override
+	public void submit() {
+		DispatcherMetrics metrics = dispatcher.getMetrics();
+		metrics.submitted(this);
+		try {
+			execute(dispatcher.getConsumerInvoker(), metrics);
+		} finally {
+			reset();
+		}
+	}
+
+}
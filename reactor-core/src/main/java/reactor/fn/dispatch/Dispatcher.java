@@ -53,4 +53,39 @@ public interface Dispatcher extends Lifecycle {
 	 */
 	<T> Task<T> nextTask();
 
+	/**
+	 * Like {@link #nextTask()}, but return {@literal null} instead of waiting if the dispatcher is saturated and has no
+	 * {@link Task} to hand out right now. Submitting a {@link Task} obtained this way shouldn't block either.
+	 *
+	 * @return A {@link Task} object, or {@literal null} if none is available without waiting.
+	 */
+	<T> Task<T> tryNextTask();
+
+	/**
+	 * Take back the oldest {@link Task} that has been submitted but hasn't started running yet, so that it never runs,
+	 * and hand it to the caller, reset, to fill in and submit in its place. Used to shed the oldest work when the
+	 * dispatcher is saturated.
+	 *
+	 * @return The evicted {@link Task}, or {@literal null} if there is no waiting task or the dispatcher can't take back
+	 * tasks once they're submitted.
+	 */
+	<T> Task<T> evictOldestTask();
+
+	/**
+	 * Return to the caller a {@link TaskBatch} of up to {@code size} {@link Task}s that will be submitted together. The
+	 * batch might hold fewer tasks than were asked for if the dispatcher can't hand out that many at once, in which
+	 * case the caller should submit it and ask for another batch for the rest.
+	 *
+	 * @param size The number of tasks wanted. Must be greater than 0.
+	 * @return A {@link TaskBatch} holding at least one {@link Task}.
+	 */
+	<T> TaskBatch<T> nextTasks(int size);
+
+	/**
+	 * Get the runtime numbers for this dispatcher.
+	 *
+	 * @return The {@link DispatcherMetrics}. Cannot be null.
+	 */
+	DispatcherMetrics getMetrics();
+
 }
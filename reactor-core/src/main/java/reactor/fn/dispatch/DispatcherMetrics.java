@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.fn.dispatch;
+
+import org.cliffc.high_scale_lib.Counter;
+import reactor.support.Assert;
+import reactor.support.Histogram;
+
+/**
+ * Runtime numbers for a {@link Dispatcher}: how many tasks are waiting and how much room is left for more, how many
+ * tasks have been submitted, completed, failed and evicted, and how long tasks wait in the queue and take to run. Every
+ * submitted task is eventually counted as completed, failed or evicted.
+ * <p/>
+ * The counts are exact. Reading the clock costs more than dispatching a task does, so only a sample of the tasks are
+ * timed: one in every 16 submitted by each thread by default, or as set by the {@literal
+ * reactor.dispatcher.metrics.sample} system property or {@link #setSampleRate(int)}. Times are in nanoseconds. A task's
+ * queue wait runs from when it's submitted to when the dispatcher starts running it, and its execution time covers all
+ * of its consumers plus its completion consumer.
+ *
+ * @author Jon Brisbin
+ */
+public abstract class DispatcherMetrics {
+
+	/**
+	 * The remaining capacity of a dispatcher that never runs out of room.
+	 */
+	public static final long UNBOUNDED = Long.MAX_VALUE;
+
+	private static final int DEFAULT_SAMPLE_RATE = Integer.getInteger("reactor.dispatcher.metrics.sample", 16);
+
+	private final    Counter            submitted      = new Counter();
+	private final    Counter            completed      = new Counter();
+	private final    Counter            failed         = new Counter();
+	private final    Counter            evicted        = new Counter();
+	private final    Histogram          queueWaitTimes = new Histogram();
+	private final    Histogram          executionTimes = new Histogram();
+	private volatile int                sampleMask     = maskFor(DEFAULT_SAMPLE_RATE);
+	// Each submitting thread counts its own tasks, so choosing which to time doesn't contend on a shared counter. Not
+	// shared between dispatchers, or a thread alternating between two could only ever time the tasks of one.
+	private final    ThreadLocal<int[]> sampleTicks    = new ThreadLocal<int[]>() {
+		@Override
+		protected int[] initialValue() {
+			return new int[1];
+		}
+	};
+
+	/**
+	 * The number of tasks that have been submitted but haven't started running yet.
+	 *
+	 * @return The number of waiting tasks.
+	 */
+	public abstract long getBacklog();
+
+	/**
+	 * The number of tasks that can be handed out right now without waiting.
+	 *
+	 * @return The remaining capacity, or {@link #UNBOUNDED}.
+	 */
+	public abstract long getRemainingCapacity();
+
+	/**
+	 * The number of tasks that have been submitted.
+	 *
+	 * @return The number of submitted tasks.
+	 */
+	public long getSubmittedCount() {
+		return submitted.get();
+	}
+
+	/**
+	 * The number of tasks that have run without their consumers throwing an exception.
+	 *
+	 * @return The number of completed tasks.
+	 */
+	public long getCompletedCount() {
+		return completed.get();
+	}
+
+	/**
+	 * The number of tasks whose consumers threw an exception.
+	 *
+	 * @return The number of failed tasks.
+	 */
+	public long getFailedCount() {
+		return failed.get();
+	}
+
+	/**
+	 * The number of tasks that were taken back out of the queue by {@link Dispatcher#evictOldestTask()} without running.
+	 *
+	 * @return The number of evicted tasks.
+	 */
+	public long getEvictedCount() {
+		return evicted.get();
+	}
+
+	/**
+	 * The time tasks spent waiting between being submitted and starting to run.
+	 *
+	 * @return The queue wait times, in nanoseconds.
+	 */
+	public Histogram getQueueWaitTimes() {
+		return queueWaitTimes;
+	}
+
+	/**
+	 * The time tasks took to run.
+	 *
+	 * @return The execution times, in nanoseconds.
+	 */
+	public Histogram getExecutionTimes() {
+		return executionTimes;
+	}
+
+	/**
+	 * Time one in every {@code rate} tasks.
+	 *
+	 * @param rate How many tasks to count for every one that is timed. Rounded up to a power of 2. 1 times every task.
+	 * @return {@literal this}
+	 */
+	public DispatcherMetrics setSampleRate(int rate) {
+		sampleMask = maskFor(rate);
+		return this;
+	}
+
+	/**
+	 * How many tasks are counted for every one that is timed.
+	 *
+	 * @return The sample rate.
+	 */
+	public int getSampleRate() {
+		return sampleMask + 1;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{" +
+				"backlog=" + getBacklog() +
+				", remainingCapacity=" + getRemainingCapacity() +
+				", submitted=" + getSubmittedCount() +
+				", completed=" + getCompletedCount() +
+				", failed=" + getFailedCount() +
+				", evicted=" + getEvictedCount() +
+				", queueWaitTimes=" + getQueueWaitTimes() +
+				", executionTimes=" + getExecutionTimes() +
+				'}';
+	}
+
+	void submitted(Task<?> task) {
+		submitted.increment();
+		// A task that isn't timed is marked with 0
+		task.submittedAt = ((++sampleTicks.get()[0] & sampleMask) == 0 ? System.nanoTime() : 0);
+	}
+
+	long started(Task<?> task) {
+		if (task.submittedAt == 0) {
+			return 0;
+		}
+		long now = System.nanoTime();
+		queueWaitTimes.record(now - task.submittedAt);
+		return now;
+	}
+
+	void finished(long startedAt, boolean succeeded) {
+		if (startedAt != 0) {
+			executionTimes.record(System.nanoTime() - startedAt);
+		}
+		if (succeeded) {
+			completed.increment();
+		} else {
+			failed.increment();
+		}
+	}
+
+	void evicted() {
+		evicted.increment();
+	}
+
+	private static int maskFor(int rate) {
+		Assert.isTrue(rate > 0, "Sample rate must be greater than 0.");
+		int size = Integer.highestOneBit(rate);
+		return (size < rate ? size << 1 : size) - 1;
+	}
+
+}
@@ -0,0 +1,346 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package reactor.fn.dispatch;
+
+import reactor.fn.*;
+import reactor.support.Assert;
+import reactor.support.QueueFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementation of {@link Dispatcher} that keeps the tasks for each key in order while running the tasks for different
+ * keys in parallel.
+ * <p/>
+ * Each task's key is hashed onto one of a fixed set of lanes. Each lane is run by its own thread, so the tasks for a
+ * key run one at a time, in the order they were submitted. The key is the value of the given event header if one is
+ * configured and the event has it, otherwise the object of the task's {@link Selector}.
+ * <p/>
+ * The lanes share a fixed number of tasks, created up front. Once they are all queued or running, producers wait for
+ * one to finish, or apply the {@link reactor.core.Reactor.OverflowPolicy} of their {@link reactor.core.Reactor}, so a
+ * hot or slow key can hold up the other keys but can't grow the queues without bound.
+ *
+ * @author Jon Brisbin
+ */
+public class LaneDispatcher implements Dispatcher {
+
+	private final String                 keyHeader;
+	private final Lane[]                 lanes;
+	private final BlockingQueue<Task<?>> readyTasks;
+	private final DispatcherMetrics      metrics = new DispatcherMetrics() {
+		@Override
+		public long getBacklog() {
+			long backlog = 0;
+			for (Lane lane : lanes) {
+				backlog += lane.taskQueue.size();
+			}
+			return backlog;
+		}
+
+		@Override
+		public long getRemainingCapacity() {
+			return readyTasks.size();
+		}
+	};
+	private volatile ConsumerInvoker invoker = new ConverterAwareConsumerInvoker();
+	private volatile boolean         alive   = false;
+
+	/**
+	 * Create a {@literal LaneDispatcher} that keys tasks by their {@link Selector}.
+	 *
+	 * @param name    The name of the dispatcher, used to name its threads.
+	 * @param lanes   The number of lanes, each of which is run by one thread.
+	 * @param backlog The number of tasks that can be queued or running, across all of the lanes.
+	 */
+	public LaneDispatcher(String name, int lanes, int backlog) {
+		this(name, lanes, backlog, null);
+	}
+
+	/**
+	 * Create a {@literal LaneDispatcher} that keys tasks by the given event header, or by their {@link Selector} if the
+	 * event doesn't have that header.
+	 *
+	 * @param name      The name of the dispatcher, used to name its threads.
+	 * @param lanes     The number of lanes, each of which is run by one thread.
+	 * @param backlog   The number of tasks that can be queued or running, across all of the lanes.
+	 * @param keyHeader The name of the event header that holds the key. May be {@literal null}.
+	 */
+	public LaneDispatcher(String name, int lanes, int backlog, String keyHeader) {
+		Assert.isTrue(lanes > 0, "Lanes must be greater than 0.");
+		Assert.isTrue(backlog > 0, "Backlog must be greater than 0.");
+		this.keyHeader = keyHeader;
+		this.lanes = new Lane[lanes];
+		for (int i = 0; i < lanes; i++) {
+			this.lanes[i] = new Lane(name + "-lane-" + i);
+		}
+		this.readyTasks = QueueFactory.createQueue();
+		for (int i = 0; i < backlog; i++) {
+			this.readyTasks.add(new LaneTask());
+		}
+		this.start();
+	}
+
+	@Override
+	public ConsumerInvoker getConsumerInvoker() {
+		return invoker;
+	}
+
+	@Override
+	public LaneDispatcher setConsumerInvoker(ConsumerInvoker consumerInvoker) {
+		this.invoker = consumerInvoker;
+		return this;
+	}
+
+	@Override
+	@SuppressWarnings({"unchecked"})
+	public <T> Task<T> nextTask() {
+		// An extra task would lift the bound for good, so wait through interrupts and pass them on afterwards
+		boolean interrupted = false;
+		Task<?> t;
+		while (true) {
+			try {
+				t = readyTasks.take();
+				break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		return (Task<T>) t;
+	}
+
+	@Override
+	@SuppressWarnings({"unchecked"})
+	public <T> Task<T> tryNextTask() {
+		return (Task<T>) readyTasks.poll();
+	}
+
+	@Override
+	public <T> Task<T> evictOldestTask() {
+		// A lane's tasks have to run in order, so none are taken back
+		return null;
+	}
+
+	@Override
+	@SuppressWarnings({"unchecked"})
+	public <T> TaskBatch<T> nextTasks(int size) {
+		Assert.isTrue(size > 0, "Size must be greater than 0.");
+		List<Task<T>> tasks = new ArrayList<Task<T>>(Math.min(size, 64));
+		tasks.add(this.<T>nextTask());
+		// Only wait for the first task. Waiting for the rest could wait forever if the batch is bigger than the backlog.
+		Task<?> t;
+		while (tasks.size() < size && null != (t = readyTasks.poll())) {
+			tasks.add((Task<T>) t);
+		}
+		return new ArrayTaskBatch<T>(tasks.toArray((Task<T>[]) new Task<?>[tasks.size()]));
+	}
+
+	@Override
+	public DispatcherMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * The number of lanes.
+	 *
+	 * @return The number of lanes.
+	 */
+	public int getLaneCount() {
+		return lanes.length;
+	}
+
+	/**
+	 * The number of tasks that have been submitted to the given lane but haven't finished running yet.
+	 *
+	 * @param lane The index of the lane.
+	 * @return The depth of the lane.
+	 */
+	public int getLaneDepth(int lane) {
+		return lanes[lane].depth.get();
+	}
+
+	/**
+	 * The greatest depth the given lane has reached.
+	 *
+	 * @param lane The index of the lane.
+	 * @return The greatest depth of the lane.
+	 */
+	public int getMaxLaneDepth(int lane) {
+		return lanes[lane].maxDepth.get();
+	}
+
+	/**
+	 * The index of the lane that tasks with the given key are run on.
+	 *
+	 * @param key The key.
+	 * @return The index of the lane.
+	 */
+	public int laneFor(Object key) {
+		int h = (null != key ? key.hashCode() : 0);
+		h ^= (h >>> 16);
+		return (h & Integer.MAX_VALUE) % lanes.length;
+	}
+
+	@Override
+	public synchronized Lifecycle destroy() {
+		return stop();
+	}
+
+	/**
+	 * Stop every lane's thread and wait for it to finish the task it is running, unless called from one of the lanes.
+	 * Tasks that are still queued are kept and run once the dispatcher is started again.
+	 *
+	 * @return {@literal this}
+	 */
+	@Override
+	public synchronized Lifecycle stop() {
+		if (alive) {
+			for (Lane lane : lanes) {
+				lane.stop();
+			}
+			// A restarted lane must never have two threads taking its tasks
+			for (Lane lane : lanes) {
+				lane.join();
+			}
+			alive = false;
+		}
+		return this;
+	}
+
+	@Override
+	public synchronized Lifecycle start() {
+		if (!alive) {
+			for (Lane lane : lanes) {
+				lane.start();
+			}
+			alive = true;
+		}
+		return this;
+	}
+
+	@Override
+	public boolean isAlive() {
+		return alive;
+	}
+
+	private Object keyOf(Task<?> t) {
+		if (null != keyHeader && null != t.getEvent()) {
+			String key = t.getEvent().getHeader(keyHeader);
+			if (null != key) {
+				return key;
+			}
+		}
+		return (null != t.getSelector() ? t.getSelector().getObject() : null);
+	}
+
+	private class LaneTask extends Task<Object> {
+		@Override
+		public void submit() {
+			metrics.submitted(this);
+			lanes[laneFor(keyOf(this))].add(this);
+		}
+	}
+
+	private class Lane {
+		private final String                 name;
+		private final BlockingQueue<Task<?>> taskQueue = QueueFactory.createQueue();
+		private final AtomicInteger          depth     = new AtomicInteger();
+		private final AtomicInteger          maxDepth  = new AtomicInteger();
+		// A thread can only be started once, so every start gets a new one. Guarded by the dispatcher.
+		private       LaneThread             thread;
+
+		private Lane(String name) {
+			this.name = name;
+		}
+
+		private void start() {
+			thread = new LaneThread(this);
+			thread.start();
+		}
+
+		private void stop() {
+			thread.stopped = true;
+			thread.interrupt();
+		}
+
+		private void join() {
+			if (thread == Thread.currentThread()) {
+				return;
+			}
+			boolean interrupted = false;
+			while (true) {
+				try {
+					thread.join();
+					break;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		private void add(Task<?> t) {
+			int d = depth.incrementAndGet();
+			int max = maxDepth.get();
+			while (d > max && !maxDepth.compareAndSet(max, d)) {
+				max = maxDepth.get();
+			}
+			taskQueue.add(t);
+		}
+	}
+
+	private class LaneThread extends Thread {
+		private final    Lane    lane;
+		private volatile boolean stopped;
+
+		private LaneThread(Lane lane) {
+			super(lane.name);
+			this.lane = lane;
+			setDaemon(true);
+		}
+
+		@Override
+		public void run() {
+			// Only stopping ends the loop: an interrupt from a consumer, or one that a consumer swallowed, doesn't
+			while (!stopped) {
+				Task<?> t;
+				try {
+					t = lane.taskQueue.take();
+				} catch (InterruptedException e) {
+					continue;
+				}
+
+				try {
+					t.execute(invoker, metrics);
+				} finally {
+					lane.depth.decrementAndGet();
+					t.reset();
+					readyTasks.add(t);
+				}
+			}
+		}
+	}
+
+}
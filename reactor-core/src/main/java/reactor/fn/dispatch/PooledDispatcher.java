@@ -22,6 +22,7 @@ import reactor.fn.ConsumerInvoker;
 import reactor.fn.ConverterAwareConsumerInvoker;
 import reactor.fn.Lifecycle;
 import reactor.fn.Linkable;
+import reactor.support.Histogram;
 
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -36,6 +37,100 @@ public class PooledDispatcher implements Dispatcher {
 	private final AtomicLong nextDispatcher = new AtomicLong();
 	private final int          poolSize;
 	private final Dispatcher[] dispatchers;
+	// The sum of the pooled dispatchers' metrics, plus those of the tasks run in the pool's place by a CallerRunsTask
+	private final DispatcherMetrics metrics = new DispatcherMetrics() {
+		@Override
+		public long getBacklog() {
+			long backlog = 0;
+			for (Dispatcher d : dispatchers) {
+				backlog += d.getMetrics().getBacklog();
+			}
+			return backlog;
+		}
+
+		@Override
+		public long getRemainingCapacity() {
+			long remaining = 0;
+			for (Dispatcher d : dispatchers) {
+				long l = d.getMetrics().getRemainingCapacity();
+				if (l == UNBOUNDED) {
+					return UNBOUNDED;
+				}
+				remaining += l;
+			}
+			return remaining;
+		}
+
+		@Override
+		public long getSubmittedCount() {
+			long count = super.getSubmittedCount();
+			for (Dispatcher d : dispatchers) {
+				count += d.getMetrics().getSubmittedCount();
+			}
+			return count;
+		}
+
+		@Override
+		public long getCompletedCount() {
+			long count = super.getCompletedCount();
+			for (Dispatcher d : dispatchers) {
+				count += d.getMetrics().getCompletedCount();
+			}
+			return count;
+		}
+
+		@Override
+		public long getFailedCount() {
+			long count = super.getFailedCount();
+			for (Dispatcher d : dispatchers) {
+				count += d.getMetrics().getFailedCount();
+			}
+			return count;
+		}
+
+		@Override
+		public long getEvictedCount() {
+			long count = super.getEvictedCount();
+			for (Dispatcher d : dispatchers) {
+				count += d.getMetrics().getEvictedCount();
+			}
+			return count;
+		}
+
+		@Override
+		public Histogram getQueueWaitTimes() {
+			Histogram h = new Histogram();
+			h.add(super.getQueueWaitTimes());
+			for (Dispatcher d : dispatchers) {
+				h.add(d.getMetrics().getQueueWaitTimes());
+			}
+			return h;
+		}
+
+		@Override
+		public Histogram getExecutionTimes() {
+			Histogram h = new Histogram();
+			h.add(super.getExecutionTimes());
+			for (Dispatcher d : dispatchers) {
+				h.add(d.getMetrics().getExecutionTimes());
+			}
+			return h;
+		}
+
+		@Override
+		public int getSampleRate() {
+			return dispatchers[0].getMetrics().getSampleRate();
+		}
+
+		@Override
+		public DispatcherMetrics setSampleRate(int rate) {
+			super.setSampleRate(rate);
+			for (Dispatcher d : dispatchers) {
+				d.getMetrics().setSampleRate(rate);
+			}
+			return this;
+		}
+	};
 	private volatile ConsumerInvoker invoker = new ConverterAwareConsumerInvoker();
 
 	@SuppressWarnings({"unchecked"})
@@ -61,6 +156,56 @@ public class PooledDispatcher implements Dispatcher {
 		return dispatchers[(int) (nextDispatcher.incrementAndGet() % poolSize)].nextTask();
 	}
 
+	@Override
+	public <T> Task<T> tryNextTask() {
+		// Only give up if every dispatcher in the pool is saturated
+		int start = (int) (nextDispatcher.incrementAndGet() % poolSize);
+		for (int i = 0; i < poolSize; i++) {
+			Task<T> t = dispatchers[(start + i) % poolSize].tryNextTask();
+			if (null != t) {
+				return t;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public <T> Task<T> evictOldestTask() {
+		int start = (int) (nextDispatcher.incrementAndGet() % poolSize);
+		for (int i = 0; i < poolSize; i++) {
+			Task<T> t = dispatchers[(start + i) % poolSize].evictOldestTask();
+			if (null != t) {
+				return t;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public <T> TaskBatch<T> nextTasks(int size) {
+		return dispatchers[(int) (nextDispatcher.incrementAndGet() % poolSize)].nextTasks(size);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * The metrics of a {@literal PooledDispatcher} add up those of the pooled dispatchers. The histograms returned are
+	 * copies taken when they're asked for.
+	 */
+	@Override
+	public DispatcherMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * The dispatchers in this pool, e.g. to compare their {@link #getMetrics() metrics}.
+	 *
+	 * @return A copy of the pooled dispatchers.
+	 */
+	public Dispatcher[] getDispatchers() {
+		return dispatchers.clone();
+	}
+
 	@Override
 	public Lifecycle destroy() {
 		for (Dispatcher dispatcher : dispatchers) {
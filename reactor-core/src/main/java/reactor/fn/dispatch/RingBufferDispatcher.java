@@ -24,13 +24,20 @@ import com.lmax.disruptor.dsl.ProducerType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.fn.*;
+import reactor.support.Assert;
 import reactor.support.NamedDaemonThreadFactory;
 
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Implementation of a {@link Dispatcher} that uses a <a href="http://github.com/lmax-exchange/disruptor">Disruptor
  * RingBuffer</a> to queue tasks to execute.
+ * <p/>
+ * By default the ring buffer is consumed by a single thread. A {@link ConsumerMode} can be given to have it consumed by
+ * a pool of threads instead, either with no ordering guarantees or with tasks for the same {@link Selector} kept in
+ * order.
  *
  * @author Jon Brisbin
  * @author Stephane Maldini
@@ -40,14 +47,63 @@ public class RingBufferDispatcher implements Dispatcher {
 	private final static Logger LOG = LoggerFactory.getLogger(RingBufferDispatcher.class);
 	private final    RingBuffer<RingBufferTask> ringBuffer;
 	private final    Disruptor<RingBufferTask>  disruptor;
+	private final    ExecutorService            executor;
+	private final    ConsumerMode               consumerMode;
+	private final    int                        poolSize;
+	private final    DispatcherMetrics          metrics = new DispatcherMetrics() {
+		@Override
+		public long getBacklog() {
+			// Counts every slot that hasn't been released yet, including the ones being run
+			return ringBuffer.getBufferSize() - ringBuffer.remainingCapacity();
+		}
+
+		@Override
+		public long getRemainingCapacity() {
+			return ringBuffer.remainingCapacity();
+		}
+	};
 	private volatile ConsumerInvoker            invoker;
 
-	@SuppressWarnings({"unchecked"})
+	/**
+	 * Create a {@literal RingBufferDispatcher} whose ring buffer is consumed by a single thread.
+	 *
+	 * @param name         The name of the dispatcher, used to name its threads.
+	 * @param poolSize     The number of threads in the executor that runs the consumer.
+	 * @param backlog      The size of the ring buffer.
+	 * @param producerType Whether one or many threads will submit tasks.
+	 * @param waitStrategy The strategy used by the consumer to wait for tasks.
+	 */
 	public RingBufferDispatcher(String name,
 															int poolSize,
 															int backlog,
 															ProducerType producerType,
 															WaitStrategy waitStrategy) {
+		this(name, poolSize, backlog, producerType, waitStrategy, ConsumerMode.SINGLE_THREAD);
+	}
+
+	/**
+	 * Create a {@literal RingBufferDispatcher} whose ring buffer is consumed as described by the given {@link
+	 * ConsumerMode}.
+	 *
+	 * @param name         The name of the dispatcher, used to name its threads.
+	 * @param poolSize     The number of threads consuming the ring buffer.
+	 * @param backlog      The size of the ring buffer.
+	 * @param producerType Whether one or many threads will submit tasks.
+	 * @param waitStrategy The strategy used by the consumers to wait for tasks.
+	 * @param consumerMode How tasks are shared between the consuming threads.
+	 */
+	@SuppressWarnings({"unchecked"})
+	public RingBufferDispatcher(String name,
+															int poolSize,
+															int backlog,
+															ProducerType producerType,
+															WaitStrategy waitStrategy,
+															ConsumerMode consumerMode) {
+		Assert.isTrue(poolSize > 0, "Pool size must be greater than 0.");
+		Assert.notNull(consumerMode, "ConsumerMode cannot be null.");
+		this.consumerMode = consumerMode;
+		this.poolSize = poolSize;
+		this.executor = Executors.newFixedThreadPool(poolSize, new NamedDaemonThreadFactory(name + "-dispatcher"));
 		disruptor = new Disruptor<RingBufferTask>(
 				new EventFactory<RingBufferTask>() {
 					@Override
@@ -56,12 +112,11 @@ public class RingBufferDispatcher implements Dispatcher {
 					}
 				},
 				backlog,
-				Executors.newFixedThreadPool(poolSize, new NamedDaemonThreadFactory(name + "-dispatcher")),
+				executor,
 				producerType,
 				waitStrategy
 		);
 
-		disruptor.handleEventsWith(new RingBufferTaskHandler());
 		disruptor.handleExceptionsWith(
 				new ExceptionHandler() {
 					@Override
@@ -84,6 +139,24 @@ public class RingBufferDispatcher implements Dispatcher {
 					}
 				}
 		);
+		switch (consumerMode) {
+			case WORKER_POOL:
+				WorkHandler<RingBufferTask>[] workers = (WorkHandler<RingBufferTask>[]) new WorkHandler<?>[poolSize];
+				for (int i = 0; i < poolSize; i++) {
+					workers[i] = new RingBufferTaskWorker();
+				}
+				disruptor.handleEventsWithWorkerPool(workers);
+				break;
+			case SELECTOR_ORDERED:
+				EventHandler<RingBufferTask>[] lanes = (EventHandler<RingBufferTask>[]) new EventHandler<?>[poolSize];
+				for (int i = 0; i < poolSize; i++) {
+					lanes[i] = new RingBufferTaskHandler(i);
+				}
+				disruptor.handleEventsWith(lanes);
+				break;
+			default:
+				disruptor.handleEventsWith(new RingBufferTaskHandler(-1));
+		}
 		ringBuffer = disruptor.start();
 
 		invoker = new ConverterAwareConsumerInvoker();
@@ -109,9 +182,53 @@ public class RingBufferDispatcher implements Dispatcher {
 		return (Task<T>) t;
 	}
 
+	@Override
+	@SuppressWarnings({"unchecked"})
+	public <T> Task<T> tryNextTask() {
+		long l;
+		try {
+			l = ringBuffer.tryNext();
+		} catch (InsufficientCapacityException e) {
+			return null;
+		}
+		RingBufferTask t = ringBuffer.get(l);
+		t.setSequenceId(l);
+		return (Task<T>) t;
+	}
+
+	@Override
+	public <T> Task<T> evictOldestTask() {
+		// Once a slot is published the consumers will run it, it can't be taken back
+		return null;
+	}
+
+	@Override
+	public <T> TaskBatch<T> nextTasks(int size) {
+		Assert.isTrue(size > 0, "Size must be greater than 0.");
+		size = Math.min(size, ringBuffer.getBufferSize());
+		// One claim for the whole range, so concurrent producers never hold slots the other needs to wrap onto
+		long hi = ringBuffer.next(size);
+		return new RingBufferTaskBatch<T>(hi - (size - 1), size);
+	}
+
+	@Override
+	public DispatcherMetrics getMetrics() {
+		return metrics;
+	}
+
 	@Override
 	public Lifecycle destroy() {
 		disruptor.shutdown();
+		executor.shutdown();
+		try {
+			// A processor halted before its thread got to run clears the alert and waits forever, so keep halting until
+			// every thread has exited.
+			while (!executor.awaitTermination(10, TimeUnit.MILLISECONDS)) {
+				disruptor.halt();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
 		return this;
 	}
 
@@ -134,33 +251,161 @@ public class RingBufferDispatcher implements Dispatcher {
 
 	private class RingBufferTask extends Task<Object> {
 		private long sequenceId;
+		// Not cleared by reset(): every lane reads it, even after the lane that runs the task has reset it
+		private int  lane;
 
 		private RingBufferTask setSequenceId(long sequenceId) {
 			this.sequenceId = sequenceId;
 			return this;
 		}
 
+		private void assignLane() {
+			if (consumerMode == ConsumerMode.SELECTOR_ORDERED) {
+				Object key = (null != getSelector() ? getSelector().getObject() : null);
+				int h = (null != key ? key.hashCode() : 0);
+				h ^= (h >>> 16);
+				lane = (h & Integer.MAX_VALUE) % poolSize;
+			}
+		}
+
 		@Override
 		public void submit() {
+			metrics.submitted(this);
+			assignLane();
 			ringBuffer.publish(sequenceId);
 		}
 	}
 
-	private class RingBufferTaskHandler implements EventHandler<RingBufferTask> {
+	private class RingBufferTaskBatch<T> extends TaskBatch<T> {
+		private final long lo;
+		private final int  size;
+
+		private RingBufferTaskBatch(long lo, int size) {
+			this.lo = lo;
+			this.size = size;
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
 		@Override
 		@SuppressWarnings({"unchecked"})
+		public Task<T> get(int index) {
+			Assert.isTrue(index >= 0 && index < size, "Index " + index + " is out of bounds.");
+			long l = lo + index;
+			return (Task<T>) ringBuffer.get(l).setSequenceId(l);
+		}
+
+		@Override
+		public void submit() {
+			long hi = lo + size - 1;
+			for (long l = lo; l <= hi; l++) {
+				RingBufferTask t = ringBuffer.get(l);
+				metrics.submitted(t);
+				t.assignLane();
+			}
+			// One publish, so the wait strategy signals the consumers once for the whole batch
+			ringBuffer.publish(lo, hi);
+		}
+	}
+
+	private class RingBufferTaskHandler implements EventHandler<RingBufferTask> {
+		private final int lane;
+
+		private RingBufferTaskHandler(int lane) {
+			this.lane = lane;
+		}
+
+		@Override
 		public void onEvent(RingBufferTask t, long sequence, boolean endOfBatch) throws Exception {
-			for (Registration<? extends Consumer<? extends Event<?>>> reg : t.getConsumerRegistry().select(t.getSelector())) {
-				if (reg.isCancelled() || reg.isPaused()) {
-					continue;
-				}
-				invoker.invoke(reg.getObject(), t.getConverter(), Void.TYPE, t.getEvent());
-				if (reg.isCancelAfterUse()) {
-					reg.cancel();
-				}
+			if (lane < 0 || lane == t.lane) {
+				execute(t);
 			}
-			if (null != t.getCompletionConsumer()) {
-				invoker.invoke(t.getCompletionConsumer(), t.getConverter(), Void.TYPE, t.getEvent());
+		}
+	}
+
+	private class RingBufferTaskWorker implements WorkHandler<RingBufferTask> {
+		@Override
+		public void onEvent(RingBufferTask t) throws Exception {
+			execute(t);
+		}
+	}
+
+	private void execute(RingBufferTask t) {
+		try {
+			t.execute(invoker, metrics);
+		} finally {
+			// Don't keep the event reachable from the ring buffer until the slot is reused
+			t.reset();
+		}
+	}
+
+	/**
+	 * How the tasks in a {@link RingBufferDispatcher}'s ring buffer are shared between the threads consuming it.
+	 */
+	public enum ConsumerMode {
+		/**
+		 * One thread runs every task, in the order they were submitted.
+		 */
+		SINGLE_THREAD,
+		/**
+		 * Each task is run by exactly one thread of the pool, whichever is free. Tasks run in no particular order.
+		 */
+		WORKER_POOL,
+		/**
+		 * Each task is run by a thread chosen by hashing its {@link Selector}'s object, so tasks for the same selector run
+		 * one at a time, in the order they were submitted, while tasks for other selectors run in parallel.
+		 */
+		SELECTOR_ORDERED
+	}
+
+	/**
+	 * The {@link WaitStrategy}s a {@link RingBufferDispatcher}'s consumers can use to wait for tasks, so one can be chosen
+	 * by name from configuration.
+	 */
+	public enum WaitMode {
+		/**
+		 * Block on a lock and condition. Lowest CPU use, but every publish takes the lock to wake the consumer.
+		 */
+		BLOCKING,
+		/**
+		 * Spin briefly, then sleep for short periods.
+		 */
+		SLEEPING,
+		/**
+		 * Spin, then yield. Low latency, but keeps a core busy while idle unless other threads want it.
+		 */
+		YIELDING,
+		/**
+		 * Spin without pause. Lowest latency, but burns a core even when idle.
+		 */
+		BUSY_SPIN,
+		/**
+		 * Spin, then yield, then block, for as long as recent gaps between tasks suggest is worth it.
+		 *
+		 * @see AdaptiveWaitStrategy
+		 */
+		ADAPTIVE;
+
+		/**
+		 * Create a new {@link WaitStrategy} of this kind. Strategies keep state, so each dispatcher needs its own.
+		 *
+		 * @return A new {@link WaitStrategy}.
+		 */
+		public WaitStrategy createWaitStrategy() {
+			switch (this) {
+				case SLEEPING:
+					return new SleepingWaitStrategy();
+				case YIELDING:
+					return new YieldingWaitStrategy();
+				case BUSY_SPIN:
+					return new BusySpinWaitStrategy();
+				case ADAPTIVE:
+					return new AdaptiveWaitStrategy();
+				default:
+					return new BlockingWaitStrategy();
 			}
 		}
 	}
@@ -18,9 +18,8 @@
 
 package reactor.fn.dispatch;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import reactor.fn.*;
+import reactor.support.Assert;
 
 /**
  * @author Jon Brisbin
@@ -28,8 +27,18 @@ import reactor.fn.*;
  */
 public class SynchronousDispatcher implements Dispatcher {
 
-	private static final Logger          LOG     = LoggerFactory.getLogger(SynchronousDispatcher.class);
-	private volatile     ConsumerInvoker invoker = new ConverterAwareConsumerInvoker();
+	private final    DispatcherMetrics metrics = new DispatcherMetrics() {
+		@Override
+		public long getBacklog() {
+			return 0;
+		}
+
+		@Override
+		public long getRemainingCapacity() {
+			return UNBOUNDED;
+		}
+	};
+	private volatile ConsumerInvoker   invoker = new ConverterAwareConsumerInvoker();
 
 	@Override
 	public ConsumerInvoker getConsumerInvoker() {
@@ -48,6 +57,33 @@ public class SynchronousDispatcher implements Dispatcher {
 		return (Task<T>) new SyncTask();
 	}
 
+	@Override
+	public <T> Task<T> tryNextTask() {
+		return nextTask();
+	}
+
+	@Override
+	public <T> Task<T> evictOldestTask() {
+		// Tasks run as soon as they're submitted, so none are ever waiting
+		return null;
+	}
+
+	@Override
+	@SuppressWarnings({"unchecked"})
+	public <T> TaskBatch<T> nextTasks(int size) {
+		Assert.isTrue(size > 0, "Size must be greater than 0.");
+		Task<T>[] tasks = (Task<T>[]) new Task<?>[size];
+		for (int i = 0; i < size; i++) {
+			tasks[i] = (Task<T>) new SyncTask();
+		}
+		return new ArrayTaskBatch<T>(tasks);
+	}
+
+	@Override
+	public DispatcherMetrics getMetrics() {
+		return metrics;
+	}
+
 	@Override
 	public Lifecycle destroy() {
 		return this;
@@ -71,24 +107,11 @@ public class SynchronousDispatcher implements Dispatcher {
 	private class SyncTask extends Task<Object> {
 		@Override
 		public void submit() {
+			metrics.submitted(this);
 			try {
-				for (Registration<? extends Consumer<? extends Event<?>>> reg : getConsumerRegistry().select(getSelector())) {
-					if (reg.isCancelled() || reg.isPaused()) {
-						continue;
-					}
-					invoker.invoke(reg.getObject(), getConverter(), Void.TYPE, getEvent());
-					if (reg.isCancelAfterUse()) {
-						reg.cancel();
-					}
-				}
-				if (null != getCompletionConsumer()) {
-					invoker.invoke(getCompletionConsumer(), getConverter(), Void.TYPE, getEvent());
-				}
-			} catch (Throwable x) {
-				LOG.error(x.getMessage(), x);
-				if (null != getErrorConsumer()) {
-					getErrorConsumer().accept(x);
-				}
+				execute(invoker, metrics);
+			} finally {
+				reset();
 			}
 		}
 	}
@@ -18,9 +18,13 @@
 
 package reactor.fn.dispatch;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import reactor.convert.Converter;
 import reactor.fn.Consumer;
+import reactor.fn.ConsumerInvoker;
 import reactor.fn.Event;
+import reactor.fn.Registration;
 import reactor.fn.Registry;
 import reactor.fn.Selector;
 
@@ -33,12 +37,16 @@ import reactor.fn.Selector;
  */
 public abstract class Task<T> {
 
+	private static final Logger LOG = LoggerFactory.getLogger(Task.class);
+
 	private Selector                               selector;
 	private Registry<Consumer<? extends Event<?>>> consumerRegistry;
 	private Event<T>                               event;
 	private Converter                              converter;
 	private Consumer<Event<T>>                     completionConsumer;
 	private Consumer<Throwable>                    errorConsumer;
+	// Set by the dispatcher's metrics when the task is submitted
+	long submittedAt;
 
 	public Selector getSelector() {
 		return selector;
@@ -63,6 +71,10 @@ public abstract class Task<T> {
 	}
 
 	public Task<T> setEvent(Event<T> event) {
+		if (null != event) {
+			// Keeps a pooled event from being recycled before this task has run
+			event.retain();
+		}
 		this.event = event;
 		return this;
 	}
@@ -95,6 +107,9 @@ public abstract class Task<T> {
 	}
 
 	public void reset() {
+		if (null != event) {
+			event.release();
+		}
 		selector = null;
 		consumerRegistry = null;
 		event = null;
@@ -102,6 +117,44 @@ public abstract class Task<T> {
 		errorConsumer = null;
 	}
 
+	/**
+	 * Run this task on the calling thread: invoke each of the consumers selected for it that isn't cancelled or paused,
+	 * then its completion consumer. An error is logged and passed to the error consumer. The execution is recorded in
+	 * the given metrics, but the task isn't reset. A task that was never populated does nothing.
+	 *
+	 * @param invoker The {@link ConsumerInvoker} to invoke the consumers with.
+	 * @param metrics The {@link DispatcherMetrics} to record the execution in.
+	 */
+	@SuppressWarnings({"unchecked"})
+	void execute(ConsumerInvoker invoker, DispatcherMetrics metrics) {
+		long start = metrics.started(this);
+		boolean succeeded = false;
+		try {
+			if (null != consumerRegistry) {
+				for (Registration<? extends Consumer<? extends Event<?>>> reg : consumerRegistry.select(selector)) {
+					if (reg.isCancelled() || reg.isPaused()) {
+						continue;
+					}
+					invoker.invoke(reg.getObject(), converter, Void.TYPE, event);
+					if (reg.isCancelAfterUse()) {
+						reg.cancel();
+					}
+				}
+			}
+			if (null != completionConsumer) {
+				invoker.invoke(completionConsumer, converter, Void.TYPE, event);
+			}
+			succeeded = true;
+		} catch (Throwable x) {
+			LOG.error(x.getMessage(), x);
+			if (null != errorConsumer) {
+				errorConsumer.accept(x);
+			}
+		} finally {
+			metrics.finished(start, succeeded);
+		}
+	}
+
 	/**
 	 * Submit this task for execution. Implementations might block on this method if there is no room to queue this task
 	 * for execution.
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.fn.dispatch;
+
+/**
+ * A group of {@link Task}s that are claimed from a {@link Dispatcher} together and submitted together. Every task in
+ * the batch must be populated before the batch is submitted. The tasks' own {@link Task#submit()} must not be called.
+ *
+ * @param <T> The type of the events' data.
+ * @author Jon Brisbin
+ * @see Dispatcher#nextTasks(int)
+ */
+public abstract class TaskBatch<T> {
+
+	/**
+	 * The number of tasks in this batch.
+	 *
+	 * @return The number of tasks.
+	 */
+	public abstract int size();
+
+	/**
+	 * Get a task from this batch.
+	 *
+	 * @param index The index of the task, from {@literal 0} to {@link #size()} - 1.
+	 * @return The {@link Task}.
+	 */
+	public abstract Task<T> get(int index);
+
+	/**
+	 * Submit every task in this batch for execution.
+	 */
+	public abstract void submit();
+
+}
@@ -0,0 +1,457 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package reactor.fn.dispatch;
+
+import org.cliffc.high_scale_lib.Counter;
+import reactor.fn.*;
+import reactor.support.Assert;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Implementation of {@link Dispatcher} that runs tasks on a pool of threads that steal work from each other.
+ * <p/>
+ * Each worker has its own bounded deque. Tasks are spread over the workers' deques. A worker runs the tasks in its own
+ * deque oldest first, as a {@link java.util.concurrent.ForkJoinPool} in async mode does, since a task taken newest first
+ * could wait behind later tasks for as long as they keep coming. A worker whose deque is empty steals the oldest task
+ * from another worker's deque. Only when there is nothing to steal does it flag itself idle and park. Submitting a
+ * task hands it off to an idle worker, if there is one, by clearing the worker's flag and unparking it. The worker
+ * whose deque the task went to is preferred. So a slow task only holds up the tasks behind it until another worker
+ * comes looking for work. Tasks submitted from a worker thread go onto that worker's own deque.
+ * <p/>
+ * Tasks submitted by one thread run roughly in the order they were submitted, but tasks on different workers run in
+ * parallel, so there is no strict ordering.
+ *
+ * @author Jon Brisbin
+ */
+public class WorkStealingDispatcher implements Dispatcher {
+
+	private static final AtomicIntegerFieldUpdater<Worker> IDLE =
+			AtomicIntegerFieldUpdater.newUpdater(Worker.class, "idle");
+
+	private final Worker[]       workers;
+	private final Queue<Task<?>> readyTasks  = new ConcurrentLinkedQueue<Task<?>>();
+	private final AtomicInteger  nextWorker  = new AtomicInteger();
+	// Lets submitters skip looking for an idle worker while every worker is busy
+	private final AtomicInteger  idleWorkers = new AtomicInteger();
+	private final Counter        steals      = new Counter();
+	private final DispatcherMetrics metrics = new DispatcherMetrics() {
+		@Override
+		public long getBacklog() {
+			long backlog = 0;
+			for (Worker w : workers) {
+				backlog += w.deque.size();
+			}
+			return backlog;
+		}
+
+		@Override
+		public long getRemainingCapacity() {
+			long remaining = 0;
+			for (Worker w : workers) {
+				remaining += w.deque.remainingCapacity();
+			}
+			return remaining;
+		}
+	};
+	private volatile ConsumerInvoker invoker = new ConverterAwareConsumerInvoker();
+	private volatile boolean         alive   = false;
+
+	/**
+	 * Create a {@literal WorkStealingDispatcher}.
+	 *
+	 * @param name     The name of the dispatcher, used to name its threads.
+	 * @param poolSize The number of worker threads.
+	 * @param backlog  The number of tasks each worker's deque can hold. Submitting only blocks once every deque is full.
+	 */
+	public WorkStealingDispatcher(String name, int poolSize, int backlog) {
+		Assert.isTrue(poolSize > 0, "Pool size must be greater than 0.");
+		Assert.isTrue(backlog > 0, "Backlog must be greater than 0.");
+		this.workers = new Worker[poolSize];
+		for (int i = 0; i < poolSize; i++) {
+			workers[i] = new Worker(name + "-worker-" + i, i, new TaskDeque(backlog));
+		}
+		this.start();
+	}
+
+	@Override
+	public ConsumerInvoker getConsumerInvoker() {
+		return invoker;
+	}
+
+	@Override
+	public WorkStealingDispatcher setConsumerInvoker(ConsumerInvoker consumerInvoker) {
+		this.invoker = consumerInvoker;
+		return this;
+	}
+
+	@Override
+	@SuppressWarnings({"unchecked"})
+	public <T> Task<T> nextTask() {
+		Task<?> t = readyTasks.poll();
+		return (Task<T>) (null != t ? t : new WorkStealingTask());
+	}
+
+	@Override
+	public <T> Task<T> tryNextTask() {
+		// Tasks only wait when they're submitted, so check there's room for one first
+		for (Worker w : workers) {
+			if (w.deque.remainingCapacity() > 0) {
+				return nextTask();
+			}
+		}
+		return null;
+	}
+
+	@Override
+	@SuppressWarnings({"unchecked"})
+	public <T> Task<T> evictOldestTask() {
+		int start = nextWorker.get() & Integer.MAX_VALUE;
+		for (int i = 0; i < workers.length; i++) {
+			Task<?> t = workers[(start + i) % workers.length].deque.pollFirst();
+			if (null != t) {
+				metrics.evicted();
+				t.reset();
+				return (Task<T>) t;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	@SuppressWarnings({"unchecked"})
+	public <T> TaskBatch<T> nextTasks(int size) {
+		Assert.isTrue(size > 0, "Size must be greater than 0.");
+		Task<T>[] tasks = (Task<T>[]) new Task<?>[size];
+		for (int i = 0; i < size; i++) {
+			tasks[i] = nextTask();
+		}
+		return new ArrayTaskBatch<T>(tasks);
+	}
+
+	@Override
+	public DispatcherMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * The number of tasks that have been run by a worker other than the one they were submitted to.
+	 *
+	 * @return The number of stolen tasks.
+	 */
+	public long getSteals() {
+		return steals.get();
+	}
+
+	@Override
+	public synchronized Lifecycle destroy() {
+		return stop();
+	}
+
+	/**
+	 * Stop every worker's thread and wait for it to finish the task it is running, unless called from one of the workers.
+	 * Tasks that are still queued are kept and run once the dispatcher is started again.
+	 *
+	 * @return {@literal this}
+	 */
+	@Override
+	public synchronized Lifecycle stop() {
+		if (alive) {
+			for (Worker w : workers) {
+				w.stop();
+			}
+			// A restarted worker must never have two threads taking from its deque
+			for (Worker w : workers) {
+				w.join();
+			}
+			alive = false;
+		}
+		return this;
+	}
+
+	@Override
+	public synchronized Lifecycle start() {
+		if (!alive) {
+			for (Worker w : workers) {
+				w.start();
+			}
+			alive = true;
+		}
+		return this;
+	}
+
+	@Override
+	public boolean isAlive() {
+		return alive;
+	}
+
+	private void submit(Task<?> t) {
+		metrics.submitted(t);
+		Worker target = null;
+		Thread current = Thread.currentThread();
+		if (current instanceof WorkerThread && ((WorkerThread) current).dispatcher() == this) {
+			target = ((WorkerThread) current).worker;
+			if (!target.deque.offerLast(t)) {
+				// A worker mustn't block on its own full deque, since it's the one that has to drain it
+				execute(t);
+				return;
+			}
+		} else {
+			int start = nextWorker.getAndIncrement() & Integer.MAX_VALUE;
+			// Prefer a deque with room over waiting on a full one
+			for (int i = 0; i < workers.length && null == target; i++) {
+				Worker w = workers[(start + i) % workers.length];
+				if (w.deque.offerLast(t)) {
+					target = w;
+				}
+			}
+			if (null == target) {
+				target = workers[start % workers.length];
+				try {
+					target.deque.putLast(t);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("Interrupted while submitting a task", e);
+				}
+			}
+		}
+
+		if (idleWorkers.get() > 0 && !target.wake()) {
+			for (Worker w : workers) {
+				if (w.wake()) {
+					break;
+				}
+			}
+		}
+	}
+
+	private Task<?> steal(Worker thief) {
+		int start = (thief.index + 1) % workers.length;
+		for (int i = 0; i < workers.length; i++) {
+			Worker victim = workers[(start + i) % workers.length];
+			if (victim == thief) {
+				continue;
+			}
+			Task<?> t = victim.deque.pollFirst();
+			if (null != t) {
+				steals.increment();
+				return t;
+			}
+		}
+		return null;
+	}
+
+	private void execute(Task<?> t) {
+		try {
+			t.execute(invoker, metrics);
+		} finally {
+			t.reset();
+			readyTasks.add(t);
+		}
+	}
+
+	private class WorkStealingTask extends Task<Object> {
+		@Override
+		public void submit() {
+			WorkStealingDispatcher.this.submit(this);
+		}
+	}
+
+	/**
+	 * A bounded deque of tasks in a ring buffer. Tasks are added at the tail, while the owning worker, thieves and
+	 * evictions all take the oldest from the head. Tasks are submitted by other threads too, so it is guarded by its monitor,
+	 * which a submitter waits on while the deque is full.
+	 */
+	private static class TaskDeque {
+		private final Task<?>[] tasks;
+		private       int       head;
+		private       int       size;
+		private       int       waiting;
+
+		private TaskDeque(int capacity) {
+			this.tasks = new Task<?>[capacity];
+		}
+
+		private synchronized boolean offerLast(Task<?> t) {
+			if (size == tasks.length) {
+				return false;
+			}
+			tasks[(head + size) % tasks.length] = t;
+			size++;
+			return true;
+		}
+
+		private synchronized void putLast(Task<?> t) throws InterruptedException {
+			waiting++;
+			try {
+				while (size == tasks.length) {
+					wait();
+				}
+			} finally {
+				waiting--;
+			}
+			tasks[(head + size) % tasks.length] = t;
+			size++;
+		}
+
+		private synchronized Task<?> pollFirst() {
+			if (size == 0) {
+				return null;
+			}
+			Task<?> t = tasks[head];
+			tasks[head] = null;
+			head = (head + 1) % tasks.length;
+			size--;
+			removed();
+			return t;
+		}
+
+		private synchronized int size() {
+			return size;
+		}
+
+		private synchronized int remainingCapacity() {
+			return tasks.length - size;
+		}
+
+		private void removed() {
+			if (waiting > 0) {
+				notify();
+			}
+		}
+	}
+
+	private class Worker {
+		private final    String       name;
+		private final    int          index;
+		private final    TaskDeque    deque;
+		// 1 while the worker's thread is parked, or about to park, waiting for a task. Not private, for the updater.
+		volatile int idle;
+		// A thread can only be started once, so every start gets a new one. Replaced under the dispatcher's monitor.
+		private volatile WorkerThread thread;
+
+		private Worker(String name, int index, TaskDeque deque) {
+			this.name = name;
+			this.index = index;
+			this.deque = deque;
+		}
+
+		private Task<?> nextTask() {
+			Task<?> t = deque.pollFirst();
+			if (null == t) {
+				t = steal(this);
+			}
+			return t;
+		}
+
+		private void idle() {
+			idle = 1;
+			idleWorkers.incrementAndGet();
+		}
+
+		private void busy() {
+			if (IDLE.compareAndSet(this, 1, 0)) {
+				idleWorkers.decrementAndGet();
+			}
+		}
+
+		/**
+		 * Hand off to this worker if it's idle. Only one submitter can clear the flag, so only one wakes it.
+		 */
+		private boolean wake() {
+			if (idle == 1 && IDLE.compareAndSet(this, 1, 0)) {
+				idleWorkers.decrementAndGet();
+				LockSupport.unpark(thread);
+				return true;
+			}
+			return false;
+		}
+
+		private void start() {
+			thread = new WorkerThread(this);
+			thread.start();
+		}
+
+		private void stop() {
+			thread.stopped = true;
+			thread.interrupt();
+		}
+
+		private void join() {
+			if (thread == Thread.currentThread()) {
+				return;
+			}
+			boolean interrupted = false;
+			while (true) {
+				try {
+					thread.join();
+					break;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private class WorkerThread extends Thread {
+		private final    Worker  worker;
+		private volatile boolean stopped;
+
+		private WorkerThread(Worker worker) {
+			super(worker.name);
+			this.worker = worker;
+			setDaemon(true);
+		}
+
+		private WorkStealingDispatcher dispatcher() {
+			return WorkStealingDispatcher.this;
+		}
+
+		@Override
+		public void run() {
+			while (!stopped) {
+				Task<?> t = worker.nextTask();
+				if (null == t) {
+					worker.idle();
+					// Look again, in case a task was submitted before this worker was seen to be idle
+					if (null == (t = worker.nextTask())) {
+						while (worker.idle == 1 && !stopped) {
+							LockSupport.park(this);
+							// Only stopping ends the loop, and a leftover interrupt would keep park() from blocking
+							Thread.interrupted();
+						}
+					}
+					worker.busy();
+					if (null == t) {
+						continue;
+					}
+				}
+
+				execute(t);
+			}
+		}
+	}
+
+}
@@ -20,6 +20,7 @@ package reactor.fn.selector;
 
 import com.eaio.uuid.UUID;
 import reactor.fn.Selector;
+import reactor.fn.support.Tags;
 
 import java.util.Collections;
 import java.util.Set;
@@ -30,25 +31,40 @@ import java.util.concurrent.atomic.AtomicLong;
 /**
  * {@link reactor.fn.Selector} implementation that uses the {@link #hashCode()} and {@link #equals(Object)} methods of
  * the internal object to determine a match.
+ * <p/>
+ * Selectors are created for almost every operation, so their ids are taken from a cheap, per-JVM sequence rather than a
+ * {@link UUID}. A {@link UUID} is only generated if one is asked for.
  *
  * @author Jon Brisbin
  * @author Andy Wilkinson
  */
 public class BaseSelector<T> implements Selector {
 
-	protected final UUID uuid = new UUID();
+	// Threads take ids from their own block so creating a selector doesn't contend on a shared counter
+	private static final int                 ID_BLOCK_SIZE = 1024;
+	private static final AtomicLong          NEXT_ID_BLOCK = new AtomicLong();
+	private static final ThreadLocal<long[]> ID_BLOCK      = new ThreadLocal<long[]>() {
+		@Override
+		protected long[] initialValue() {
+			return new long[2];
+		}
+	};
+
 	protected final T                 object;
 	protected final int               hashCode;
 	protected final boolean           comparable;
-	protected final Long              id;
+	protected final long              id;
+	protected       Long              boxedId;
+	protected volatile UUID           uuid;
 	protected       AtomicLong        usageCount;
 	protected       SortedSet<String> tags;
+	protected       long[]            tagBits = Tags.EMPTY;
 
 	public BaseSelector(T object) {
 		this.object = object;
 		this.hashCode = object.hashCode();
 		this.comparable = object instanceof Comparable;
-		this.id = Math.abs(uuid.getTime() + uuid.getClockSeqAndNode());
+		this.id = nextId();
 	}
 
 	/**
@@ -65,7 +81,26 @@ public class BaseSelector<T> implements Selector {
 
 	@Override
 	public Long getId() {
-		return id;
+		if (null == boxedId) {
+			boxedId = id;
+		}
+		return boxedId;
+	}
+
+	/**
+	 * Get a {@link UUID} for this selector, generating it the first time it is asked for.
+	 *
+	 * @return The {@link UUID} of this selector.
+	 */
+	public UUID getUuid() {
+		if (null == uuid) {
+			synchronized (this) {
+				if (null == uuid) {
+					uuid = new UUID();
+				}
+			}
+		}
+		return uuid;
 	}
 
 	@Override
@@ -78,6 +113,16 @@ public class BaseSelector<T> implements Selector {
 		return (null == tags ? Collections.<String>emptySet() : tags);
 	}
 
+	/**
+	 * Get the tags currently assigned to this selector as a bitset.
+	 *
+	 * @return The {@link Tags#bitsOf(java.util.Collection) bitset} of the tags, or {@literal null} if a tag has no bit.
+	 * @see Tags
+	 */
+	public long[] getTagBits() {
+		return tagBits;
+	}
+
 	@Override
 	public Selector setTags(String... tags) {
 		if (null == this.tags) {
@@ -86,6 +131,7 @@ public class BaseSelector<T> implements Selector {
 			this.tags.clear();
 		}
 		Collections.addAll(this.tags, tags);
+		this.tagBits = Tags.bitsOf(this.tags);
 		return this;
 	}
 
@@ -110,10 +156,19 @@ public class BaseSelector<T> implements Selector {
 		return "BaseSelector{" +
 				"object=" + object +
 				", id=" + id +
-				", uuid=" + uuid +
 				", usageCount=" + usageCount +
 				", tags=" + tags +
 				'}';
 	}
 
+	private static long nextId() {
+		// block[0] is the next id to hand out and block[1] the end of the block
+		long[] block = ID_BLOCK.get();
+		if (block[0] == block[1]) {
+			block[0] = NEXT_ID_BLOCK.getAndIncrement() * ID_BLOCK_SIZE + 1;
+			block[1] = block[0] + ID_BLOCK_SIZE;
+		}
+		return block[0]++;
+	}
+
 }
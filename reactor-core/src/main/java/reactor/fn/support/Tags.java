@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.fn.support;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Interns {@link reactor.fn.Selector} tags so that a set of tags can be held as a bitset, and checking whether two sets
+ * of tags have a tag in common is a bitwise {@literal and} rather than comparing strings.
+ * <p/>
+ * Each distinct tag is given the next free bit the first time it is seen, and keeps it for the life of the JVM. Only
+ * {@literal reactor.tags.maxbits} (by default 4096) bits are handed out, so neither the bits nor the bitsets grow
+ * without bound. Tags seen after that don't get a bit, and a set of tags that includes one has no bitset: those sets
+ * are compared with {@link #intersect(Set, Set)} instead.
+ *
+ * @author Jon Brisbin
+ */
+public abstract class Tags {
+
+	/**
+	 * The bitset of an empty set of tags.
+	 */
+	public static final long[] EMPTY = new long[0];
+
+	private static final int                                MAX_BITS = Integer.parseInt(System.getProperty("reactor.tags.maxbits", "4096"));
+	private static final ConcurrentHashMap<String, Integer> BITS     = new ConcurrentHashMap<String, Integer>();
+	private static final AtomicInteger                      NEXT_BIT = new AtomicInteger();
+
+	private Tags() {
+	}
+
+	/**
+	 * Get the bit assigned to the given tag, assigning it one if it doesn't have one yet and there are bits left.
+	 *
+	 * @param tag The tag.
+	 * @return The index of the bit, or {@literal -1} if every bit has already been given to another tag.
+	 */
+	public static int bitOf(String tag) {
+		Integer bit = BITS.get(tag);
+		if (null == bit) {
+			if (NEXT_BIT.get() >= MAX_BITS) {
+				return -1;
+			}
+			int newBit = NEXT_BIT.getAndIncrement();
+			if (newBit >= MAX_BITS) {
+				return -1;
+			}
+			bit = BITS.putIfAbsent(tag, newBit);
+			if (null == bit) {
+				bit = newBit;
+			}
+		}
+		return bit;
+	}
+
+	/**
+	 * Get the bitset for the given tags.
+	 *
+	 * @param tags The tags.
+	 * @return A bitset with the bit of every tag set, or {@literal null} if one of the tags doesn't have a bit.
+	 */
+	public static long[] bitsOf(Collection<String> tags) {
+		if (tags.isEmpty()) {
+			return EMPTY;
+		}
+
+		int[] bits = new int[tags.size()];
+		int max = 0;
+		int i = 0;
+		for (String tag : tags) {
+			bits[i] = bitOf(tag);
+			if (bits[i] < 0) {
+				return null;
+			}
+			max = Math.max(max, bits[i++]);
+		}
+
+		long[] words = new long[(max >> 6) + 1];
+		for (int bit : bits) {
+			words[bit >> 6] |= 1L << bit;
+		}
+		return words;
+	}
+
+	/**
+	 * Check whether two bitsets have a bit in common.
+	 *
+	 * @param bits1 The first bitset.
+	 * @param bits2 The second bitset.
+	 * @return {@literal true} if the tags have a tag in common, {@literal false} otherwise.
+	 */
+	public static boolean intersect(long[] bits1, long[] bits2) {
+		int len = Math.min(bits1.length, bits2.length);
+		for (int i = 0; i < len; i++) {
+			if ((bits1[i] & bits2[i]) != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Check whether two sets of tags have a tag in common, for when one of them has no bitset.
+	 *
+	 * @param tags1 The first set of tags.
+	 * @param tags2 The second set of tags.
+	 * @return {@literal true} if the tags have a tag in common, {@literal false} otherwise.
+	 */
+	public static boolean intersect(Set<String> tags1, Set<String> tags2) {
+		if (tags1.size() > tags2.size()) {
+			Set<String> tags = tags1;
+			tags1 = tags2;
+			tags2 = tags;
+		}
+		for (String tag : tags1) {
+			if (tags2.contains(tag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
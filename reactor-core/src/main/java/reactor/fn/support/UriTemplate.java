@@ -18,7 +18,11 @@
 
 package reactor.fn.support;
 
+import reactor.support.ClockCache;
+
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +32,11 @@ import java.util.regex.Pattern;
 /**
  * Represents a URI template. A URI template is a URI-like String that contains variables enclosed by braces
  * (<code>{</code>, <code>}</code>), which can be expanded to produce an actual URI.
+ * <p/>
+ * The result of matching a URI against the template is cached, so that the same URIs can be matched and have their
+ * path variables extracted repeatedly from any thread. The cache is bounded by the {@code
+ * reactor.uritemplate.cache.size} system property, 1024 entries per template by default, and is only created the first
+ * time the template is matched.
  *
  * @author Arjen Poutsma
  * @author Juergen Hoeller
@@ -49,12 +58,18 @@ public class UriTemplate {
 	//private static final String  NAME_REPLACEMENT = "(?<%NAME%>[^\\/.]*)";
 	private static final String  NAME_REPLACEMENT = "([^\\/.]*)";
 
-	private Pattern uriPattern;
-	private       List<String>                         pathVariables = new ArrayList<String>();
-	private final HashMap<String, Matcher>             matchers      = new HashMap<String, Matcher>();
-	private final HashMap<String, Map<String, String>> vars          = new HashMap<String, Map<String, String>>();
+	private static final int CACHE_SIZE = Integer.parseInt(System.getProperty("reactor.uritemplate.cache.size", "1024"));
+
+	private static final Map<String, String> NO_MATCH = Collections.unmodifiableMap(new HashMap<String, String>());
+
+	private final    String                                  template;
+	private          Pattern                                 uriPattern;
+	private          List<String>                            pathVariables = new ArrayList<String>();
+	// Created on the first match, so a template that is never matched doesn't hold a cache
+	private volatile ClockCache<String, Map<String, String>> vars;
 
 	public UriTemplate(String uriPattern) {
+		this.template = uriPattern;
 		String s = "^" + uriPattern;
 
 		Matcher m = NAME_SPLAT_PATTERN.matcher(s);
@@ -84,6 +99,24 @@ public class UriTemplate {
 		}
 
 		this.uriPattern = Pattern.compile(s + "$");
+
+		// Splats were replaced first, but the groups are numbered by their position in the template.
+		final String template = uriPattern;
+		Collections.sort(pathVariables, new Comparator<String>() {
+			@Override
+			public int compare(String name1, String name2) {
+				return template.indexOf("{" + name1 + "}") - template.indexOf("{" + name2 + "}");
+			}
+		});
+	}
+
+	/**
+	 * Get the template this was created from.
+	 *
+	 * @return The uncompiled template.
+	 */
+	public String getTemplate() {
+		return template;
 	}
 
 	public Pattern getUriPattern() {
@@ -91,40 +124,56 @@ public class UriTemplate {
 	}
 
 	public boolean matches(String uri) {
-		return matcher(uri).matches();
+		return lookup(uri) != NO_MATCH;
 	}
 
+	/**
+	 * Match the given URI against this template and extract the values of its path variables.
+	 *
+	 * @param uri The URI to match.
+	 * @return The path variables, keyed by name, or an empty map if the URI doesn't match. The map can't be modified.
+	 */
 	public Map<String, String> match(String uri) {
+		Map<String, String> pathParameters = lookup(uri);
+		return (pathParameters == NO_MATCH ? Collections.<String, String>emptyMap() : pathParameters);
+	}
+
+	private Map<String, String> lookup(String uri) {
+		ClockCache<String, Map<String, String>> vars = vars();
 		Map<String, String> pathParameters = vars.get(uri);
 		if (null != pathParameters) {
 			return pathParameters;
 		}
 
-		pathParameters = new HashMap<String, String>();
-		Matcher m = matcher(uri);
+		// A Matcher can't be shared between threads, so every miss gets its own.
+		Matcher m = uriPattern.matcher(uri);
 		if (m.matches()) {
+			pathParameters = new HashMap<String, String>();
 			int i = 1;
 			for (String name : pathVariables) {
 				String val = m.group(i++);
 				pathParameters.put(name, val);
 			}
+			pathParameters = Collections.unmodifiableMap(pathParameters);
+		} else {
+			pathParameters = NO_MATCH;
 		}
-		synchronized (vars) {
-			vars.put(uri, pathParameters);
-		}
+		vars.putIfAbsent(uri, pathParameters);
 
 		return pathParameters;
 	}
 
-	private Matcher matcher(String uri) {
-		Matcher m = matchers.get(uri);
-		if (null == m) {
-			m = uriPattern.matcher(uri);
-			synchronized (matchers) {
-				matchers.put(uri, m);
+	private ClockCache<String, Map<String, String>> vars() {
+		ClockCache<String, Map<String, String>> vars = this.vars;
+		if (null == vars) {
+			synchronized (this) {
+				vars = this.vars;
+				if (null == vars) {
+					vars = this.vars = new ClockCache<String, Map<String, String>>(CACHE_SIZE);
+				}
 			}
 		}
-		return m;
+		return vars;
 	}
 
 }
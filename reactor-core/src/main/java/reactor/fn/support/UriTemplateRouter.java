@@ -0,0 +1,483 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.fn.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Routes a path to every {@link UriTemplate} it matches, in a single pass over the path.
+ * <p/>
+ * Templates are split on {@literal /} and compiled into a trie of path segments whose edges are either literal
+ * segments, a {@code {var}} segment or a trailing {@code {var}**} or {@code **} splat. Path variables are captured
+ * while walking the trie. Templates that use any other regular expression syntax can't be compiled into the trie and
+ * are matched using their {@link UriTemplate#getUriPattern() pattern}, so routing gives the same answer as calling
+ * {@link UriTemplate#matches(String)} on every template.
+ * <p/>
+ * Routing never blocks. Adding or removing a template only changes the nodes along that template's own path, so it
+ * costs the same however many other templates there are. Each change becomes visible to routing in a single write of
+ * a copied list of routes, so a path is routed either with or without the template, never half way.
+ *
+ * @param <V> The type of the value associated with each template.
+ * @author Jon Brisbin
+ */
+public class UriTemplateRouter<V> {
+
+	private static final Pattern NAME_SPLAT_SEGMENT = Pattern.compile("\\{([^/{}]+)\\}[\\*][\\*]");
+	private static final Pattern NAME_SEGMENT       = Pattern.compile("\\{([^/{}]+)\\}");
+	private static final String  FULL_SPLAT_SEGMENT = "**";
+	private static final String  REGEX_CHARS        = "\\.[]{}()*+?^$|";
+
+	private static final Comparator<Match<?>> ROUTE_ORDER = new Comparator<Match<?>>() {
+		@Override
+		public int compare(Match<?> m1, Match<?> m2) {
+			long s1 = m1.route.sequence;
+			long s2 = m2.route.sequence;
+			return (s1 < s2 ? -1 : (s1 == s2 ? 0 : 1));
+		}
+	};
+
+	private final    Object                 monitor  = new Object();
+	private final    Node<V>                root     = new Node<V>();
+	private volatile List<Route<V>>         unrouted = Collections.emptyList();
+	// Guarded by the monitor
+	private final    Map<V, List<Route<V>>> routes   = new IdentityHashMap<V, List<Route<V>>>();
+	private          int                    size;
+	private          long                   nextSequence;
+
+	/**
+	 * Add a route to the given value for the given template.
+	 *
+	 * @param template The template to match paths against.
+	 * @param value    The value to return when a path matches the template.
+	 * @return {@literal this}
+	 */
+	public UriTemplateRouter<V> add(UriTemplate template, V value) {
+		synchronized (monitor) {
+			Route<V> route = new Route<V>(nextSequence++, template, value);
+			List<Route<V>> valueRoutes = routes.get(value);
+			if (null == valueRoutes) {
+				valueRoutes = new ArrayList<Route<V>>(1);
+				routes.put(value, valueRoutes);
+			}
+			valueRoutes.add(route);
+			size++;
+
+			if (null == route.segments) {
+				unrouted = appended(unrouted, route);
+			} else {
+				insert(root, route);
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Remove every route to the given value.
+	 *
+	 * @param value The value, compared by identity.
+	 * @return {@literal true} if any route was removed, {@literal false} otherwise.
+	 */
+	public boolean remove(V value) {
+		synchronized (monitor) {
+			List<Route<V>> valueRoutes = routes.remove(value);
+			if (null == valueRoutes) {
+				return false;
+			}
+			for (Route<V> route : valueRoutes) {
+				size--;
+				if (null == route.segments) {
+					List<Route<V>> newUnrouted = without(unrouted, route);
+					unrouted = (null != newUnrouted ? newUnrouted : Collections.<Route<V>>emptyList());
+				} else {
+					remove(root, route, 0);
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * The number of routes.
+	 *
+	 * @return The number of routes.
+	 */
+	public int size() {
+		synchronized (monitor) {
+			return size;
+		}
+	}
+
+	/**
+	 * Find every route whose template matches the given path.
+	 *
+	 * @param path The path to route.
+	 * @return The matching routes, in the order they were added.
+	 */
+	public List<Match<V>> route(String path) {
+		List<Match<V>> matches = new ArrayList<Match<V>>();
+
+		if (!root.isEmpty()) {
+			int[] starts = segmentStarts(path);
+			walk(root, path, starts, 0, new int[starts.length * 2], 0, matches);
+		}
+
+		for (Route<V> route : unrouted) {
+			if (route.template.matches(path)) {
+				matches.add(new Match<V>(route, path, null));
+			}
+		}
+		if (matches.size() > 1) {
+			Collections.sort(matches, ROUTE_ORDER);
+		}
+
+		return matches;
+	}
+
+	private static <V> void insert(Node<V> root, Route<V> route) {
+		Node<V> node = root;
+		for (Segment segment : route.segments) {
+			switch (segment.type) {
+				case SPLAT:
+					node.splats = appended(node.splats, route);
+					return;
+				case VARIABLE:
+					Node<V> variable = node.variable;
+					if (null == variable) {
+						// Empty until the route is added below it, so routing can see it at once
+						variable = new Node<V>();
+						node.variable = variable;
+					}
+					node = variable;
+					break;
+				default:
+					Map<String, Node<V>> literals = node.literals;
+					if (null == literals) {
+						literals = new ConcurrentHashMap<String, Node<V>>();
+						node.literals = literals;
+					}
+					Node<V> child = literals.get(segment.literal);
+					if (null == child) {
+						child = new Node<V>();
+						literals.put(segment.literal, child);
+					}
+					node = child;
+			}
+		}
+		node.terminals = appended(node.terminals, route);
+	}
+
+	/**
+	 * Remove a route from the nodes along its path, pruning the nodes it leaves empty.
+	 *
+	 * @return {@literal true} if the node is empty once the route has been removed.
+	 */
+	private static <V> boolean remove(Node<V> node, Route<V> route, int segment) {
+		if (segment == route.segments.length) {
+			node.terminals = without(node.terminals, route);
+			return node.isEmpty();
+		}
+
+		Segment s = route.segments[segment];
+		switch (s.type) {
+			case SPLAT:
+				node.splats = without(node.splats, route);
+				break;
+			case VARIABLE:
+				Node<V> variable = node.variable;
+				if (null != variable && remove(variable, route, segment + 1)) {
+					node.variable = null;
+				}
+				break;
+			default:
+				Map<String, Node<V>> literals = node.literals;
+				Node<V> child = (null != literals ? literals.get(s.literal) : null);
+				if (null != child && remove(child, route, segment + 1)) {
+					literals.remove(s.literal);
+					if (literals.isEmpty()) {
+						node.literals = null;
+					}
+				}
+		}
+		return node.isEmpty();
+	}
+
+	/**
+	 * Split a template into segments, or return {@literal null} if it uses regular expression syntax the trie can't
+	 * represent.
+	 */
+	private static Segment[] parse(String template, List<String> names) {
+		String[] parts = template.split("/", -1);
+		Segment[] segments = new Segment[parts.length];
+
+		for (int i = 0; i < parts.length; i++) {
+			String part = parts[i];
+			Matcher m;
+			if (FULL_SPLAT_SEGMENT.equals(part)) {
+				segments[i] = new Segment(SegmentType.SPLAT, null);
+			} else if ((m = NAME_SPLAT_SEGMENT.matcher(part)).matches()) {
+				names.add(m.group(1));
+				segments[i] = new Segment(SegmentType.SPLAT, null);
+			} else if ((m = NAME_SEGMENT.matcher(part)).matches()) {
+				names.add(m.group(1));
+				segments[i] = new Segment(SegmentType.VARIABLE, null);
+			} else if (isLiteral(part)) {
+				segments[i] = new Segment(SegmentType.LITERAL, part);
+			} else {
+				return null;
+			}
+
+			if (segments[i].type == SegmentType.SPLAT && i != parts.length - 1) {
+				return null;
+			}
+		}
+
+		return segments;
+	}
+
+	private static <V> void walk(Node<V> node,
+															 String path,
+															 int[] starts,
+															 int segment,
+															 int[] captures,
+															 int captured,
+															 List<Match<V>> matches) {
+		List<Route<V>> splats = node.splats;
+		if (segment < starts.length && null != splats) {
+			int start = starts[segment];
+			if (!containsLineTerminator(path, start)) {
+				for (Route<V> route : splats) {
+					if (route.names.size() * 2 > captured) {
+						// Named splat
+						captures[captured] = start;
+						captures[captured + 1] = path.length();
+						addMatch(matches, route, path, captures, captured + 2);
+					} else {
+						addMatch(matches, route, path, captures, captured);
+					}
+				}
+			}
+		}
+
+		if (segment == starts.length) {
+			List<Route<V>> terminals = node.terminals;
+			if (null != terminals) {
+				for (Route<V> route : terminals) {
+					addMatch(matches, route, path, captures, captured);
+				}
+			}
+			return;
+		}
+
+		int start = starts[segment];
+		int end = (segment + 1 < starts.length ? starts[segment + 1] - 1 : path.length());
+
+		Map<String, Node<V>> literals = node.literals;
+		if (null != literals) {
+			Node<V> child = literals.get(path.substring(start, end));
+			if (null != child) {
+				walk(child, path, starts, segment + 1, captures, captured, matches);
+			}
+		}
+
+		Node<V> variable = node.variable;
+		if (null != variable && !containsDot(path, start, end)) {
+			captures[captured] = start;
+			captures[captured + 1] = end;
+			walk(variable, path, starts, segment + 1, captures, captured + 2, matches);
+		}
+	}
+
+	private static <V> void addMatch(List<Match<V>> matches, Route<V> route, String path, int[] captures, int captured) {
+		int[] caps = new int[captured];
+		System.arraycopy(captures, 0, caps, 0, captured);
+		matches.add(new Match<V>(route, path, caps));
+	}
+
+	private static int[] segmentStarts(String path) {
+		int count = 1;
+		for (int i = 0; i < path.length(); i++) {
+			if (path.charAt(i) == '/') {
+				count++;
+			}
+		}
+
+		int[] starts = new int[count];
+		int segment = 1;
+		for (int i = 0; i < path.length(); i++) {
+			if (path.charAt(i) == '/') {
+				starts[segment++] = i + 1;
+			}
+		}
+		return starts;
+	}
+
+	private static boolean containsDot(String path, int start, int end) {
+		// {var} is compiled to [^/.]*
+		for (int i = start; i < end; i++) {
+			if (path.charAt(i) == '.') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isLiteral(String segment) {
+		for (int i = 0; i < segment.length(); i++) {
+			if (REGEX_CHARS.indexOf(segment.charAt(i)) >= 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean containsLineTerminator(String path, int start) {
+		// .* in the equivalent pattern doesn't match line terminators
+		for (int i = start; i < path.length(); i++) {
+			char c = path.charAt(i);
+			if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// Lists of routes are never changed once routing can see them, only replaced by a changed copy
+
+	private static <V> List<Route<V>> appended(List<Route<V>> routes, Route<V> route) {
+		List<Route<V>> newRoutes = new ArrayList<Route<V>>((null != routes ? routes.size() : 0) + 1);
+		if (null != routes) {
+			newRoutes.addAll(routes);
+		}
+		newRoutes.add(route);
+		return newRoutes;
+	}
+
+	private static <V> List<Route<V>> without(List<Route<V>> routes, Route<V> route) {
+		if (null == routes) {
+			return null;
+		}
+		List<Route<V>> newRoutes = new ArrayList<Route<V>>(routes.size());
+		for (Route<V> r : routes) {
+			if (r != route) {
+				newRoutes.add(r);
+			}
+		}
+		return (newRoutes.isEmpty() ? null : newRoutes);
+	}
+
+	/**
+	 * A path that matched a route.
+	 *
+	 * @param <V> The type of the value associated with the route.
+	 */
+	public static class Match<V> {
+		private final Route<V> route;
+		private final String   path;
+		private final int[]    captures;
+
+		private Match(Route<V> route, String path, int[] captures) {
+			this.route = route;
+			this.path = path;
+			this.captures = captures;
+		}
+
+		/**
+		 * The template that matched.
+		 *
+		 * @return The {@link UriTemplate}.
+		 */
+		public UriTemplate getTemplate() {
+			return route.template;
+		}
+
+		/**
+		 * The value associated with the template that matched.
+		 *
+		 * @return The value.
+		 */
+		public V getValue() {
+			return route.value;
+		}
+
+		/**
+		 * The path variables extracted from the path, keyed by the names used in the template.
+		 *
+		 * @return The path variables.
+		 */
+		public Map<String, String> getPathVariables() {
+			if (null == captures) {
+				return route.template.match(path);
+			}
+			Map<String, String> vars = new LinkedHashMap<String, String>();
+			for (int i = 0; i < route.names.size(); i++) {
+				vars.put(route.names.get(i), path.substring(captures[i * 2], captures[i * 2 + 1]));
+			}
+			return vars;
+		}
+	}
+
+	private static class Route<V> {
+		private final long         sequence;
+		private final UriTemplate  template;
+		private final V            value;
+		private final List<String> names = new ArrayList<String>();
+		private final Segment[]    segments;
+
+		private Route(long sequence, UriTemplate template, V value) {
+			this.sequence = sequence;
+			this.template = template;
+			this.value = value;
+			this.segments = parse(template.getTemplate(), names);
+		}
+	}
+
+	private enum SegmentType {
+		LITERAL, VARIABLE, SPLAT
+	}
+
+	private static class Segment {
+		private final SegmentType type;
+		private final String      literal;
+
+		private Segment(SegmentType type, String literal) {
+			this.type = type;
+			this.literal = literal;
+		}
+	}
+
+	private static class Node<V> {
+		// Changed under the router's monitor, read by routing without it
+		private volatile Map<String, Node<V>> literals;
+		private volatile Node<V>              variable;
+		private volatile List<Route<V>>       terminals;
+		private volatile List<Route<V>>       splats;
+
+		private boolean isEmpty() {
+			return null == literals && null == variable && null == terminals && null == splats;
+		}
+	}
+
+}
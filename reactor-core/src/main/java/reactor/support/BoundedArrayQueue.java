@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package reactor.support;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free queue backed by an array, which any number of threads can offer to and poll from.
+ * <p/>
+ * Unlike the linked queues in {@link java.util.concurrent}, offering doesn't allocate: each slot of the array carries a
+ * sequence number that tells producers when it is free and consumers when it is filled, so a producer only has to claim
+ * a position and a consumer only has to claim a filled slot.
+ *
+ * @param <E> The type of the elements.
+ * @author Jon Brisbin
+ */
+public class BoundedArrayQueue<E> {
+
+	private final int                     mask;
+	private final AtomicReferenceArray<E> elements;
+	private final AtomicLongArray         sequences;
+	private final AtomicLong              tail = new AtomicLong();
+	private final AtomicLong              head = new AtomicLong();
+
+	/**
+	 * Create a queue that can hold at least {@code capacity} elements. The capacity is rounded up to a power of 2.
+	 *
+	 * @param capacity The minimum capacity of the queue.
+	 */
+	public BoundedArrayQueue(int capacity) {
+		Assert.isTrue(capacity > 0 && capacity <= (1 << 30), "Capacity must be between 1 and 2^30.");
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity) {
+			size <<= 1;
+		}
+		this.mask = size - 1;
+		this.elements = new AtomicReferenceArray<E>(size);
+		this.sequences = new AtomicLongArray(size);
+		for (int i = 0; i < size; i++) {
+			sequences.set(i, i);
+		}
+	}
+
+	/**
+	 * Add an element to the tail of the queue, if there is room.
+	 *
+	 * @param e The element. Cannot be null.
+	 * @return {@literal true} if the element was added, {@literal false} if the queue is full.
+	 */
+	public boolean offer(E e) {
+		Assert.notNull(e, "Element cannot be null.");
+		long pos = tail.get();
+		while (true) {
+			long dif = sequences.get((int) pos & mask) - pos;
+			if (dif == 0) {
+				if (tail.compareAndSet(pos, pos + 1)) {
+					break;
+				}
+				pos = tail.get();
+			} else if (dif < 0) {
+				// The slot still holds the element from one lap ago
+				return false;
+			} else {
+				pos = tail.get();
+			}
+		}
+		int i = (int) pos & mask;
+		elements.lazySet(i, e);
+		sequences.set(i, pos + 1);
+		return true;
+	}
+
+	/**
+	 * Remove the element at the head of the queue, if there is one.
+	 *
+	 * @return The element, or {@literal null} if the queue is empty.
+	 */
+	public E poll() {
+		long pos = head.get();
+		while (true) {
+			long dif = sequences.get((int) pos & mask) - (pos + 1);
+			if (dif == 0) {
+				if (head.compareAndSet(pos, pos + 1)) {
+					break;
+				}
+				pos = head.get();
+			} else if (dif < 0) {
+				// The slot hasn't been filled yet
+				return null;
+			} else {
+				pos = head.get();
+			}
+		}
+		int i = (int) pos & mask;
+		E e = elements.get(i);
+		elements.lazySet(i, null);
+		sequences.set(i, pos + mask + 1);
+		return e;
+	}
+
+	/**
+	 * The number of elements in the queue. This is only an estimate while other threads are using the queue.
+	 *
+	 * @return The number of elements.
+	 */
+	public int size() {
+		long size = tail.get() - head.get();
+		return (int) Math.max(0, Math.min(size, capacity()));
+	}
+
+	/**
+	 * The maximum number of elements the queue can hold.
+	 *
+	 * @return The capacity of the queue.
+	 */
+	public int capacity() {
+		return mask + 1;
+	}
+
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.support;
+
+import org.cliffc.high_scale_lib.Counter;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * A bounded, concurrent cache that evicts using the CLOCK (second chance) approximation of LRU.
+ * <p/>
+ * Nothing takes a lock. A hit only sets the entry's reference bit. An insert claims a slot by moving the shared clock
+ * hand forward, clearing reference bits as it goes, and swaps itself into the first slot that is empty or whose entry
+ * hasn't been read since the hand last passed it. Slots are claimed with a compare-and-set, so concurrent inserts never
+ * evict the same entry twice. An entry is visible in the cache just before it has a slot, so the cache can briefly hold
+ * one more entry than its capacity for each insert in progress.
+ *
+ * @author Jon Brisbin
+ */
+public class ClockCache<K, V> {
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<Node, Object> VALUE =
+			AtomicReferenceFieldUpdater.newUpdater(Node.class, Object.class, "value");
+
+	private final ConcurrentHashMap<K, Node<K, V>> entries;
+	private final AtomicReferenceArray<Node<K, V>> slots;
+	private final AtomicInteger                    hand      = new AtomicInteger();
+	private final Counter                          evictions = new Counter();
+
+	public ClockCache(int capacity) {
+		Assert.isTrue(capacity > 0, "Capacity must be greater than 0.");
+		this.entries = new ConcurrentHashMap<K, Node<K, V>>(capacity);
+		this.slots = new AtomicReferenceArray<Node<K, V>>(capacity);
+	}
+
+	/**
+	 * Get the value cached for the given key.
+	 *
+	 * @param key The key.
+	 * @return The cached value, or {@literal null} if none exists.
+	 */
+	public V get(K key) {
+		Node<K, V> n = entries.get(key);
+		if (null == n) {
+			return null;
+		}
+		if (!n.referenced) {
+			n.referenced = true;
+		}
+		return n.value;
+	}
+
+	/**
+	 * Cache the given value if there is no value cached for the key yet, evicting another entry if the cache is full.
+	 *
+	 * @param key   The key.
+	 * @param value The value.
+	 * @return The value already cached for the key, or {@literal null} if the given value was cached.
+	 */
+	public V putIfAbsent(K key, V value) {
+		Node<K, V> n = new Node<K, V>(key, value);
+		for (; ; ) {
+			Node<K, V> existing = entries.putIfAbsent(key, n);
+			if (null == existing) {
+				break;
+			}
+			V v = existing.value;
+			if (null != v) {
+				return v;
+			}
+			// Being removed, help it on its way
+			entries.remove(key, existing);
+		}
+		claimSlot(n);
+		return null;
+	}
+
+	/**
+	 * Replace the value cached for the key, but only if it is still {@code oldValue}.
+	 *
+	 * @param key      The key.
+	 * @param oldValue The value expected to be cached.
+	 * @param newValue The value to cache.
+	 * @return {@literal true} if the value was replaced, {@literal false} otherwise.
+	 */
+	public boolean replace(K key, V oldValue, V newValue) {
+		Node<K, V> n = entries.get(key);
+		return null != n && null != oldValue && VALUE.compareAndSet(n, oldValue, newValue);
+	}
+
+	/**
+	 * Remove the entry for the key, but only if it is still mapped to {@code value}.
+	 *
+	 * @param key   The key.
+	 * @param value The value expected to be cached.
+	 * @return {@literal true} if the entry was removed, {@literal false} otherwise.
+	 */
+	public boolean remove(K key, V value) {
+		Node<K, V> n = entries.get(key);
+		// Clearing the value first keeps a concurrent replace from succeeding on an entry that is on its way out
+		if (null == n || null == value || !VALUE.compareAndSet(n, value, null)) {
+			return false;
+		}
+		entries.remove(key, n);
+		int slot = n.slot;
+		if (slot >= 0) {
+			slots.compareAndSet(slot, n, null);
+		}
+		return true;
+	}
+
+	/**
+	 * Remove all entries.
+	 */
+	public void clear() {
+		entries.clear();
+		for (int i = 0; i < slots.length(); i++) {
+			slots.set(i, null);
+		}
+	}
+
+	/**
+	 * A weakly-consistent view of the cached values. Reading values through this view doesn't count as a use of the
+	 * entry.
+	 *
+	 * @return The cached values.
+	 */
+	public Iterable<V> values() {
+		return new Iterable<V>() {
+			@Override
+			public Iterator<V> iterator() {
+				final Iterator<Node<K, V>> nodes = entries.values().iterator();
+				return new Iterator<V>() {
+					@Override
+					public boolean hasNext() {
+						return nodes.hasNext();
+					}
+
+					@Override
+					public V next() {
+						return nodes.next().value;
+					}
+
+					@Override
+					public void remove() {
+						throw new UnsupportedOperationException();
+					}
+				};
+			}
+		};
+	}
+
+	/**
+	 * The number of entries currently cached.
+	 *
+	 * @return The size of the cache.
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * The maximum number of entries this cache will hold.
+	 *
+	 * @return The capacity of the cache.
+	 */
+	public int capacity() {
+		return slots.length();
+	}
+
+	/**
+	 * The number of entries that have been evicted to make room for others.
+	 *
+	 * @return The number of evictions.
+	 */
+	public long getEvictions() {
+		return evictions.get();
+	}
+
+	private void claimSlot(Node<K, V> n) {
+		int capacity = slots.length();
+		// Two full turns are enough to clear every reference bit. After that, take the next slot whatever is in it, so that
+		// entries that keep being read can't hold up an insert forever.
+		for (int i = 0; ; i++) {
+			int slot = (hand.getAndIncrement() & Integer.MAX_VALUE) % capacity;
+			Node<K, V> current = slots.get(slot);
+			if (null == current) {
+				if (slots.compareAndSet(slot, null, n)) {
+					n.slot = slot;
+					return;
+				}
+				continue;
+			}
+			if (current.referenced && i < capacity * 2) {
+				current.referenced = false;
+				continue;
+			}
+			if (slots.compareAndSet(slot, current, n)) {
+				n.slot = slot;
+				if (entries.remove(current.key, current)) {
+					evictions.increment();
+				}
+				return;
+			}
+		}
+	}
+
+	private static class Node<K, V> {
+		private final    K       key;
+		// Not private so that VALUE can update it
+		volatile V value;
+		private volatile boolean referenced;
+		private volatile int     slot = -1;
+
+		private Node(K key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+	}
+
+}
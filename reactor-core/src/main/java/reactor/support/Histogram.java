@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.support;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of non-negative {@literal long} values, such as latencies in nanoseconds, that can be recorded into from
+ * many threads without locking.
+ * <p/>
+ * Like an HDR histogram, values are counted in buckets whose width grows with the value: every power of 2 is split
+ * into 32 equal buckets, so any value read back is within about 3% of the values that were recorded. Values below 64
+ * are counted exactly. Recording is a single atomic increment, and the histogram takes about 15KB no matter how many
+ * values are recorded.
+ * <p/>
+ * Reads aren't atomic with respect to recording. A percentile read while values are being recorded reflects some of
+ * them and not others, which is fine for monitoring.
+ *
+ * @author Jon Brisbin
+ */
+public class Histogram {
+
+	private static final int SUB_BUCKET_BITS = 6;
+	private static final int HALF            = 1 << (SUB_BUCKET_BITS - 1);
+	private static final int SIZE            = indexOf(Long.MAX_VALUE) + 1;
+
+	private final AtomicLongArray counts = new AtomicLongArray(SIZE);
+	private final AtomicLong      max    = new AtomicLong();
+
+	/**
+	 * Count the given value.
+	 *
+	 * @param value The value. Negative values are counted as 0.
+	 */
+	public void record(long value) {
+		if (value < 0) {
+			value = 0;
+		}
+		counts.incrementAndGet(indexOf(value));
+		long m;
+		while (value > (m = max.get())) {
+			if (max.compareAndSet(m, value)) {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Add everything recorded in the given histogram to this one.
+	 *
+	 * @param other The histogram to add.
+	 * @return {@literal this}
+	 */
+	public Histogram add(Histogram other) {
+		for (int i = 0; i < SIZE; i++) {
+			long c = other.counts.get(i);
+			if (c > 0) {
+				counts.addAndGet(i, c);
+			}
+		}
+		long m;
+		long otherMax = other.max.get();
+		while (otherMax > (m = max.get())) {
+			if (max.compareAndSet(m, otherMax)) {
+				break;
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * The number of values recorded.
+	 *
+	 * @return The number of values.
+	 */
+	public long getCount() {
+		long count = 0;
+		for (int i = 0; i < SIZE; i++) {
+			count += counts.get(i);
+		}
+		return count;
+	}
+
+	/**
+	 * The largest value recorded, exactly.
+	 *
+	 * @return The largest value, or 0 if none have been recorded.
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * The approximate mean of the values recorded.
+	 *
+	 * @return The mean, or 0 if no values have been recorded.
+	 */
+	public double getMean() {
+		long count = 0;
+		double total = 0;
+		for (int i = 0; i < SIZE; i++) {
+			long c = counts.get(i);
+			if (c > 0) {
+				count += c;
+				total += (double) c * (lowestValueAt(i) + highestValueAt(i)) / 2;
+			}
+		}
+		return count > 0 ? total / count : 0;
+	}
+
+	/**
+	 * The value below which the given percentage of the recorded values fall. The value returned is the highest value
+	 * that would be counted in the same bucket, so it never under-reports.
+	 *
+	 * @param percentile The percentage, between 0 and 100.
+	 * @return The value at the percentile, or 0 if no values have been recorded.
+	 */
+	public long getValueAtPercentile(double percentile) {
+		Assert.isTrue(percentile >= 0 && percentile <= 100, "Percentile must be between 0 and 100.");
+		long[] snapshot = new long[SIZE];
+		long count = 0;
+		for (int i = 0; i < SIZE; i++) {
+			count += (snapshot[i] = counts.get(i));
+		}
+		if (count == 0) {
+			return 0;
+		}
+		long target = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+		long seen = 0;
+		for (int i = 0; i < SIZE; i++) {
+			seen += snapshot[i];
+			if (seen >= target) {
+				return Math.min(highestValueAt(i), max.get());
+			}
+		}
+		return max.get();
+	}
+
+	/**
+	 * Clear everything recorded so far.
+	 */
+	public void reset() {
+		for (int i = 0; i < SIZE; i++) {
+			counts.set(i, 0);
+		}
+		max.set(0);
+	}
+
+	@Override
+	public String toString() {
+		return "Histogram{" +
+				"count=" + getCount() +
+				", mean=" + (long) getMean() +
+				", 50%=" + getValueAtPercentile(50) +
+				", 99%=" + getValueAtPercentile(99) +
+				", 99.9%=" + getValueAtPercentile(99.9) +
+				", max=" + getMax() +
+				'}';
+	}
+
+	private static int indexOf(long value) {
+		int shift = Math.max(0, (63 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1));
+		return shift * HALF + (int) (value >>> shift);
+	}
+
+	private static long lowestValueAt(int index) {
+		if (index < 2 * HALF) {
+			return index;
+		}
+		int shift = index / HALF - 1;
+		return (long) (index - shift * HALF) << shift;
+	}
+
+	private static long highestValueAt(int index) {
+		if (index < 2 * HALF) {
+			return index;
+		}
+		int shift = index / HALF - 1;
+		return lowestValueAt(index) + (1L << shift) - 1;
+	}
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core;
+
+import org.junit.Test;
+import reactor.fn.Registration;
+import reactor.fn.Selector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static reactor.Fn.$;
+
+/**
+ * Checks that cached selections stay correct while short-lived registrations, such as the ones created by {@link
+ * R#schedule(reactor.fn.Consumer, Object, reactor.fn.Observable)}, are constantly being added and cancelled.
+ *
+ * @author Jon Brisbin
+ */
+public class CachingRegistryChurnTests {
+
+	static int selectors  = 100;
+	static int iterations = 1000;
+
+	@Test
+	public void selectionsStayCorrectWhileRegistrationsComeAndGo() {
+		CachingRegistry<Object> registry = new CachingRegistry<Object>();
+
+		Selector[] sels = new Selector[selectors];
+		for (int i = 0; i < selectors; i++) {
+			sels[i] = $("test" + i);
+			registry.register(sels[i], "consumer" + i);
+		}
+		for (Selector sel : sels) {
+			registry.select(sel);
+		}
+
+		for (int i = 0; i < iterations; i++) {
+			Selector sel = $();
+			Registration<String> reg = registry.register(sel, "once");
+			assertTrue(registry.select(sel).iterator().hasNext());
+			reg.cancel();
+			assertFalse(registry.select(sel).iterator().hasNext());
+
+			for (int j = 0; j < 10; j++) {
+				registry.select(sels[(i * 10 + j) % selectors]);
+			}
+		}
+
+		for (int i = 0; i < selectors; i++) {
+			int count = 0;
+			for (Registration<?> reg : registry.select(sels[i])) {
+				assertEquals("consumer" + i, reg.getObject());
+				count++;
+			}
+			assertEquals(1, count);
+		}
+	}
+
+}
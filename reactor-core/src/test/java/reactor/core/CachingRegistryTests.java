@@ -1,16 +1,25 @@
 package reactor.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static reactor.Fn.$;
+import static reactor.Fn.R;
+import static reactor.Fn.T;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.Test;
 
 import reactor.fn.Registration;
+import reactor.fn.Registry;
 import reactor.fn.Selector;
+import reactor.fn.TagAwareSelectionStrategy;
+import reactor.fn.support.Tags;
 
 public final class CachingRegistryTests {
 
@@ -34,4 +43,162 @@ public final class CachingRegistryTests {
 
 		assertEquals(Arrays.asList("echo", "bravo", "alpha", "charlie", "delta"), objects);
 	}
+
+	@Test
+	public void cachedSelectionsReflectLaterRegistrationsAndCancellations() {
+		Selector selector = $("selector");
+
+		Registration<String> alpha = this.cachingRegistry.register(selector, "alpha");
+		assertEquals(Arrays.asList("alpha"), objects(this.cachingRegistry.select(selector)));
+
+		Registration<String> bravo = this.cachingRegistry.register(selector, "bravo");
+		assertEquals(Arrays.asList("alpha", "bravo"), objects(this.cachingRegistry.select(selector)));
+
+		alpha.cancel();
+		assertEquals(Arrays.asList("bravo"), objects(this.cachingRegistry.select(selector)));
+
+		bravo.cancel();
+		assertEquals(Collections.emptyList(), objects(this.cachingRegistry.select(selector)));
+	}
+
+	@Test
+	public void cacheIsBoundedWhenSelectingWithManyDistinctSelectors() {
+		CachingRegistry<Object> registry = new CachingRegistry<Object>(16);
+		Selector selector = $("selector");
+		registry.register(selector, "alpha");
+
+		for (int i = 0; i < 1000; i++) {
+			registry.select($("selector"));
+		}
+		registry.select(selector);
+		registry.select(selector);
+
+		assertEquals(16, registry.getCacheSize());
+		assertEquals(1000 - 16 + 1, registry.getCacheEvictions());
+		assertEquals(1001, registry.getCacheMisses());
+		assertEquals(1, registry.getCacheHits());
+		assertEquals(Arrays.asList("alpha"), objects(registry.select(selector)));
+	}
+
+	@Test
+	public void registrationsWithDifferentKindsOfSelectorAreOrderedByInsertionOrder() {
+		this.cachingRegistry.register($("test1"), "echo");
+		this.cachingRegistry.register(R("test[0-9]"), "bravo");
+		this.cachingRegistry.register($("test2"), "alpha");
+		this.cachingRegistry.register($("test1"), "charlie");
+		this.cachingRegistry.register(R("test.*"), "delta");
+
+		assertEquals(Arrays.asList("echo", "bravo", "charlie", "delta"), objects(this.cachingRegistry.select($("test1"))));
+		assertEquals(Arrays.asList("bravo", "alpha", "delta"), objects(this.cachingRegistry.select($("test2"))));
+	}
+
+	@Test
+	public void regexSelectorsMatchTheSameKeysWhateverTheirLiteralPrefix() {
+		this.cachingRegistry.register(R("topic\\.orders\\..*"), "alpha");
+		this.cachingRegistry.register(R("[a-z]+\\.orders\\..*"), "bravo");
+		this.cachingRegistry.register(R("^topic\\.users\\..*"), "charlie");
+		this.cachingRegistry.register(R("topics?\\.orders\\.new"), "delta");
+		this.cachingRegistry.register(R("topic\\.users|topic\\.orders\\.new"), "echo");
+		Registration<String> foxtrot = this.cachingRegistry.register(R("topic\\.orders\\.n.w"), "foxtrot");
+
+		assertEquals(Arrays.asList("alpha", "bravo", "delta", "echo", "foxtrot"),
+		             objects(this.cachingRegistry.select($("topic.orders.new"))));
+		assertEquals(Arrays.asList("charlie"), objects(this.cachingRegistry.select($("topic.users.new"))));
+		assertEquals(Arrays.asList("bravo"), objects(this.cachingRegistry.select($("topics.orders.old"))));
+		assertEquals(Arrays.asList("bravo"), objects(this.cachingRegistry.select($("topi.orders.new"))));
+
+		foxtrot.cancel();
+		assertEquals(Arrays.asList("alpha", "bravo", "delta", "echo"),
+		             objects(this.cachingRegistry.select($("topic.orders.new"))));
+	}
+
+	@Test
+	public void classSelectorsMatchSubtypesInInsertionOrder() {
+		this.cachingRegistry.register(T(IllegalArgumentException.class), "alpha");
+		this.cachingRegistry.register(T(Throwable.class), "bravo");
+		Registration<String> charlie = this.cachingRegistry.register(T(RuntimeException.class), "charlie");
+		this.cachingRegistry.register(T(java.io.Serializable.class), "delta");
+		this.cachingRegistry.register(T(IllegalStateException.class), "echo");
+
+		assertEquals(Arrays.asList("alpha", "bravo", "charlie", "delta"),
+		             objects(this.cachingRegistry.select(T(NumberFormatException.class))));
+		assertEquals(Arrays.asList("bravo", "delta"), objects(this.cachingRegistry.select(T(Exception.class))));
+
+		charlie.cancel();
+		this.cachingRegistry.register(T(Exception.class), "foxtrot");
+		assertEquals(Arrays.asList("alpha", "bravo", "delta", "foxtrot"),
+		             objects(this.cachingRegistry.select(T(NumberFormatException.class))));
+		assertEquals(Arrays.asList("bravo", "delta", "foxtrot"), objects(this.cachingRegistry.select(T(Exception.class))));
+	}
+
+	@Test
+	public void tagAwareSelectionStrategyOnlyMatchesRegistrationsSharingATag() {
+		this.cachingRegistry.setSelectionStrategy(new TagAwareSelectionStrategy() {
+			@Override
+			public boolean matches(Selector sel1, Selector sel2) {
+				// Match on tags alone
+				for (String tag : sel2.getTags()) {
+					if (sel1.getTags().contains(tag)) {
+						return true;
+					}
+				}
+				return false;
+			}
+		});
+		this.cachingRegistry.register($("alpha").setTags("tenant1", "eu"), "alpha");
+		this.cachingRegistry.register($("bravo").setTags("tenant2", "us"), "bravo");
+		this.cachingRegistry.register($("charlie"), "charlie");
+		Registration<String> delta = this.cachingRegistry.register($("delta").setTags("tenant2", "eu"), "delta");
+
+		assertEquals(Arrays.asList("alpha", "delta"), objects(this.cachingRegistry.select($("x").setTags("eu"))));
+		assertEquals(Arrays.asList("bravo", "delta"), objects(this.cachingRegistry.select($("x").setTags("tenant2"))));
+		assertEquals(Arrays.asList("alpha", "bravo", "delta"),
+		             objects(this.cachingRegistry.select($("bravo").setTags("tenant1", "tenant2"))));
+		assertEquals(Arrays.asList("charlie"), objects(this.cachingRegistry.select($("charlie").setTags("none"))));
+
+		delta.cancel();
+		assertEquals(Arrays.asList("alpha"), objects(this.cachingRegistry.select($("x").setTags("eu"))));
+	}
+
+	@Test
+	public void selectAllMatchesLikeSelectWithoutLoadBalancingOrCaching() {
+		this.cachingRegistry.setLoadBalancingStrategy(Registry.LoadBalancingStrategy.RANDOM);
+		this.cachingRegistry.setSelectionStrategy(new TagAwareSelectionStrategy() {
+			@Override
+			public boolean matches(Selector sel1, Selector sel2) {
+				return sel1.getTags().contains("any");
+			}
+		});
+		this.cachingRegistry.register($("alpha"), "alpha");
+		this.cachingRegistry.register($("bravo").setTags("any"), "bravo");
+		this.cachingRegistry.register($("alpha"), "charlie");
+
+		// Matched by the strategy or by the selector, like select
+		assertEquals(Arrays.asList("alpha", "bravo", "charlie"),
+		             objects(this.cachingRegistry.selectAll($("alpha").setTags("x"))));
+		assertEquals(Arrays.asList("alpha", "charlie"), objects(this.cachingRegistry.selectAll($("alpha"))));
+		assertEquals(0, this.cachingRegistry.getCacheSize());
+	}
+
+	@Test
+	public void tagsThatDidNotGetABitAreComparedAsSets() {
+		// Use up every bit, so the tags below don't get one
+		int i = 0;
+		while (Tags.bitOf("exhaust-" + i++) >= 0) {
+		}
+		assertNull(Tags.bitsOf(Arrays.asList("late-eu")));
+
+		TagAwareSelectionStrategy strategy = new TagAwareSelectionStrategy();
+		assertTrue(strategy.matches($("alpha").setTags("late-eu"), $("alpha").setTags("late-uk", "late-eu")));
+		assertFalse(strategy.matches($("alpha").setTags("late-us"), $("alpha").setTags("late-uk", "late-eu")));
+		assertFalse(strategy.matches($("alpha").setTags("late-eu"), $("bravo").setTags("late-eu")));
+	}
+
+	private static List<Object> objects(Iterable<Registration<? extends Object>> registrations) {
+		List<Object> objects = new ArrayList<Object>();
+		for (Registration<? extends Object> registration : registrations) {
+			objects.add(registration.getObject());
+		}
+		return objects;
+	}
 }
@@ -4,20 +4,29 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.number.OrderingComparison.lessThan;
 import static reactor.Fn.$;
+import static reactor.core.Context.synchronousDispatcher;
 
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.hamcrest.Matcher;
 import org.junit.Test;
 
+import reactor.Fn;
 import reactor.fn.Consumer;
 import reactor.fn.Deferred;
+import reactor.fn.DoubleReduceFunction;
 import reactor.fn.Event;
 import reactor.fn.Function;
+import reactor.fn.LongConsumer;
+import reactor.fn.LongFunction;
+import reactor.fn.LongPredicate;
+import reactor.fn.LongReduceFunction;
 import reactor.fn.Selector;
 
 /**
@@ -97,6 +106,20 @@ public class ComposableTests {
 		await(c, is(10));
 	}
 
+	@Test
+	public void testComposableFailsWhenItTimesOut() throws InterruptedException {
+		Composable<Integer> c = new Composable<Integer>().timeout(100, TimeUnit.MILLISECONDS);
+		final CountDownLatch latch = new CountDownLatch(1);
+		c.when(TimeoutException.class, new Consumer<TimeoutException>() {
+			@Override
+			public void accept(TimeoutException e) {
+				latch.countDown();
+			}
+		});
+
+		assertThat("Timeout has been handled", latch.await(5, TimeUnit.SECONDS), is(true));
+	}
+
 	@Test
 	public void valueIsImmediatelyAvailable() throws InterruptedException {
 		Composable<String> c = Composable.from(Arrays.asList("1", "2", "3", "4", "5"));
@@ -187,6 +210,103 @@ public class ComposableTests {
 		await(c, is(15));
 	}
 
+	@Test
+	public void longComposableMapsFiltersAndReducesPrimitiveValues() throws InterruptedException {
+		Reactor reactor = new Reactor(synchronousDispatcher());
+		LongComposable samples = new LongComposable(new Reactor(synchronousDispatcher()));
+		reactor.on($("samples"), Fn.longConsumer(samples));
+
+		final AtomicLong seen = new AtomicLong();
+		LongComposable sum = samples
+				.map(new LongFunction() {
+					@Override
+					public long apply(long value) {
+						return value * 10;
+					}
+				})
+				.filter(new LongPredicate() {
+					@Override
+					public boolean apply(long value) {
+						return value % 20 == 0;
+					}
+				})
+				.consume(new LongConsumer() {
+					@Override
+					public void accept(long value) {
+						seen.addAndGet(value);
+					}
+				})
+				.reduce(new LongReduceFunction() {
+					@Override
+					public long apply(long lastValue, long nextValue) {
+						return lastValue + nextValue;
+					}
+				}, 0);
+
+		for (long i = 1; i <= 5; i++) {
+			reactor.notify($("samples"), Fn.longEvent(i));
+		}
+
+		assertThat(seen.get(), is(60L));
+		assertThat(sum.awaitLong(1, TimeUnit.SECONDS), is(60L));
+		assertThat(sum.get(), is(60L));
+	}
+
+	@Test
+	public void doubleComposableReducesOnceTheExpectedValuesHaveArrived() throws InterruptedException {
+		DoubleComposable samples = new DoubleComposable(new Reactor(synchronousDispatcher()));
+		DoubleComposable max = samples.reduce(new DoubleReduceFunction() {
+			@Override
+			public double apply(double lastValue, double nextValue) {
+				return Math.max(lastValue, nextValue);
+			}
+		}, Double.NEGATIVE_INFINITY);
+
+		samples.accept(0.5);
+		samples.accept(2.25);
+		samples.accept(-1.0);
+		samples.setExpectedAcceptCount(3);
+
+		assertThat(max.awaitDouble(1, TimeUnit.SECONDS), is(2.25));
+	}
+
+	@Test
+	public void longComposableStillComposesWithFunctions() throws InterruptedException {
+		LongComposable samples = new LongComposable(new Reactor(synchronousDispatcher()));
+		samples.setExpectedAcceptCount(1);
+		Composable<String> s = samples.map(new Function<Long, String>() {
+			@Override
+			public String apply(Long value) {
+				return "value " + value;
+			}
+		});
+
+		samples.accept(42L);
+
+		await(s, is("value 42"));
+	}
+
+	@Test
+	public void errorsInAPrimitiveMapAreReportedOnTheMappedComposable() throws InterruptedException {
+		LongComposable samples = new LongComposable(new Reactor(synchronousDispatcher()));
+		final CountDownLatch latch = new CountDownLatch(1);
+		samples.map(new LongFunction() {
+			@Override
+			public long apply(long value) {
+				throw new IllegalArgumentException();
+			}
+		}).when(IllegalArgumentException.class, new Consumer<IllegalArgumentException>() {
+			@Override
+			public void accept(IllegalArgumentException e) {
+				latch.countDown();
+			}
+		});
+
+		samples.accept(1L);
+
+		assertThat(latch.await(1, TimeUnit.SECONDS), is(true));
+	}
+
 	<T> void await(Deferred<T> d, Matcher<T> expected) throws InterruptedException {
 		long startTime = System.currentTimeMillis();
 		T result = d.await(1, TimeUnit.SECONDS);
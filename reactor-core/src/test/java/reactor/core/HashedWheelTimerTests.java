@@ -0,0 +1,173 @@
+package reactor.core;
+
+import org.junit.After;
+import org.junit.Test;
+import reactor.fn.Consumer;
+import reactor.fn.dispatch.BlockingQueueDispatcher;
+import reactor.fn.dispatch.Dispatcher;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Jon Brisbin
+ */
+public class HashedWheelTimerTests {
+
+	final Dispatcher       dispatcher = new BlockingQueueDispatcher("timer-test", 1024);
+	final HashedWheelTimer timer      = new HashedWheelTimer("timer-test", 10, TimeUnit.MILLISECONDS, 64, dispatcher);
+
+	@After
+	public void cleanup() {
+		timer.destroy();
+		dispatcher.destroy();
+	}
+
+	@Test
+	public void timeoutsFireOnTheDispatcherAfterTheirDelay() throws InterruptedException {
+		final CountDownLatch latch = new CountDownLatch(1);
+		final AtomicReference<String> thread = new AtomicReference<String>();
+		long start = System.currentTimeMillis();
+		HashedWheelTimer.Timeout t = timer.schedule(new Consumer<String>() {
+			@Override
+			public void accept(String s) {
+				thread.set(Thread.currentThread().getName());
+				latch.countDown();
+			}
+		}, "test", 100, TimeUnit.MILLISECONDS);
+
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		long elapsed = System.currentTimeMillis() - start;
+		assertThat(elapsed, greaterThanOrEqualTo(100L));
+		assertThat(thread.get(), startsWith("timer-test-dispatcher"));
+		assertThat(t.isExpired(), is(true));
+	}
+
+	@Test
+	public void timeoutsLongerThanOneTurnOfTheWheelWaitForTheirDeadline() throws InterruptedException {
+		final CountDownLatch latch = new CountDownLatch(1);
+		long start = System.currentTimeMillis();
+		// 64 buckets of 10ms make a 640ms turn
+		timer.schedule(new Consumer<Void>() {
+			@Override
+			public void accept(Void v) {
+				latch.countDown();
+			}
+		}, null, 1000, TimeUnit.MILLISECONDS);
+
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		assertThat(System.currentTimeMillis() - start, greaterThanOrEqualTo(1000L));
+	}
+
+	@Test
+	public void cancelledTimeoutsDoNotFire() throws InterruptedException {
+		final AtomicInteger runs = new AtomicInteger();
+		HashedWheelTimer.Timeout t = timer.schedule(new Consumer<Void>() {
+			@Override
+			public void accept(Void v) {
+				runs.incrementAndGet();
+			}
+		}, null, 50, TimeUnit.MILLISECONDS);
+
+		assertThat(t.cancel(), is(true));
+		assertThat(t.cancel(), is(false));
+		Thread.sleep(200);
+
+		assertThat(runs.get(), is(0));
+		assertThat(t.isCancelled(), is(true));
+	}
+
+	@Test
+	public void repeatingTimeoutsRunUntilCancelled() throws InterruptedException {
+		final CountDownLatch latch = new CountDownLatch(5);
+		HashedWheelTimer.Timeout t = timer.schedule(new Consumer<Void>() {
+			@Override
+			public void accept(Void v) {
+				latch.countDown();
+			}
+		}, null, 20, 20, TimeUnit.MILLISECONDS);
+
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		assertThat(t.cancel(), is(true));
+		assertThat(t.isExpired(), is(false));
+	}
+
+	@Test
+	public void manyTimeoutsCanBeScheduledAndCancelled() throws InterruptedException {
+		int count = 200000;
+		final CountDownLatch latch = new CountDownLatch(count / 2);
+		Consumer<Void> consumer = new Consumer<Void>() {
+			@Override
+			public void accept(Void v) {
+				latch.countDown();
+			}
+		};
+
+		HashedWheelTimer.Timeout[] timeouts = new HashedWheelTimer.Timeout[count];
+		for (int i = 0; i < count; i++) {
+			timeouts[i] = timer.schedule(consumer, null, 100 + (i % 500), TimeUnit.MILLISECONDS);
+		}
+		boolean[] cancelled = new boolean[count];
+		for (int i = 1; i < count; i += 2) {
+			// On a slow run the earliest timeouts might already have fired
+			cancelled[i] = timeouts[i].cancel();
+		}
+
+		assertTrue(latch.await(10, TimeUnit.SECONDS));
+		Thread.sleep(100);
+		for (int i = 1; i < count; i += 2) {
+			if (cancelled[i]) {
+				assertThat(timeouts[i].isExpired(), is(false));
+			}
+		}
+	}
+
+	@Test
+	public void timeoutsForAFullDispatcherAreDeferredWithoutHoldingUpTheTimer() throws InterruptedException {
+		final Dispatcher full = new BlockingQueueDispatcher("timer-test-full", 1);
+		try {
+			final CountDownLatch blocked = new CountDownLatch(1);
+			// The dispatcher has room for 64 tasks at least
+			int count = 70;
+			final CountDownLatch ran = new CountDownLatch(count);
+			Consumer<Void> consumer = new Consumer<Void>() {
+				@Override
+				public void accept(Void v) {
+					try {
+						blocked.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					ran.countDown();
+				}
+			};
+			for (int i = 0; i < count; i++) {
+				timer.schedule(consumer, null, 20, 0, TimeUnit.MILLISECONDS, full);
+			}
+
+			final CountDownLatch other = new CountDownLatch(1);
+			timer.schedule(new Consumer<Void>() {
+				@Override
+				public void accept(Void v) {
+					other.countDown();
+				}
+			}, null, 100, TimeUnit.MILLISECONDS);
+
+			assertTrue(other.await(5, TimeUnit.SECONDS));
+			assertThat(timer.getDeferredCount(), greaterThan(0));
+
+			blocked.countDown();
+			assertTrue(ran.await(5, TimeUnit.SECONDS));
+			assertThat(timer.getDeferredCount(), is(0));
+		} finally {
+			full.destroy();
+		}
+	}
+
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2002-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package reactor.core;
+
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.dsl.ProducerType;
+import org.junit.After;
+import org.junit.Test;
+import reactor.fn.Consumer;
+import reactor.fn.Event;
+import reactor.fn.Selector;
+import reactor.fn.dispatch.ArrayQueueDispatcher;
+import reactor.fn.dispatch.Dispatcher;
+import reactor.fn.dispatch.DispatcherMetrics;
+import reactor.fn.dispatch.RingBufferDispatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static reactor.Fn.$;
+
+/**
+ * @author Jon Brisbin
+ */
+public class OverflowPolicyTests {
+
+	static final int backlog = 4;
+
+	final Selector          sel      = $("test");
+	final CountDownLatch    started  = new CountDownLatch(1);
+	final CountDownLatch    gate     = new CountDownLatch(1);
+	final List<Integer>     received = new CopyOnWriteArrayList<Integer>();
+	final List<Thread>      threads  = new CopyOnWriteArrayList<Thread>();
+	Dispatcher dispatcher;
+	Reactor    reactor;
+
+	@After
+	public void cleanup() {
+		gate.countDown();
+		dispatcher.destroy();
+	}
+
+	@Test
+	public void failFastRejectsNotificationsWhenSaturated() throws InterruptedException {
+		saturate(new ArrayQueueDispatcher("test", backlog), Reactor.OverflowPolicy.FAIL_FAST);
+
+		try {
+			reactor.notify(sel, new Event<Integer>(backlog));
+			fail("Notifying a saturated dispatcher should have been rejected");
+		} catch (RejectedExecutionException expected) {
+		}
+
+		assertThat(reactor.getRejectedCount(), is(1L));
+		assertReceived(backlog);
+	}
+
+	@Test
+	public void dropNewestDropsNotificationsWhenSaturated() throws InterruptedException {
+		saturate(new ArrayQueueDispatcher("test", backlog), Reactor.OverflowPolicy.DROP_NEWEST);
+
+		for (int i = backlog; i < backlog * 2; i++) {
+			reactor.notify(sel, new Event<Integer>(i));
+		}
+
+		assertThat(reactor.getDroppedNewestCount(), is((long) backlog));
+		assertReceived(backlog);
+		assertThat(received, contains(0, 1, 2, 3));
+	}
+
+	@Test
+	public void dropOldestEvictsWaitingNotificationsWhenSaturated() throws InterruptedException {
+		saturate(new ArrayQueueDispatcher("test", backlog), Reactor.OverflowPolicy.DROP_OLDEST);
+
+		for (int i = backlog; i < backlog * 2; i++) {
+			reactor.notify(sel, new Event<Integer>(i));
+		}
+
+		// The first event was already running, so only the ones waiting behind it are evicted
+		assertThat(reactor.getDroppedOldestCount(), is((long) backlog));
+		assertReceived(backlog);
+		assertThat(received, contains(0, 5, 6, 7));
+	}
+
+	@Test
+	public void dropOldestDropsTheNewestWhenTheDispatcherCannotEvict() throws InterruptedException {
+		saturate(new RingBufferDispatcher("test", 1, backlog, ProducerType.MULTI, new BlockingWaitStrategy()),
+						 Reactor.OverflowPolicy.DROP_OLDEST);
+
+		reactor.notify(sel, new Event<Integer>(backlog));
+
+		assertThat(reactor.getDroppedOldestCount(), is(0L));
+		assertThat(reactor.getDroppedNewestCount(), is(1L));
+		assertReceived(backlog);
+	}
+
+	@Test
+	public void callerRunsRunsNotificationsOnTheNotifyingThreadWhenSaturated() throws InterruptedException {
+		saturate(new ArrayQueueDispatcher("test", backlog), Reactor.OverflowPolicy.CALLER_RUNS);
+
+		reactor.notify(sel, new Event<Integer>(backlog));
+
+		assertThat(reactor.getCallerRunsCount(), is(1L));
+		assertThat(threads, contains(Thread.currentThread()));
+		// Counted by the dispatcher it ran in place of
+		DispatcherMetrics metrics = dispatcher.getMetrics();
+		assertThat(metrics.getSubmittedCount(), is((long) backlog + 1));
+		assertThat(metrics.getCompletedCount(), is(1L));
+		assertReceived(backlog + 1);
+	}
+
+	@Test
+	public void blockWaitsForTheDispatcherWhenSaturated() throws InterruptedException {
+		saturate(new ArrayQueueDispatcher("test", backlog), Reactor.OverflowPolicy.BLOCK);
+
+		new Thread() {
+			@Override
+			public void run() {
+				try {
+					Thread.sleep(100);
+				} catch (InterruptedException ignored) {
+				}
+				gate.countDown();
+			}
+		}.start();
+		reactor.notify(sel, new Event<Integer>(backlog));
+
+		assertThat(reactor.getBlockedCount(), is(1L));
+		assertReceived(backlog + 1);
+	}
+
+	@Test
+	public void batchesFollowTheOverflowPolicy() throws InterruptedException {
+		saturate(new ArrayQueueDispatcher("test", backlog), Reactor.OverflowPolicy.DROP_NEWEST);
+
+		List<Event<Integer>> batch = new ArrayList<Event<Integer>>();
+		batch.add(new Event<Integer>(4));
+		batch.add(new Event<Integer>(5));
+		reactor.notify(sel, batch);
+
+		assertThat(reactor.getDroppedNewestCount(), is(2L));
+		assertReceived(backlog);
+	}
+
+	@Test
+	public void batchesThatWaitForTheDispatcherAreCountedAsBlocked() throws InterruptedException {
+		saturate(new RingBufferDispatcher("test", 1, backlog, ProducerType.MULTI, new BlockingWaitStrategy()),
+						 Reactor.OverflowPolicy.BLOCK);
+
+		new Thread() {
+			@Override
+			public void run() {
+				try {
+					Thread.sleep(100);
+				} catch (InterruptedException ignored) {
+				}
+				gate.countDown();
+			}
+		}.start();
+		List<Event<Integer>> batch = new ArrayList<Event<Integer>>();
+		batch.add(new Event<Integer>(4));
+		batch.add(new Event<Integer>(5));
+		reactor.notify(sel, batch);
+
+		assertThat(reactor.getBlockedCount(), is(2L));
+		assertReceived(backlog + 2);
+	}
+
+	/*
+	 * Fill the dispatcher: the first event blocks its consumer until the gate opens and the rest wait behind it.
+	 */
+	private void saturate(Dispatcher dispatcher, Reactor.OverflowPolicy policy) throws InterruptedException {
+		this.dispatcher = dispatcher;
+		this.reactor = new Reactor(dispatcher).setOverflowPolicy(policy);
+		reactor.on(sel, new Consumer<Event<Integer>>() {
+			@Override
+			public void accept(Event<Integer> ev) {
+				if (Thread.currentThread().getName().startsWith("test-")) {
+					started.countDown();
+					try {
+						gate.await(5, TimeUnit.SECONDS);
+					} catch (InterruptedException ignored) {
+					}
+				} else {
+					threads.add(Thread.currentThread());
+				}
+				received.add(ev.getData());
+			}
+		});
+
+		reactor.notify(sel, new Event<Integer>(0));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		for (int i = 1; i < backlog; i++) {
+			reactor.notify(sel, new Event<Integer>(i));
+		}
+	}
+
+	private void assertReceived(int count) throws InterruptedException {
+		gate.countDown();
+		long deadline = System.currentTimeMillis() + 5000;
+		while (received.size() < count && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		Thread.sleep(50);
+		assertThat(received.size(), is(count));
+	}
+
+}
@@ -8,7 +8,10 @@ import reactor.fn.Supplier;
 
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -137,4 +140,51 @@ public class PromiseTests {
 		assertThat("Promise has provided the value to the composition", s.get(), is(100));
 	}
 
+	@Test
+	public void testPromiseFailsWhenItTimesOut() throws InterruptedException {
+		Promise<String> p = new Promise<String>().timeout(100, TimeUnit.MILLISECONDS);
+		final CountDownLatch latch = new CountDownLatch(1);
+		final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+		p.onError(new Consumer<Throwable>() {
+			@Override
+			public void accept(Throwable t) {
+				error.set(t);
+				latch.countDown();
+			}
+		});
+
+		assertThat("Promise has timed out", latch.await(5, TimeUnit.SECONDS), is(true));
+		assertThat("Promise is in failed state", p.getState(), is(Promise.State.FAILURE));
+		assertThat("Error is a timeout", error.get(), is(instanceOf(TimeoutException.class)));
+	}
+
+	@Test
+	public void testTimedOutPromiseHasItsErrorAsSoonAsItHasFailed() throws InterruptedException {
+		Promise<String> p = new Promise<String>().timeout(50, TimeUnit.MILLISECONDS);
+
+		long deadline = System.currentTimeMillis() + 5000;
+		while (p.getState() == Promise.State.PENDING && System.currentTimeMillis() < deadline) {
+			Thread.yield();
+		}
+		assertThat("Promise is in failed state", p.getState(), is(Promise.State.FAILURE));
+		try {
+			p.get();
+		} catch (IllegalStateException e) {
+			assertThat("Cause is the timeout", e.getCause(), is(instanceOf(TimeoutException.class)));
+			return;
+		}
+		throw new AssertionError("get() should have thrown");
+	}
+
+	@Test
+	public void testPromiseSetInTimeDoesNotTimeOut() throws InterruptedException {
+		Promise<String> p = new Promise<String>().timeout(100, TimeUnit.MILLISECONDS);
+		p.set("Hello World!");
+
+		Thread.sleep(300);
+
+		assertThat("Promise is in success state", p.getState(), is(Promise.State.SUCCESS));
+		assertThat("Promise contains value", p.get(), is("Hello World!"));
+	}
+
 }
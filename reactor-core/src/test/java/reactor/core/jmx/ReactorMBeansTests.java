@@ -0,0 +1,157 @@
+package reactor.core.jmx;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.Context;
+import reactor.core.R;
+import reactor.core.Reactor;
+import reactor.fn.Consumer;
+import reactor.fn.Event;
+import reactor.fn.Registry;
+import reactor.fn.Selector;
+
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertTrue;
+import static reactor.Fn.$;
+
+/**
+ * @author Jon Brisbin
+ */
+public class ReactorMBeansTests {
+
+	final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+	@Before
+	public void setup() {
+		ReactorMBeans.register();
+	}
+
+	@After
+	public void cleanup() {
+		ReactorMBeans.unregister();
+	}
+
+	@Test
+	public void contextDispatchersAreRegistered() throws Exception {
+		assertTrue(server.isRegistered(new ObjectName("reactor:type=Dispatcher,name=root")));
+		assertTrue(server.isRegistered(new ObjectName("reactor:type=Dispatcher,name=pool")));
+		assertTrue(server.isRegistered(new ObjectName("reactor:type=Dispatcher,name=sync")));
+		int workers = Context.workerDispatchers().length;
+		assertThat(server.queryNames(new ObjectName("reactor:type=Dispatcher,name=worker-*"), null).size(), is(workers));
+
+		ObjectName root = new ObjectName("reactor:type=Dispatcher,name=root");
+		assertThat((String) server.getAttribute(root, "Type"), is("RingBufferDispatcher"));
+		assertThat((Boolean) server.getAttribute(root, "Alive"), is(true));
+		assertThat((Long) server.getAttribute(root, "Backlog"), greaterThanOrEqualTo(0L));
+		assertThat((Long) server.getAttribute(root, "RemainingCapacity"), greaterThan(0L));
+
+		server.setAttribute(root, new Attribute("SampleRate", 4));
+		assertThat((Integer) server.getAttribute(root, "SampleRate"), is(4));
+		server.setAttribute(root, new Attribute("SampleRate", 16));
+	}
+
+	@Test
+	public void reactorsHeldByRAreRegisteredAndCanBeManaged() throws Exception {
+		Reactor reactor = R.create(true);
+		Selector test = $("test");
+		final CountDownLatch latch = new CountDownLatch(1);
+		reactor.on($("test"), new Consumer<Event<String>>() {
+			@Override
+			public void accept(Event<String> ev) {
+				latch.countDown();
+			}
+		});
+		reactor.link(R.create(true));
+		ReactorMBeans.refresh();
+
+		ObjectName name = new ObjectName("reactor:type=Reactor,id=" + reactor.getId());
+		assertTrue(server.isRegistered(name));
+		assertThat((Integer) server.getAttribute(name, "RegistrationCount"), is(1));
+		assertThat(((String[]) server.getAttribute(name, "LinkedReactors")).length, is(1));
+		assertThat((String) server.getAttribute(name, "DispatcherType"), is("SynchronousDispatcher"));
+
+		assertThat((Integer) server.invoke(name, "pause", new Object[]{"test"}, new String[]{String.class.getName()}), is(1));
+		assertThat((Integer) server.getAttribute(name, "PausedRegistrationCount"), is(1));
+		reactor.notify(test, new Event<String>("paused"));
+		assertThat(latch.getCount(), is(1L));
+
+		assertThat((Integer) server.invoke(name, "resumeAll", new Object[0], new String[0]), is(1));
+		reactor.notify(test, new Event<String>("resumed"));
+		assertTrue(latch.await(1, TimeUnit.SECONDS));
+		assertThat((Long) server.getAttribute(name, "CacheHits"), greaterThan(0L));
+		assertThat((Double) server.getAttribute(name, "CacheHitRatio"), greaterThan(0.0));
+
+		server.setAttribute(name, new Attribute("LoadBalancingStrategy", "ROUND_ROBIN"));
+		assertThat((String) server.getAttribute(name, "LoadBalancingStrategy"), is("ROUND_ROBIN"));
+		server.setAttribute(name, new Attribute("OverflowPolicy", "DROP_NEWEST"));
+		assertThat(reactor.getOverflowPolicy(), is(Reactor.OverflowPolicy.DROP_NEWEST));
+	}
+
+	@Test
+	public void pauseAppliesToEveryMatchingConsumerOfALoadBalancedReactor() throws Exception {
+		Reactor reactor = R.create(true);
+		reactor.getConsumerRegistry().setLoadBalancingStrategy(Registry.LoadBalancingStrategy.ROUND_ROBIN);
+		final AtomicInteger received = new AtomicInteger();
+		Consumer<Event<String>> count = new Consumer<Event<String>>() {
+			@Override
+			public void accept(Event<String> ev) {
+				received.incrementAndGet();
+			}
+		};
+		for (int i = 0; i < 3; i++) {
+			reactor.on($("test"), count);
+		}
+		reactor.on($("other"), count);
+		ReactorMBeans.refresh();
+
+		ObjectName name = new ObjectName("reactor:type=Reactor,id=" + reactor.getId());
+		assertThat((Integer) server.invoke(name, "pause", new Object[]{"test"}, new String[]{String.class.getName()}), is(3));
+		assertThat((Integer) server.getAttribute(name, "PausedRegistrationCount"), is(3));
+		Selector test = $("test");
+		for (int i = 0; i < 3; i++) {
+			reactor.notify(test, new Event<String>("paused"));
+		}
+		assertThat(received.get(), is(0));
+
+		assertThat((Integer) server.invoke(name, "resume", new Object[]{"test"}, new String[]{String.class.getName()}), is(3));
+		assertThat((Integer) server.getAttribute(name, "PausedRegistrationCount"), is(0));
+	}
+
+	@Test
+	public void reactorsRemovedFromRAreUnregistered() throws Exception {
+		final boolean[] valid = {true};
+		Reactor reactor = R.create(new R.Validator() {
+			@Override
+			public boolean isValid(String id, Reactor reactor, Long age) {
+				return valid[0];
+			}
+		});
+		ReactorMBeans.refresh();
+		ObjectName name = new ObjectName("reactor:type=Reactor,id=" + reactor.getId());
+		assertTrue(server.isRegistered(name));
+
+		valid[0] = false;
+		assertThat(R.get(reactor.getId()), is(nullValue()));
+		ReactorMBeans.refresh();
+
+		assertThat(server.isRegistered(name), is(false));
+	}
+
+	@Test
+	public void everythingIsUnregistered() throws Exception {
+		ReactorMBeans.unregister();
+
+		assertThat(server.queryNames(new ObjectName("reactor:*"), null).size(), is(0));
+	}
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2002-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package reactor.dispatch;
+
+import com.lmax.disruptor.dsl.ProducerType;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Reactor;
+import reactor.fn.Consumer;
+import reactor.fn.Event;
+import reactor.fn.Selector;
+import reactor.fn.dispatch.AdaptiveWaitStrategy;
+import reactor.fn.dispatch.RingBufferDispatcher;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static reactor.Fn.$;
+
+/**
+ * @author Jon Brisbin
+ */
+public class AdaptiveWaitStrategyTests {
+
+	static final Logger LOG = LoggerFactory.getLogger(AdaptiveWaitStrategyTests.class);
+
+	@Test
+	public void tasksAreDeliveredAcrossBurstsAndIdlePeriods() throws InterruptedException {
+		AdaptiveWaitStrategy waitStrategy = new AdaptiveWaitStrategy(10, 100, TimeUnit.MICROSECONDS);
+		RingBufferDispatcher dispatcher = new RingBufferDispatcher("adaptive", 1, 64, ProducerType.MULTI, waitStrategy);
+		Reactor reactor = new Reactor(dispatcher);
+		Selector sel = $("test");
+		int bursts = 5;
+		int burstSize = 1000;
+		final CountDownLatch latch = new CountDownLatch(bursts * burstSize);
+		reactor.on(sel, new Consumer<Event<Integer>>() {
+			@Override
+			public void accept(Event<Integer> ev) {
+				latch.countDown();
+			}
+		});
+
+		for (int i = 0; i < bursts; i++) {
+			for (int j = 0; j < burstSize; j++) {
+				reactor.notify(sel, new Event<Integer>(j));
+			}
+			Thread.sleep(50);
+		}
+
+		assertTrue(latch.await(30, TimeUnit.SECONDS));
+		dispatcher.destroy();
+	}
+
+	@Test
+	public void consumerBlocksInsteadOfSpinningWhenTasksAreFarApart() throws InterruptedException {
+		AdaptiveWaitStrategy waitStrategy = new AdaptiveWaitStrategy(10, 100, TimeUnit.MICROSECONDS);
+		RingBufferDispatcher dispatcher = new RingBufferDispatcher("adaptive-idle", 1, 64, ProducerType.MULTI, waitStrategy);
+		Reactor reactor = new Reactor(dispatcher);
+		Selector sel = $("test");
+		int count = 20;
+		final CountDownLatch latch = new CountDownLatch(count + 1);
+		reactor.on(sel, new Consumer<Event<Void>>() {
+			@Override
+			public void accept(Event<Void> ev) {
+				latch.countDown();
+			}
+		});
+		// Make sure the consumer thread has started
+		reactor.notify(sel, new Event<Void>(null));
+
+		Thread consumer = null;
+		for (Thread t : Thread.getAllStackTraces().keySet()) {
+			if (t.getName().startsWith("adaptive-idle-dispatcher-")) {
+				consumer = t;
+			}
+		}
+		assertNotNull(consumer);
+
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		long cpuStart = threads.getThreadCpuTime(consumer.getId());
+		long start = System.currentTimeMillis();
+		for (int i = 0; i < count; i++) {
+			Thread.sleep(20);
+			reactor.notify(sel, new Event<Void>(null));
+		}
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		long elapsed = System.currentTimeMillis() - start;
+		long cpuMillis = TimeUnit.NANOSECONDS.toMillis(threads.getThreadCpuTime(consumer.getId()) - cpuStart);
+
+		LOG.info("Consumer used {}ms of CPU in {}ms with tasks 20ms apart, average wait {}us",
+						 cpuMillis,
+						 elapsed,
+						 TimeUnit.NANOSECONDS.toMicros(waitStrategy.getAverageWaitNanos()));
+		assertThat(cpuMillis, lessThan(elapsed / 10));
+		assertThat(waitStrategy.getAverageWaitNanos(), greaterThan(TimeUnit.MICROSECONDS.toNanos(100)));
+		dispatcher.destroy();
+	}
+
+}
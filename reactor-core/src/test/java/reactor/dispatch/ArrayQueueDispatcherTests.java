@@ -0,0 +1,141 @@
+/*
+ * Copyright 2002-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package reactor.dispatch;
+
+import org.junit.Test;
+import reactor.core.Reactor;
+import reactor.fn.Consumer;
+import reactor.fn.Event;
+import reactor.fn.dispatch.ArrayQueueDispatcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static reactor.Fn.$;
+
+/**
+ * @author Jon Brisbin
+ */
+public class ArrayQueueDispatcherTests {
+
+	@Test
+	public void tasksAreRunInOrderAndProducersWaitForFreeTasks() throws InterruptedException {
+		ArrayQueueDispatcher dispatcher = new ArrayQueueDispatcher("test", 8);
+		Reactor reactor = new Reactor(dispatcher);
+		int count = 10000;
+		final CountDownLatch latch = new CountDownLatch(count);
+		final AtomicLong next = new AtomicLong();
+		final AtomicLong outOfOrder = new AtomicLong();
+		reactor.on($("test"), new Consumer<Event<Long>>() {
+			@Override
+			public void accept(Event<Long> ev) {
+				if (ev.getData() != next.getAndIncrement()) {
+					outOfOrder.incrementAndGet();
+				}
+				latch.countDown();
+			}
+		});
+
+		for (long i = 0; i < count; i++) {
+			reactor.notify($("test"), new Event<Long>(i));
+		}
+
+		assertTrue(latch.await(30, TimeUnit.SECONDS));
+		assertThat(outOfOrder.get(), is(0L));
+		dispatcher.destroy();
+	}
+
+	@Test
+	public void anInterruptThatDoesNotComeFromStopIsIgnored() throws InterruptedException {
+		ArrayQueueDispatcher dispatcher = new ArrayQueueDispatcher("test", 64);
+		Reactor reactor = new Reactor(dispatcher);
+		final CountDownLatch latch = new CountDownLatch(10);
+		reactor.on($("interrupt"), new Consumer<Event<Void>>() {
+			@Override
+			public void accept(Event<Void> ev) {
+				Thread.currentThread().interrupt();
+				latch.countDown();
+			}
+		});
+
+		for (int i = 0; i < 10; i++) {
+			reactor.notify($("interrupt"), new Event<Void>(null));
+			Thread.sleep(10);
+		}
+
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		assertThat(dispatcher.isAlive(), is(true));
+		dispatcher.destroy();
+	}
+
+	@Test
+	public void aRestartedDispatcherIsOnlyRunByOneThread() throws InterruptedException {
+		ArrayQueueDispatcher dispatcher = new ArrayQueueDispatcher("test", 64);
+		Reactor reactor = new Reactor(dispatcher);
+		int events = 50;
+		final CountDownLatch latch = new CountDownLatch(events);
+		final List<Integer> received = Collections.synchronizedList(new ArrayList<Integer>());
+		final AtomicInteger running = new AtomicInteger();
+		final AtomicBoolean overlapped = new AtomicBoolean();
+		reactor.on($("orders"), new Consumer<Event<Integer>>() {
+			@Override
+			public void accept(Event<Integer> ev) {
+				if (running.incrementAndGet() > 1) {
+					overlapped.set(true);
+				}
+				try {
+					Thread.sleep(2);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				received.add(ev.getData());
+				running.decrementAndGet();
+				latch.countDown();
+			}
+		});
+
+		for (int i = 0; i < events; i++) {
+			reactor.notify($("orders"), new Event<Integer>(i));
+			if (i % 5 == 2) {
+				dispatcher.stop();
+				dispatcher.start();
+			}
+		}
+
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		assertFalse(overlapped.get());
+		List<Integer> expected = new ArrayList<Integer>();
+		for (int i = 0; i < events; i++) {
+			expected.add(i);
+		}
+		assertThat(received, is(expected));
+		dispatcher.destroy();
+	}
+
+}
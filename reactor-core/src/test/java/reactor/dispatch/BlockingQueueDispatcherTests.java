@@ -0,0 +1,89 @@
+/*
+ * Copyright 2002-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package reactor.dispatch;
+
+import org.junit.After;
+import org.junit.Test;
+import reactor.core.Reactor;
+import reactor.fn.Consumer;
+import reactor.fn.Event;
+import reactor.fn.dispatch.BlockingQueueDispatcher;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertTrue;
+import static reactor.Fn.$;
+
+/**
+ * @author Jon Brisbin
+ */
+public class BlockingQueueDispatcherTests {
+
+	final BlockingQueueDispatcher dispatcher = new BlockingQueueDispatcher("test", 64);
+	final Reactor                 reactor    = new Reactor(dispatcher);
+
+	@After
+	public void cleanup() {
+		dispatcher.destroy();
+	}
+
+	@Test
+	public void anInterruptThatDoesNotComeFromStopIsIgnored() throws InterruptedException {
+		final CountDownLatch latch = new CountDownLatch(2);
+		reactor.on($("interrupt"), new Consumer<Event<Void>>() {
+			@Override
+			public void accept(Event<Void> ev) {
+				Thread.currentThread().interrupt();
+				latch.countDown();
+			}
+		});
+
+		reactor.notify($("interrupt"), new Event<Void>(null));
+		Thread.sleep(100);
+		reactor.notify($("interrupt"), new Event<Void>(null));
+
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		assertThat(dispatcher.isAlive(), is(true));
+	}
+
+	@Test
+	public void stoppingTheDispatcherEndsItsThread() throws InterruptedException {
+		final CountDownLatch latch = new CountDownLatch(1);
+		final Thread[] thread = new Thread[1];
+		reactor.on($("thread"), new Consumer<Event<Void>>() {
+			@Override
+			public void accept(Event<Void> ev) {
+				thread[0] = Thread.currentThread();
+				latch.countDown();
+			}
+		});
+		reactor.notify($("thread"), new Event<Void>(null));
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+		dispatcher.stop();
+		thread[0].join(5000);
+
+		assertThat(thread[0].isAlive(), is(false));
+		assertThat(dispatcher.isAlive(), is(false));
+	}
+
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2002-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package reactor.dispatch;
+
+import com.lmax.disruptor.dsl.ProducerType;
+import org.junit.Test;
+import reactor.core.CachingRegistry;
+import reactor.fn.*;
+import reactor.fn.dispatch.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertTrue;
+import static reactor.Fn.$;
+
+/**
+ * @author Jon Brisbin
+ */
+public class DispatcherMetricsTests {
+
+	static final int COUNT = 1000;
+
+	final Selector                               sel      = $("metrics");
+	final Registry<Consumer<? extends Event<?>>> registry = new CachingRegistry<Consumer<? extends Event<?>>>();
+	final Consumer<Throwable>                    ignore   = new Consumer<Throwable>() {
+		@Override
+		public void accept(Throwable t) {
+		}
+	};
+
+	@Test
+	public void synchronousDispatcherCountsTasks() throws InterruptedException {
+		assertTasksAreCounted(new SynchronousDispatcher());
+	}
+
+	@Test
+	public void blockingQueueDispatcherCountsTasks() throws InterruptedException {
+		assertTasksAreCounted(new BlockingQueueDispatcher("test", 64));
+	}
+
+	@Test
+	public void arrayQueueDispatcherCountsTasks() throws InterruptedException {
+		assertTasksAreCounted(new ArrayQueueDispatcher("test", 64));
+	}
+
+	@Test
+	public void ringBufferDispatcherCountsTasks() throws InterruptedException {
+		assertTasksAreCounted(new RingBufferDispatcher("test",
+																									 1,
+																									 64,
+																									 ProducerType.SINGLE,
+																									 RingBufferDispatcher.WaitMode.BLOCKING.createWaitStrategy()));
+	}
+
+	@Test
+	public void laneDispatcherCountsTasks() throws InterruptedException {
+		assertTasksAreCounted(new LaneDispatcher("test", 2, 64));
+	}
+
+	@Test
+	public void workStealingDispatcherCountsTasks() throws InterruptedException {
+		assertTasksAreCounted(new WorkStealingDispatcher("test", 2, 64));
+	}
+
+	@Test
+	public void pooledDispatcherAddsUpThePooledDispatchers() throws InterruptedException {
+		Dispatcher d1 = new ArrayQueueDispatcher("test-1", 64);
+		Dispatcher d2 = new ArrayQueueDispatcher("test-2", 64);
+		PooledDispatcher pool = new PooledDispatcher(d1, d2);
+
+		assertTasksAreCounted(pool);
+
+		assertThat(d1.getMetrics().getSubmittedCount(), is((long) COUNT / 2));
+		assertThat(d2.getMetrics().getSubmittedCount(), is((long) COUNT / 2));
+		assertThat(pool.getMetrics().getRemainingCapacity(), is(128L));
+		assertThat(pool.getDispatchers().length, is(2));
+	}
+
+	@Test
+	public void evictedTasksAreCountedAsEvicted() throws InterruptedException {
+		ArrayQueueDispatcher dispatcher = new ArrayQueueDispatcher("test", 4);
+		DispatcherMetrics metrics = dispatcher.getMetrics();
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		registry.register(sel, new Consumer<Event<Integer>>() {
+			@Override
+			public void accept(Event<Integer> ev) {
+				started.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+
+		// Keep the only worker busy, so the next two tasks stay queued
+		submit(dispatcher, 0);
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		submit(dispatcher, 1);
+		submit(dispatcher, 2);
+
+		// Replace the oldest queued task, like an overflow policy that drops the oldest event
+		Task<Integer> t = dispatcher.evictOldestTask();
+		assertThat(t, is(notNullValue()));
+		t.setSelector(sel);
+		t.setConsumerRegistry(registry);
+		t.setEvent(new Event<Integer>(3));
+		t.setErrorConsumer(ignore);
+		t.submit();
+
+		release.countDown();
+		awaitFinished(metrics, 3);
+
+		assertThat(metrics.getSubmittedCount(), is(4L));
+		assertThat(metrics.getCompletedCount(), is(3L));
+		assertThat(metrics.getEvictedCount(), is(1L));
+		assertThat(metrics.getSubmittedCount(),
+		           is(metrics.getCompletedCount() + metrics.getFailedCount() + metrics.getEvictedCount()));
+		dispatcher.destroy();
+	}
+
+	@Test
+	public void onlyASampleOfTheTasksAreTimed() throws InterruptedException {
+		ArrayQueueDispatcher dispatcher = new ArrayQueueDispatcher("test", 64);
+		DispatcherMetrics metrics = dispatcher.getMetrics().setSampleRate(10);
+		final CountDownLatch latch = new CountDownLatch(COUNT);
+		registry.register(sel, new Consumer<Event<Integer>>() {
+			@Override
+			public void accept(Event<Integer> ev) {
+				latch.countDown();
+			}
+		});
+
+		for (int i = 0; i < COUNT; i++) {
+			submit(dispatcher, i);
+		}
+
+		assertTrue(latch.await(30, TimeUnit.SECONDS));
+		awaitFinished(metrics, COUNT);
+
+		// The rate is rounded up to 16
+		assertThat(metrics.getCompletedCount(), is((long) COUNT));
+		assertThat(metrics.getQueueWaitTimes().getCount(), is((long) COUNT / 16));
+		assertThat(metrics.getExecutionTimes().getCount(), is((long) COUNT / 16));
+		dispatcher.destroy();
+	}
+
+	@Test
+	public void eachThreadTimesASampleOfItsOwnTasks() throws InterruptedException {
+		final SynchronousDispatcher dispatcher = new SynchronousDispatcher();
+		DispatcherMetrics metrics = dispatcher.getMetrics().setSampleRate(16);
+		SynchronousDispatcher other = new SynchronousDispatcher();
+		registry.register(sel, new Consumer<Event<Integer>>() {
+			@Override
+			public void accept(Event<Integer> ev) {
+			}
+		});
+
+		Thread[] threads = new Thread[4];
+		for (int i = 0; i < threads.length; i++) {
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int i = 0; i < COUNT; i++) {
+						submit(dispatcher, i);
+					}
+				}
+			});
+			threads[i].start();
+		}
+		for (Thread t : threads) {
+			t.join();
+		}
+		// Alternating with another dispatcher doesn't change which of this one's tasks are timed
+		for (int i = 0; i < COUNT; i++) {
+			submit(dispatcher, i);
+			submit(other, i);
+		}
+
+		assertThat(metrics.getExecutionTimes().getCount(), is((long) (threads.length + 1) * (COUNT / 16)));
+		assertThat(other.getMetrics().getExecutionTimes().getCount(), is((long) COUNT / 16));
+	}
+
+	@Test
+	public void backlogAndQueueWaitShowATaskThatIsHeldUp() throws InterruptedException {
+		ArrayQueueDispatcher dispatcher = new ArrayQueueDispatcher("test", 8);
+		DispatcherMetrics metrics = dispatcher.getMetrics().setSampleRate(1);
+		final CountDownLatch gate = new CountDownLatch(1);
+		final CountDownLatch done = new CountDownLatch(4);
+		registry.register(sel, new Consumer<Event<Integer>>() {
+			@Override
+			public void accept(Event<Integer> ev) {
+				try {
+					gate.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				done.countDown();
+			}
+		});
+
+		for (int i = 0; i < 4; i++) {
+			submit(dispatcher, i);
+		}
+		Thread.sleep(100);
+
+		// One task is held up in its consumer, the other three are waiting behind it
+		assertThat(metrics.getBacklog(), is(3L));
+		assertThat(metrics.getRemainingCapacity(), is(4L));
+
+		gate.countDown();
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		awaitFinished(metrics, 4);
+
+		assertThat(metrics.getBacklog(), is(0L));
+		assertThat(metrics.getRemainingCapacity(), is(8L));
+		assertThat(metrics.getExecutionTimes().getMax(), greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50)));
+		assertThat(metrics.getQueueWaitTimes().getValueAtPercentile(100),
+							 greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50)));
+		dispatcher.destroy();
+	}
+
+	private void assertTasksAreCounted(Dispatcher dispatcher) throws InterruptedException {
+		dispatcher.getMetrics().setSampleRate(1);
+		final CountDownLatch latch = new CountDownLatch(COUNT);
+		registry.register(sel, new Consumer<Event<Integer>>() {
+			@Override
+			public void accept(Event<Integer> ev) {
+				latch.countDown();
+				if (ev.getData() % 10 == 0) {
+					throw new IllegalStateException("Failing task " + ev.getData());
+				}
+			}
+		});
+
+		for (int i = 0; i < COUNT; i++) {
+			submit(dispatcher, i);
+		}
+
+		assertTrue(latch.await(30, TimeUnit.SECONDS));
+		DispatcherMetrics metrics = dispatcher.getMetrics();
+		awaitFinished(metrics, COUNT);
+
+		assertThat(metrics.getSubmittedCount(), is((long) COUNT));
+		assertThat(metrics.getCompletedCount(), is((long) COUNT - COUNT / 10));
+		assertThat(metrics.getFailedCount(), is((long) COUNT / 10));
+		assertThat(metrics.getBacklog(), is(0L));
+		assertThat(metrics.getQueueWaitTimes().getCount(), is((long) COUNT));
+		assertThat(metrics.getExecutionTimes().getCount(), is((long) COUNT));
+		assertThat(metrics.getExecutionTimes().getMax(), greaterThan(0L));
+		dispatcher.destroy();
+	}
+
+	private void submit(Dispatcher dispatcher, int i) {
+		Task<Integer> t = dispatcher.nextTask();
+		t.setSelector(sel);
+		t.setConsumerRegistry(registry);
+		t.setEvent(new Event<Integer>(i));
+		t.setErrorConsumer(ignore);
+		t.submit();
+	}
+
+	private static void awaitFinished(DispatcherMetrics metrics, long count) throws InterruptedException {
+		// The counts are updated just after the consumer returns
+		long deadline = System.currentTimeMillis() + 5000;
+		while (metrics.getCompletedCount() + metrics.getFailedCount() < count && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+	}
+
+}
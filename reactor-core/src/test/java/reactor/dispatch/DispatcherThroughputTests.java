@@ -19,6 +19,7 @@
 package reactor.dispatch;
 
 import com.lmax.disruptor.BusySpinWaitStrategy;
+import com.lmax.disruptor.YieldingWaitStrategy;
 import com.lmax.disruptor.dsl.ProducerType;
 import org.junit.Before;
 import org.junit.Test;
@@ -28,8 +29,12 @@ import reactor.core.Reactor;
 import reactor.fn.Consumer;
 import reactor.fn.Event;
 import reactor.fn.Selector;
+import reactor.fn.dispatch.LaneDispatcher;
 import reactor.fn.dispatch.RingBufferDispatcher;
+import reactor.fn.dispatch.WorkStealingDispatcher;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -46,6 +51,7 @@ public class DispatcherThroughputTests {
 	static final int    selectors  = 500;
 	static final int    iterations = 2000;
 	static final int    testRuns   = 3;
+	static final int    batchSize  = 100;
 
 	Reactor        reactor;
 	CountDownLatch latch;
@@ -100,6 +106,22 @@ public class DispatcherThroughputTests {
 		}
 	}
 
+	protected void doBatchTest() throws InterruptedException {
+		List<Event<String>> batch = new ArrayList<Event<String>>();
+		for (int i = 0; i < batchSize; i++) {
+			batch.add(hello);
+		}
+		for (int j = 0; j < testRuns; j++) {
+			latch = new CountDownLatch(selectors * iterations);
+			startTimer();
+			for (int i = 0; i < (selectors * iterations) / batchSize; i++) {
+				reactor.notify(sels[i % selectors], batch);
+			}
+			latch.await(30, TimeUnit.SECONDS);
+			stopTimer();
+		}
+	}
+
 	@Test
 	public void testBlockingQueueDispatcher() throws InterruptedException {
 		reactor.setDispatcher(nextWorkerDispatcher());
@@ -136,4 +158,104 @@ public class DispatcherThroughputTests {
 		doTest();
 	}
 
+	@Test
+	public void testRingBufferDispatcherBatches() throws InterruptedException {
+		reactor.setDispatcher(new RingBufferDispatcher("test",
+																									 1,
+																									 1024,
+																									 ProducerType.SINGLE,
+																									 new BusySpinWaitStrategy()));
+
+		LOG.info("Starting single, busy spin RingBuffer test, notifying in batches of " + batchSize + "...");
+		doTest();
+		doBatchTest();
+		reactor.getDispatcher().destroy();
+	}
+
+	@Test
+	public void testMultiProducerRingBufferDispatcherBatches() throws InterruptedException {
+		reactor.setDispatcher(new RingBufferDispatcher("test",
+																									 1,
+																									 1024,
+																									 ProducerType.MULTI,
+																									 new BusySpinWaitStrategy()));
+
+		LOG.info("Starting multi, busy spin RingBuffer test, notifying in batches of " + batchSize + "...");
+		doTest();
+		doBatchTest();
+		reactor.getDispatcher().destroy();
+	}
+
+	@Test
+	public void testBlockingRingBufferDispatcher() throws InterruptedException {
+		reactor.setDispatcher(new RingBufferDispatcher("test",
+																									 1,
+																									 1024,
+																									 ProducerType.MULTI,
+																									 RingBufferDispatcher.WaitMode.BLOCKING.createWaitStrategy()));
+
+		LOG.info("Starting multi, blocking RingBuffer test...");
+		doTest();
+		reactor.getDispatcher().destroy();
+	}
+
+	@Test
+	public void testAdaptiveRingBufferDispatcher() throws InterruptedException {
+		reactor.setDispatcher(new RingBufferDispatcher("test",
+																									 1,
+																									 1024,
+																									 ProducerType.MULTI,
+																									 RingBufferDispatcher.WaitMode.ADAPTIVE.createWaitStrategy()));
+
+		LOG.info("Starting multi, adaptive RingBuffer test...");
+		doTest();
+		reactor.getDispatcher().destroy();
+	}
+
+	@Test
+	public void testWorkerPoolRingBufferDispatcher() throws InterruptedException {
+		reactor.setDispatcher(new RingBufferDispatcher("test",
+																									 4,
+																									 1024,
+																									 ProducerType.SINGLE,
+																									 new YieldingWaitStrategy(),
+																									 RingBufferDispatcher.ConsumerMode.WORKER_POOL));
+
+		LOG.info("Starting single, yielding RingBuffer test, consumed by 4 workers...");
+		doTest();
+		reactor.getDispatcher().destroy();
+	}
+
+	@Test
+	public void testSelectorOrderedRingBufferDispatcher() throws InterruptedException {
+		reactor.setDispatcher(new RingBufferDispatcher("test",
+																									 4,
+																									 1024,
+																									 ProducerType.SINGLE,
+																									 new YieldingWaitStrategy(),
+																									 RingBufferDispatcher.ConsumerMode.SELECTOR_ORDERED));
+
+		LOG.info("Starting single, yielding RingBuffer test, consumed by 4 selector-ordered lanes...");
+		doTest();
+		reactor.getDispatcher().destroy();
+	}
+
+	@Test
+	public void testLaneDispatcher() throws InterruptedException {
+		reactor.setDispatcher(new LaneDispatcher("test", 4, 1024));
+
+		LOG.info("Starting lane test, with 4 lanes...");
+		doTest();
+		reactor.getDispatcher().destroy();
+	}
+
+	@Test
+	public void testWorkStealingDispatcher() throws InterruptedException {
+		reactor.setDispatcher(new WorkStealingDispatcher("test", 4, 1024));
+
+		LOG.info("Starting work stealing test, with 4 workers...");
+		doTest();
+		reactor.getDispatcher().destroy();
+	}
+
 }
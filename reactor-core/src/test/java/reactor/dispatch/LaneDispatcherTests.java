@@ -0,0 +1,248 @@
+/*
+ * Copyright 2002-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package reactor.dispatch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.Reactor;
+import reactor.fn.Consumer;
+import reactor.fn.Event;
+import reactor.fn.dispatch.LaneDispatcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static reactor.Fn.$;
+
+/**
+ * @author Jon Brisbin
+ */
+public class LaneDispatcherTests {
+
+	LaneDispatcher dispatcher;
+	Reactor        reactor;
+
+	@Before
+	public void setup() {
+		dispatcher = new LaneDispatcher("test", 4, 1024, "account");
+		reactor = new Reactor(dispatcher);
+	}
+
+	@After
+	public void cleanup() {
+		dispatcher.destroy();
+	}
+
+	@Test
+	public void eventsWithTheSameKeyAreRunInOrderOnOneThread() throws InterruptedException {
+		int accounts = 32;
+		int perAccount = 500;
+		final CountDownLatch latch = new CountDownLatch(accounts * perAccount);
+		final Map<String, List<Integer>> received = new ConcurrentHashMap<String, List<Integer>>();
+		final Map<String, Set<Thread>> threads = new ConcurrentHashMap<String, Set<Thread>>();
+		final Set<Thread> allThreads = Collections.newSetFromMap(new ConcurrentHashMap<Thread, Boolean>());
+		for (int a = 0; a < accounts; a++) {
+			received.put("account" + a, Collections.synchronizedList(new ArrayList<Integer>()));
+			threads.put("account" + a, Collections.newSetFromMap(new ConcurrentHashMap<Thread, Boolean>()));
+		}
+		reactor.on($("transfers"), new Consumer<Event<Integer>>() {
+			@Override
+			public void accept(Event<Integer> ev) {
+				String account = ev.getHeaders().get("account");
+				received.get(account).add(ev.getData());
+				threads.get(account).add(Thread.currentThread());
+				allThreads.add(Thread.currentThread());
+				latch.countDown();
+			}
+		});
+
+		for (int i = 0; i < perAccount; i++) {
+			for (int a = 0; a < accounts; a++) {
+				Event<Integer> ev = new Event<Integer>(i);
+				ev.getHeaders().set("account", "account" + a);
+				reactor.notify($("transfers"), ev);
+			}
+		}
+
+		assertTrue(latch.await(30, TimeUnit.SECONDS));
+		List<Integer> expected = new ArrayList<Integer>();
+		for (int i = 0; i < perAccount; i++) {
+			expected.add(i);
+		}
+		for (int a = 0; a < accounts; a++) {
+			assertThat(received.get("account" + a), is(expected));
+			assertThat(threads.get("account" + a).size(), is(1));
+		}
+		assertThat(allThreads.size(), is(4));
+	}
+
+	@Test
+	public void eventsWithoutTheKeyHeaderAreKeyedBySelector() throws InterruptedException {
+		final CountDownLatch latch = new CountDownLatch(2);
+		final List<String> threadNames = Collections.synchronizedList(new ArrayList<String>());
+		Consumer<Event<String>> consumer = new Consumer<Event<String>>() {
+			@Override
+			public void accept(Event<String> ev) {
+				threadNames.add(Thread.currentThread().getName());
+				latch.countDown();
+			}
+		};
+		reactor.on($("orders"), consumer);
+
+		reactor.notify($("orders"), new Event<String>("first"));
+		reactor.notify($("orders"), new Event<String>("second"));
+
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		assertThat(threadNames.get(0), is("test-lane-" + dispatcher.laneFor("orders")));
+		assertThat(threadNames.get(1), is(threadNames.get(0)));
+	}
+
+	@Test
+	public void laneDepthIsTracked() throws InterruptedException {
+		final CountDownLatch blocked = new CountDownLatch(1);
+		final CountDownLatch done = new CountDownLatch(10);
+		reactor.on($("slow"), new Consumer<Event<String>>() {
+			@Override
+			public void accept(Event<String> ev) {
+				try {
+					blocked.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				done.countDown();
+			}
+		});
+
+		for (int i = 0; i < 10; i++) {
+			reactor.notify($("slow"), new Event<String>("slow"));
+		}
+		int lane = dispatcher.laneFor("slow");
+		assertThat(dispatcher.getLaneDepth(lane), is(10));
+		assertThat(dispatcher.getMaxLaneDepth(lane), is(10));
+
+		blocked.countDown();
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		Thread.sleep(100);
+		assertThat(dispatcher.getLaneDepth(lane), is(0));
+		assertThat(dispatcher.getMaxLaneDepth(lane), is(10));
+		for (int i = 0; i < dispatcher.getLaneCount(); i++) {
+			if (i != lane) {
+				assertThat(dispatcher.getMaxLaneDepth(i), is(0));
+			}
+		}
+	}
+
+	@Test
+	public void aSlowKeyCanOnlyTakeUpTheBacklog() throws InterruptedException {
+		int backlog = 4;
+		LaneDispatcher bounded = new LaneDispatcher("bounded", 2, backlog);
+		Reactor failFast = new Reactor(bounded).setOverflowPolicy(Reactor.OverflowPolicy.FAIL_FAST);
+		final CountDownLatch blocked = new CountDownLatch(1);
+		final CountDownLatch done = new CountDownLatch(backlog);
+		failFast.on($("slow"), new Consumer<Event<Integer>>() {
+			@Override
+			public void accept(Event<Integer> ev) {
+				try {
+					blocked.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				done.countDown();
+			}
+		});
+
+		try {
+			for (int i = 0; i < backlog; i++) {
+				failFast.notify($("slow"), new Event<Integer>(i));
+			}
+			assertThat(bounded.getMetrics().getRemainingCapacity(), is(0L));
+			assertThat(bounded.tryNextTask(), is(nullValue()));
+			try {
+				failFast.notify($("slow"), new Event<Integer>(backlog));
+				fail("Notifying a saturated dispatcher should have been rejected");
+			} catch (RejectedExecutionException expected) {
+			}
+
+			blocked.countDown();
+			assertTrue(done.await(5, TimeUnit.SECONDS));
+			Thread.sleep(100);
+			assertThat(bounded.getMetrics().getRemainingCapacity(), is((long) backlog));
+		} finally {
+			blocked.countDown();
+			bounded.destroy();
+		}
+	}
+
+	@Test
+	public void aRestartedLaneIsOnlyRunByOneThread() throws InterruptedException {
+		int events = 50;
+		final CountDownLatch latch = new CountDownLatch(events);
+		final List<Integer> received = Collections.synchronizedList(new ArrayList<Integer>());
+		final AtomicInteger running = new AtomicInteger();
+		final AtomicBoolean overlapped = new AtomicBoolean();
+		reactor.on($("orders"), new Consumer<Event<Integer>>() {
+			@Override
+			public void accept(Event<Integer> ev) {
+				if (running.incrementAndGet() > 1) {
+					overlapped.set(true);
+				}
+				try {
+					Thread.sleep(2);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				received.add(ev.getData());
+				running.decrementAndGet();
+				latch.countDown();
+			}
+		});
+
+		for (int i = 0; i < events; i++) {
+			reactor.notify($("orders"), new Event<Integer>(i));
+			if (i % 5 == 2) {
+				dispatcher.stop();
+				dispatcher.start();
+			}
+		}
+
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		assertFalse(overlapped.get());
+		List<Integer> expected = new ArrayList<Integer>();
+		for (int i = 0; i < events; i++) {
+			expected.add(i);
+		}
+		assertThat(received, is(expected));
+	}
+
+}
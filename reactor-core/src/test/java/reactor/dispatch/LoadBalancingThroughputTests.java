@@ -19,11 +19,19 @@
 package reactor.dispatch;
 
 import org.junit.Before;
+import org.junit.Test;
 import reactor.core.Reactor;
+import reactor.fn.Consumer;
+import reactor.fn.Event;
 import reactor.fn.Registry;
+import reactor.fn.dispatch.BlockingQueueDispatcher;
+import reactor.fn.dispatch.Dispatcher;
+import reactor.fn.dispatch.PooledDispatcher;
+import reactor.fn.dispatch.WorkStealingDispatcher;
 
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 import static reactor.Fn.$;
 
@@ -81,4 +89,102 @@ public class LoadBalancingThroughputTests extends DispatcherThroughputTests {
 		super.testRingBufferDispatcher();
 	}
 
+	@Override
+	public void testRingBufferDispatcherBatches() throws InterruptedException {
+		reactor.getConsumerRegistry().setLoadBalancingStrategy(Registry.LoadBalancingStrategy.RANDOM);
+		super.testRingBufferDispatcherBatches();
+	}
+
+	@Override
+	public void testMultiProducerRingBufferDispatcherBatches() throws InterruptedException {
+		reactor.getConsumerRegistry().setLoadBalancingStrategy(Registry.LoadBalancingStrategy.RANDOM);
+		super.testMultiProducerRingBufferDispatcherBatches();
+	}
+
+	@Override
+	public void testBlockingRingBufferDispatcher() throws InterruptedException {
+		reactor.getConsumerRegistry().setLoadBalancingStrategy(Registry.LoadBalancingStrategy.RANDOM);
+		super.testBlockingRingBufferDispatcher();
+	}
+
+	@Override
+	public void testAdaptiveRingBufferDispatcher() throws InterruptedException {
+		reactor.getConsumerRegistry().setLoadBalancingStrategy(Registry.LoadBalancingStrategy.RANDOM);
+		super.testAdaptiveRingBufferDispatcher();
+	}
+
+	@Override
+	public void testWorkerPoolRingBufferDispatcher() throws InterruptedException {
+		reactor.getConsumerRegistry().setLoadBalancingStrategy(Registry.LoadBalancingStrategy.RANDOM);
+		super.testWorkerPoolRingBufferDispatcher();
+	}
+
+	@Override
+	public void testSelectorOrderedRingBufferDispatcher() throws InterruptedException {
+		reactor.getConsumerRegistry().setLoadBalancingStrategy(Registry.LoadBalancingStrategy.RANDOM);
+		super.testSelectorOrderedRingBufferDispatcher();
+	}
+
+	@Override
+	public void testLaneDispatcher() throws InterruptedException {
+		reactor.getConsumerRegistry().setLoadBalancingStrategy(Registry.LoadBalancingStrategy.RANDOM);
+		super.testLaneDispatcher();
+	}
+
+	@Override
+	public void testWorkStealingDispatcher() throws InterruptedException {
+		reactor.getConsumerRegistry().setLoadBalancingStrategy(Registry.LoadBalancingStrategy.RANDOM);
+		super.testWorkStealingDispatcher();
+	}
+
+	@Test
+	public void testSkewedLoad() throws InterruptedException {
+		for (int i = 0; i < 2; i++) {
+			Dispatcher[] dispatchers = new Dispatcher[4];
+			for (int j = 0; j < dispatchers.length; j++) {
+				dispatchers[j] = new BlockingQueueDispatcher("skewed", 1024);
+			}
+			doSkewedTest(new PooledDispatcher(dispatchers));
+			doSkewedTest(new WorkStealingDispatcher("skewed", 4, 1024));
+		}
+	}
+
+	private void doSkewedTest(Dispatcher dispatcher) throws InterruptedException {
+		Reactor reactor = new Reactor(dispatcher);
+		int events = 4000;
+		final CountDownLatch latch = new CountDownLatch(events);
+		reactor.on($("slow"), new Consumer<Event<Object>>() {
+			@Override
+			public void accept(Event<Object> ev) {
+				// Like a consumer that blocks on I/O
+				LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(500));
+				latch.countDown();
+			}
+		});
+		reactor.on($("fast"), countDown(latch));
+
+		long start = System.currentTimeMillis();
+		for (int i = 0; i < events; i++) {
+			// Round-robin over 4 workers puts every slow event on the same one
+			reactor.notify(i % 4 == 0 ? $("slow") : $("fast"), hello);
+		}
+		latch.await(30, TimeUnit.SECONDS);
+		long elapsed = System.currentTimeMillis() - start;
+
+		String steals = (dispatcher instanceof WorkStealingDispatcher
+				? ", " + ((WorkStealingDispatcher) dispatcher).getSteals() + " steals"
+				: "");
+		LOG.info(dispatcher.getClass().getSimpleName() + " with skewed load: " + elapsed + "ms" + steals);
+		dispatcher.destroy();
+	}
+
+	private static Consumer<Event<Object>> countDown(final CountDownLatch latch) {
+		return new Consumer<Event<Object>>() {
+			@Override
+			public void accept(Event<Object> ev) {
+				latch.countDown();
+			}
+		};
+	}
+
 }
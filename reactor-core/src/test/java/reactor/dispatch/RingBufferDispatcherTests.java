@@ -0,0 +1,262 @@
+/*
+ * Copyright 2002-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package reactor.dispatch;
+
+import com.lmax.disruptor.BusySpinWaitStrategy;
+import com.lmax.disruptor.YieldingWaitStrategy;
+import com.lmax.disruptor.dsl.ProducerType;
+import org.junit.Test;
+import reactor.core.Reactor;
+import reactor.fn.Consumer;
+import reactor.fn.Event;
+import reactor.fn.Selector;
+import reactor.fn.dispatch.RingBufferDispatcher;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static reactor.Fn.$;
+
+/**
+ * @author Jon Brisbin
+ */
+public class RingBufferDispatcherTests {
+
+	@Test
+	public void selectorOrderedRingBufferKeepsEachSelectorInOrder() throws InterruptedException {
+		Reactor reactor = new Reactor(new RingBufferDispatcher("test",
+																													 4,
+																													 64,
+																													 ProducerType.MULTI,
+																													 new YieldingWaitStrategy(),
+																													 RingBufferDispatcher.ConsumerMode.SELECTOR_ORDERED));
+		int keys = 16;
+		int perKey = 1000;
+		final CountDownLatch latch = new CountDownLatch(keys * perKey);
+		final Map<String, List<Integer>> received = new ConcurrentHashMap<String, List<Integer>>();
+		final Set<Thread> threads = Collections.newSetFromMap(new ConcurrentHashMap<Thread, Boolean>());
+		Selector[] keySels = new Selector[keys];
+		for (int k = 0; k < keys; k++) {
+			final String key = "key" + k;
+			received.put(key, Collections.synchronizedList(new ArrayList<Integer>()));
+			keySels[k] = $(key);
+			reactor.on(keySels[k], new Consumer<Event<Integer>>() {
+				@Override
+				public void accept(Event<Integer> ev) {
+					threads.add(Thread.currentThread());
+					received.get(key).add(ev.getData());
+					latch.countDown();
+				}
+			});
+		}
+
+		for (int i = 0; i < perKey; i++) {
+			for (int k = 0; k < keys; k++) {
+				reactor.notify(keySels[k], new Event<Integer>(i));
+			}
+		}
+
+		assertTrue(latch.await(30, TimeUnit.SECONDS));
+		List<Integer> expected = new ArrayList<Integer>();
+		for (int i = 0; i < perKey; i++) {
+			expected.add(i);
+		}
+		for (List<Integer> l : received.values()) {
+			assertThat(l, is(expected));
+		}
+		assertThat(threads.size(), is(4));
+		reactor.getDispatcher().destroy();
+	}
+
+	@Test
+	public void workerPoolRingBufferRunsEachTaskOnce() throws InterruptedException {
+		Reactor reactor = new Reactor(new RingBufferDispatcher("test",
+																													 4,
+																													 64,
+																													 ProducerType.MULTI,
+																													 new YieldingWaitStrategy(),
+																													 RingBufferDispatcher.ConsumerMode.WORKER_POOL));
+		int count = 10000;
+		final CountDownLatch latch = new CountDownLatch(count);
+		final AtomicLong sum = new AtomicLong();
+		reactor.on($("work"), new Consumer<Event<Integer>>() {
+			@Override
+			public void accept(Event<Integer> ev) {
+				sum.addAndGet(ev.getData());
+				latch.countDown();
+			}
+		});
+
+		for (int i = 0; i < count; i++) {
+			reactor.notify($("work"), new Event<Integer>(i));
+		}
+
+		assertTrue(latch.await(30, TimeUnit.SECONDS));
+		// Give any duplicate deliveries a chance to show up
+		Thread.sleep(100);
+		assertThat(sum.get(), is((long) count * (count - 1) / 2));
+		reactor.getDispatcher().destroy();
+	}
+
+	@Test
+	public void batchesLargerThanTheRingBufferAreDispatchedInOrder() throws InterruptedException {
+		Reactor reactor = new Reactor(new RingBufferDispatcher("test",
+																													 1,
+																													 8,
+																													 ProducerType.MULTI,
+																													 new BusySpinWaitStrategy()));
+		final List<Integer> received = new ArrayList<Integer>();
+		final CountDownLatch latch = new CountDownLatch(100);
+		reactor.on($("batch"), new Consumer<Event<Integer>>() {
+			@Override
+			public void accept(Event<Integer> ev) {
+				received.add(ev.getData());
+				latch.countDown();
+			}
+		});
+
+		List<Event<Integer>> batch = new ArrayList<Event<Integer>>();
+		List<Integer> expected = new ArrayList<Integer>();
+		for (int i = 0; i < 100; i++) {
+			batch.add(new Event<Integer>(i));
+			expected.add(i);
+		}
+		reactor.notify($("batch"), batch);
+
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		assertThat(received, is(expected));
+		reactor.getDispatcher().destroy();
+	}
+
+	@Test
+	public void concurrentBatchesFromSeveralProducersAreAllDispatched() throws InterruptedException {
+		final Reactor reactor = new Reactor(new RingBufferDispatcher("test",
+																																 1,
+																																 8,
+																																 ProducerType.MULTI,
+																																 new YieldingWaitStrategy()));
+		int producers = 4;
+		final int batches = 25;
+		final CountDownLatch start = new CountDownLatch(1);
+		final CountDownLatch latch = new CountDownLatch(producers * batches * 8);
+		reactor.on($("batch"), new Consumer<Event<Integer>>() {
+			@Override
+			public void accept(Event<Integer> ev) {
+				// A slow consumer keeps the ring buffer full, so producers wait for room part way through their batches
+				try {
+					Thread.sleep(1);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				latch.countDown();
+			}
+		});
+
+		final List<Event<Integer>> batch = new ArrayList<Event<Integer>>();
+		for (int i = 0; i < 8; i++) {
+			batch.add(new Event<Integer>(i));
+		}
+		// Each batch fills the whole ring buffer, so producers claiming their slots one at a time would deadlock
+		for (int p = 0; p < producers; p++) {
+			Thread t = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						return;
+					}
+					for (int i = 0; i < batches; i++) {
+						reactor.notify($("batch"), batch);
+					}
+				}
+			});
+			t.setDaemon(true);
+			t.start();
+		}
+		start.countDown();
+
+		assertTrue(latch.await(30, TimeUnit.SECONDS));
+		reactor.getDispatcher().destroy();
+	}
+
+	@Test
+	public void aBatchThatFailsPartWayDoesNotStallTheRingBuffer() throws InterruptedException {
+		Reactor reactor = new Reactor(new RingBufferDispatcher("test",
+																													 1,
+																													 8,
+																													 ProducerType.MULTI,
+																													 new BusySpinWaitStrategy()));
+		final List<Integer> received = new ArrayList<Integer>();
+		final CountDownLatch latch = new CountDownLatch(1);
+		reactor.on($("batch"), new Consumer<Event<Integer>>() {
+			@Override
+			public void accept(Event<Integer> ev) {
+				received.add(ev.getData());
+				if (ev.getData() == 100) {
+					latch.countDown();
+				}
+			}
+		});
+
+		final List<Event<Integer>> events = new ArrayList<Event<Integer>>();
+		for (int i = 0; i < 3; i++) {
+			events.add(new Event<Integer>(i));
+		}
+		// Claims more tasks than it has events, as a collection changed by another thread could
+		Collection<Event<Integer>> shrunk = new AbstractCollection<Event<Integer>>() {
+			@Override
+			public Iterator<Event<Integer>> iterator() {
+				return events.iterator();
+			}
+
+			@Override
+			public int size() {
+				return 5;
+			}
+		};
+		try {
+			reactor.notify($("batch"), shrunk);
+			fail("The batch should have run out of events");
+		} catch (NoSuchElementException expected) {
+		}
+
+		reactor.notify($("batch"), new Event<Integer>(100));
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		assertThat(received, is(Arrays.asList(100)));
+		reactor.getDispatcher().destroy();
+	}
+
+}
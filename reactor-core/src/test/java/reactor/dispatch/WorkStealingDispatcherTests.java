@@ -0,0 +1,173 @@
+/*
+ * Copyright 2002-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package reactor.dispatch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.Reactor;
+import reactor.fn.Consumer;
+import reactor.fn.Event;
+import reactor.fn.dispatch.WorkStealingDispatcher;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertTrue;
+import static reactor.Fn.$;
+
+/**
+ * @author Jon Brisbin
+ */
+public class WorkStealingDispatcherTests {
+
+	WorkStealingDispatcher dispatcher;
+	Reactor                reactor;
+
+	@Before
+	public void setup() {
+		dispatcher = new WorkStealingDispatcher("test", 4, 64);
+		reactor = new Reactor(dispatcher);
+	}
+
+	@After
+	public void cleanup() {
+		dispatcher.destroy();
+	}
+
+	@Test
+	public void everyTaskIsRunOnce() throws InterruptedException {
+		int count = 10000;
+		final CountDownLatch latch = new CountDownLatch(count);
+		final AtomicLong sum = new AtomicLong();
+		reactor.on($("work"), new Consumer<Event<Integer>>() {
+			@Override
+			public void accept(Event<Integer> ev) {
+				sum.addAndGet(ev.getData());
+				latch.countDown();
+			}
+		});
+
+		for (int i = 0; i < count; i++) {
+			reactor.notify($("work"), new Event<Integer>(i));
+		}
+
+		assertTrue(latch.await(30, TimeUnit.SECONDS));
+		Thread.sleep(100);
+		assertThat(sum.get(), is((long) count * (count - 1) / 2));
+	}
+
+	@Test
+	public void tasksFromOneProducerRunRoughlyInOrder() throws InterruptedException {
+		int count = 5000;
+		final CountDownLatch latch = new CountDownLatch(count);
+		final AtomicInteger newest = new AtomicInteger(-1);
+		final AtomicInteger maxLag = new AtomicInteger();
+		reactor.on($("work"), new Consumer<Event<Integer>>() {
+			@Override
+			public void accept(Event<Integer> ev) {
+				int i = ev.getData();
+				int n = newest.get();
+				while (i > n && !newest.compareAndSet(n, i)) {
+					n = newest.get();
+				}
+				// How many tasks submitted after this one have already started
+				int lag = n - i;
+				int max = maxLag.get();
+				while (lag > max && !maxLag.compareAndSet(max, lag)) {
+					max = maxLag.get();
+				}
+				// Slower than the producer, so the deques stay full
+				LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(10));
+				latch.countDown();
+			}
+		});
+
+		for (int i = 0; i < count; i++) {
+			reactor.notify($("work"), new Event<Integer>(i));
+		}
+
+		assertTrue(latch.await(30, TimeUnit.SECONDS));
+		// Taken newest first, the oldest tasks would wait until the producer stopped
+		assertThat(maxLag.get(), lessThan(count / 4));
+	}
+
+	@Test
+	public void idleWorkersStealFromABlockedWorker() throws InterruptedException {
+		final CountDownLatch blocked = new CountDownLatch(1);
+		final CountDownLatch done = new CountDownLatch(100);
+		reactor.on($("block"), new Consumer<Event<String>>() {
+			@Override
+			public void accept(Event<String> ev) {
+				try {
+					blocked.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+		reactor.on($("work"), new Consumer<Event<String>>() {
+			@Override
+			public void accept(Event<String> ev) {
+				done.countDown();
+			}
+		});
+
+		// Every worker gets a share of the work, including the one that's blocked
+		reactor.notify($("block"), new Event<String>("block"));
+		for (int i = 0; i < 100; i++) {
+			reactor.notify($("work"), new Event<String>("work"));
+		}
+
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		assertThat(dispatcher.getSteals(), is(greaterThan(0L)));
+		blocked.countDown();
+	}
+
+	@Test
+	public void workersCanNotifyWhenTheirDequeIsFull() throws InterruptedException {
+		final int count = 1000;
+		final CountDownLatch latch = new CountDownLatch(count);
+		reactor.on($("fanout"), new Consumer<Event<String>>() {
+			@Override
+			public void accept(Event<String> ev) {
+				// More tasks than a deque can hold, submitted from a worker thread
+				for (int i = 0; i < count; i++) {
+					reactor.notify($("leaf"), new Event<String>("leaf"));
+				}
+			}
+		});
+		reactor.on($("leaf"), new Consumer<Event<String>>() {
+			@Override
+			public void accept(Event<String> ev) {
+				latch.countDown();
+			}
+		});
+
+		reactor.notify($("fanout"), new Event<String>("fanout"));
+
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+	}
+
+}
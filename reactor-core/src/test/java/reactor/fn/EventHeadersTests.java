@@ -0,0 +1,183 @@
+/*
+ * Copyright 2002-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package reactor.fn;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Jon Brisbin
+ */
+public class EventHeadersTests {
+
+	@Test
+	public void headerNamesAreCaseInsensitive() {
+		Event.Headers headers = new Event.Headers()
+				.set("X-Test", "1")
+				.setOrigin("origin");
+
+		assertThat(headers.get("x-test"), is("1"));
+		assertThat(headers.get("X-TEST"), is("1"));
+		assertThat(headers.contains("x-Test"), is(true));
+		assertThat(headers.getOrigin(), is("origin"));
+		assertThat(headers.get(Event.Headers.ORIGIN.toUpperCase()), is("origin"));
+
+		headers.set("x-test", "2");
+		assertThat(headers.get("X-Test"), is("2"));
+		assertThat(headers.asMap().size(), is(2));
+	}
+
+	@Test
+	public void aHeaderCanBeReadFromAnEventWithNoHeaders() {
+		Event<String> ev = new Event<String>("data");
+		assertThat(ev.getHeader("x-test"), is(nullValue()));
+
+		ev.getHeaders().set("X-Test", "1");
+		assertThat(ev.getHeader("x-test"), is("1"));
+	}
+
+	@Test
+	public void manyHeadersAreAllKept() {
+		Event.Headers headers = new Event.Headers();
+		Map<String, String> readOnly = headers.readOnly().asMap();
+		for (int i = 0; i < 32; i++) {
+			headers.set("x-header-" + i, String.valueOf(i));
+		}
+
+		for (int i = 0; i < 32; i++) {
+			assertThat(headers.get("X-Header-" + i), is(String.valueOf(i)));
+		}
+		assertThat(headers.get("x-header-32"), is(nullValue()));
+		assertThat("Read-only views reflect later changes.", readOnly.size(), is(32));
+
+		Map<String, String> copy = new HashMap<String, String>();
+		for (Map.Entry<String, String> header : headers) {
+			copy.put(header.getKey(), header.getValue());
+		}
+		assertThat(copy, is(headers.asMap()));
+	}
+
+	@Test
+	public void aNullValueIsRejectedAndDoesNotBreakLaterHeaders() {
+		Event.Headers headers = new Event.Headers();
+		try {
+			headers.set("x-null", null);
+			fail("A null header value was accepted");
+		} catch (IllegalArgumentException expected) {
+		}
+		assertThat(headers.contains("x-null"), is(false));
+		assertThat(headers.iterator().hasNext(), is(false));
+
+		// Enough to move the headers to a map
+		for (int i = 0; i < 9; i++) {
+			headers.set("x-header-" + i, String.valueOf(i));
+		}
+		assertThat(headers.asMap().size(), is(9));
+		assertThat(headers.get("x-header-8"), is("8"));
+	}
+
+	@Test
+	public void headersSetConcurrentlyAreAllKept() throws InterruptedException {
+		int threads = 4;
+		int headersPerThread = 8;
+		for (int round = 0; round < 2000; round++) {
+			final Event.Headers headers = new Event.Headers();
+			final CountDownLatch start = new CountDownLatch(1);
+			final CountDownLatch done = new CountDownLatch(threads);
+			for (int t = 0; t < threads; t++) {
+				final int thread = t;
+				final int count = headersPerThread;
+				new Thread() {
+					@Override
+					public void run() {
+						try {
+							start.await();
+							for (int i = 0; i < count; i++) {
+								headers.set("x-" + thread + "-" + i, String.valueOf(i));
+							}
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						} finally {
+							done.countDown();
+						}
+					}
+				}.start();
+			}
+			start.countDown();
+			assertThat(done.await(5, TimeUnit.SECONDS), is(true));
+
+			for (int t = 0; t < threads; t++) {
+				for (int i = 0; i < headersPerThread; i++) {
+					assertThat("Header x-" + t + "-" + i + " was lost", headers.get("x-" + t + "-" + i), is(String.valueOf(i)));
+				}
+			}
+			assertThat(headers.asMap().size(), is(threads * headersPerThread));
+		}
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void readOnlyHeadersCannotBeSet() {
+		new Event.Headers().set("x-test", "1").readOnly().set("x-test", "2");
+	}
+
+	@Test
+	public void headersAreSerializedAsAMapOfHeaders() throws Exception {
+		Event.Headers few = new Event.Headers().set("X-Test", "1");
+		Event.Headers many = new Event.Headers();
+		for (int i = 0; i < 20; i++) {
+			many.set("x-" + i, String.valueOf(i));
+		}
+
+		assertThat(roundTrip(few).get("x-test"), is("1"));
+		assertThat(roundTrip(many).asMap().size(), is(20));
+		assertThat(roundTrip(many).get("X-19"), is("19"));
+		assertThat(roundTrip(few).set("x-other", "2").get("x-other"), is("2"));
+		assertThat(roundTrip(many.asMap()), is((Object) new HashMap<String, String>(many.asMap())));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void readOnlyHeadersAreStillReadOnlyOnceDeserialized() throws Exception {
+		Event.Headers headers = roundTrip(new Event.Headers().set("x-test", "1").readOnly());
+		assertThat(headers.get("x-test"), is("1"));
+		headers.set("x-test", "2");
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T roundTrip(T obj) throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bytes);
+		out.writeObject(obj);
+		out.close();
+		return (T) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+	}
+
+}
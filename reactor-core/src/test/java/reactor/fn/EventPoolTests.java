@@ -0,0 +1,114 @@
+/*
+ * Copyright 2002-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package reactor.fn;
+
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.dsl.ProducerType;
+import org.junit.Test;
+import reactor.Fn;
+import reactor.core.Reactor;
+import reactor.fn.dispatch.RingBufferDispatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static reactor.Fn.$;
+import static reactor.core.Context.synchronousDispatcher;
+
+/**
+ * @author Jon Brisbin
+ */
+public class EventPoolTests {
+
+	@Test
+	public void pooledEventsAreRecycledOnceEveryDispatchHasFinished() {
+		final EventPool pool = new EventPool(16);
+		final List<Object> seen = new ArrayList<Object>();
+		Reactor reactor = new Reactor(synchronousDispatcher());
+		Reactor linked = new Reactor(synchronousDispatcher());
+		reactor.link(linked);
+
+		Consumer<Event<String>> consumer = new Consumer<Event<String>>() {
+			@Override
+			public void accept(Event<String> ev) {
+				// Still intact for the linked reactor's consumer
+				seen.add(ev.getData());
+				assertThat(pool.getRecycled(), is(0L));
+			}
+		};
+		reactor.on($("test"), consumer);
+		linked.on($("test"), consumer);
+
+		Event<String> ev = pool.event("hello");
+		ev.getHeaders().set("x-test", "test");
+		reactor.notify($("test"), ev);
+
+		assertThat(seen.size(), is(2));
+		assertThat(pool.getRecycled(), is(1L));
+		assertThat(ev.getData(), is((String) null));
+		assertThat(ev.getHeaders().contains("x-test"), is(false));
+
+		Event<String> reused = pool.event("world");
+		assertThat(reused, sameInstance(ev));
+		assertThat(pool.getCreated(), is(1L));
+	}
+
+	@Test
+	public void eventsThatAreNotPooledAreNeverRecycled() {
+		Reactor reactor = new Reactor(synchronousDispatcher());
+		Event<String> ev = Fn.event("hello");
+		reactor.notify($("test"), ev);
+
+		assertThat(ev.getData(), is("hello"));
+	}
+
+	@Test
+	public void pooledEventsAreReusedWhenDispatchedAsynchronously() throws InterruptedException {
+		int count = 100000;
+		EventPool pool = new EventPool(2048);
+		final CountDownLatch latch = new CountDownLatch(count);
+		Reactor reactor = new Reactor(new RingBufferDispatcher("test",
+		                                                       1,
+		                                                       1024,
+		                                                       ProducerType.SINGLE,
+		                                                       new BlockingWaitStrategy()));
+		Selector sel = $("test");
+		reactor.on(sel, new Consumer<Event<Integer>>() {
+			@Override
+			public void accept(Event<Integer> ev) {
+				latch.countDown();
+			}
+		});
+		Integer data = 1;
+
+		for (int i = 0; i < count; i++) {
+			reactor.notify(sel, pool.event(data));
+		}
+		assertThat(latch.await(30, TimeUnit.SECONDS), is(true));
+		reactor.getDispatcher().destroy();
+
+		assertThat("Most events were reused.", pool.getCreated() < count / 10);
+	}
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2002-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package reactor.fn;
+
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.dsl.ProducerType;
+import org.junit.Test;
+import reactor.Fn;
+import reactor.core.Reactor;
+import reactor.fn.dispatch.RingBufferDispatcher;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static reactor.Fn.$;
+import static reactor.core.Context.synchronousDispatcher;
+
+/**
+ * @author Jon Brisbin
+ */
+public class PrimitiveEventTests {
+
+	@Test
+	public void primitiveConsumersReceivePrimitiveAndBoxedEvents() {
+		Reactor reactor = new Reactor(synchronousDispatcher());
+		final AtomicLong longs = new AtomicLong();
+		final AtomicReference<Double> doubles = new AtomicReference<Double>(0d);
+		final AtomicReference<Object> data = new AtomicReference<Object>();
+
+		reactor.on($("long"), Fn.longConsumer(new LongConsumer() {
+			@Override
+			public void accept(long value) {
+				longs.addAndGet(value);
+			}
+		}));
+		reactor.on($("long"), new Consumer<Event<Long>>() {
+			@Override
+			public void accept(Event<Long> ev) {
+				data.set(ev.getData());
+			}
+		});
+		reactor.on($("double"), Fn.doubleConsumer(new DoubleConsumer() {
+			@Override
+			public void accept(double value) {
+				doubles.set(doubles.get() + value);
+			}
+		}));
+
+		reactor.notify($("long"), Fn.longEvent(1000L));
+		// Nothing to unbox, so the primitive consumer is skipped
+		reactor.notify($("long"), new Event<Long>((Long) null));
+		reactor.notify($("long"), Fn.event(2000L));
+		reactor.notify($("double"), Fn.doubleEvent(0.5));
+		reactor.notify($("double"), Fn.event(0.25));
+
+		assertThat(longs.get(), is(3000L));
+		assertThat(data.get(), is((Object) 2000L));
+		assertThat(doubles.get(), is(0.75));
+	}
+
+	@Test
+	public void longEventsAndBoxedLongEventsAreDeliveredAsynchronously() throws InterruptedException {
+		doTest(false);
+		doTest(true);
+	}
+
+	private void doTest(boolean primitive) throws InterruptedException {
+		final int count = 100000;
+		final CountDownLatch latch = new CountDownLatch(count);
+		final AtomicLong sum = new AtomicLong();
+		Reactor reactor = new Reactor(new RingBufferDispatcher("test",
+		                                                       1,
+		                                                       1024,
+		                                                       ProducerType.SINGLE,
+		                                                       new BlockingWaitStrategy()));
+		Selector sel = $("test");
+		reactor.on(sel, Fn.longConsumer(new LongConsumer() {
+			@Override
+			public void accept(long value) {
+				sum.addAndGet(value);
+				latch.countDown();
+			}
+		}));
+
+		for (long i = 0; i < count; i++) {
+			// Values above the Long cache, like timestamps or byte counts
+			long value = 1000 + i;
+			reactor.notify(sel, primitive ? Fn.longEvent(value) : Fn.event(value));
+		}
+		assertThat(latch.await(30, TimeUnit.SECONDS), is(true));
+		reactor.getDispatcher().destroy();
+
+		long expected = 1000L * count + ((long) count * (count - 1)) / 2;
+		assertThat(sum.get(), is(expected));
+	}
+
+}
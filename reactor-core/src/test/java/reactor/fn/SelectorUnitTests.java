@@ -23,10 +23,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.CachingRegistry;
 
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static reactor.Fn.$;
+import static reactor.Fn.R;
+import static reactor.Fn.T;
 import static reactor.Fn.U;
 
 /**
@@ -109,4 +116,122 @@ public class SelectorUnitTests {
 		assertThat("All handlers have been found and executed.", counter.get() == 0);
 	}
 
+	@Test
+	public void regexSelectorsAreFoundWhenSelectionsAreNotCached() throws Exception {
+		final int topics = 50;
+		final int keys = 1000;
+		final AtomicLong counter = new AtomicLong(keys);
+		// Keys are all distinct so every selection misses the cache
+		Registry<Consumer<?>> registry = new CachingRegistry<Consumer<?>>(1);
+
+		Consumer<?> hello = new Consumer<Object>() {
+			@Override
+			public void accept(Object obj) {
+				counter.decrementAndGet();
+			}
+		};
+
+		for (int i = 0; i < topics; i++) {
+			registry.register(R("topic" + i + "\\.event\\.([0-9]+)"), hello);
+		}
+
+		for (int i = 0; i < keys; i++) {
+			for (Registration<? extends Consumer<?>> reg : registry.select($("topic" + (i % topics) + ".event." + i))) {
+				reg.getObject().accept(null);
+			}
+		}
+
+		assertThat("All handlers have been found and executed.", counter.get() == 0);
+	}
+
+	@Test
+	public void classSelectorsAreFoundForANewSelectorEveryTime() throws Exception {
+		final int registrations = 50;
+		final int keys = 1000;
+		// Only the IllegalArgumentException selector matches a NumberFormatException
+		final AtomicLong counter = new AtomicLong(keys);
+		Registry<Consumer<?>> registry = new CachingRegistry<Consumer<?>>();
+
+		Consumer<?> hello = new Consumer<Object>() {
+			@Override
+			public void accept(Object obj) {
+				counter.decrementAndGet();
+			}
+		};
+
+		registry.register(T(IllegalArgumentException.class), hello);
+		for (int i = 0; i < registrations; i++) {
+			registry.register(T(IllegalStateException.class), hello);
+		}
+
+		for (int i = 0; i < keys; i++) {
+			// Like Reactor's error handling, every selection uses a new selector
+			for (Registration<? extends Consumer<?>> reg : registry.select(T(NumberFormatException.class))) {
+				reg.getObject().accept(null);
+			}
+		}
+
+		assertThat("All handlers have been found and executed.", counter.get() == 0);
+	}
+
+	@Test
+	public void taggedSelectorsAreFoundWhenSelectionsAreNotCached() throws Exception {
+		final int keys = 1000;
+		final AtomicLong counter = new AtomicLong(keys);
+		// Keys are all distinct so every selection misses the cache
+		Registry<Consumer<?>> registry = new CachingRegistry<Consumer<?>>(1);
+		registry.setSelectionStrategy(new TagAwareSelectionStrategy());
+
+		Consumer<?> hello = new Consumer<Object>() {
+			@Override
+			public void accept(Object obj) {
+				counter.decrementAndGet();
+			}
+		};
+
+		for (int i = 0; i < selectors; i++) {
+			registry.register($("test" + i).setTags("tenant" + (i % 100), "region" + (i % 5)), hello);
+		}
+
+		for (int i = 0; i < keys; i++) {
+			Selector sel = $("test" + (i % selectors)).setTags("tenant" + (i % 100), "region" + (i % 5));
+			for (Registration<? extends Consumer<?>> reg : registry.select(sel)) {
+				reg.getObject().accept(null);
+			}
+		}
+
+		assertThat("All handlers have been found and executed.", counter.get() == 0);
+	}
+
+	@Test
+	public void selectorsPrintTheirIdWithoutAUuid() {
+		Selector sel = $("test");
+
+		assertThat("The sequential id is printed.", sel.toString().contains("id=" + sel.getId()));
+		assertThat("No UUID is printed, since most selectors never have one.", !sel.toString().contains("uuid"));
+	}
+
+	@Test
+	public void selectorsCreatedOnDifferentThreadsHaveDifferentIds() throws Exception {
+		final int threads = 4;
+		final int selectorsPerThread = 10000;
+		final Set<Long> ids = Collections.newSetFromMap(new ConcurrentHashMap<Long, Boolean>());
+		final CountDownLatch latch = new CountDownLatch(threads);
+
+		for (int t = 0; t < threads; t++) {
+			new Thread() {
+				@Override
+				public void run() {
+					for (int i = 0; i < selectorsPerThread; i++) {
+						ids.add($("test").getId());
+					}
+					latch.countDown();
+				}
+			}.start();
+		}
+		latch.await(30, TimeUnit.SECONDS);
+
+		assertThat("Every selector has its own id.", ids.size() == threads * selectorsPerThread);
+	}
+
 }
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2002-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package reactor.fn.support;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * @author Jon Brisbin
+ */
+public class UriTemplateRouterTests {
+
+	static final String[] TEMPLATES = {
+			"/test/{i}",
+			"/test/{i}/{j}",
+			"/test/literal",
+			"/test/{rest}**",
+			"/test/**",
+			"/{a}/literal",
+			"/files/{name}.json",
+			"/files/(.*)",
+			""
+	};
+
+	static final String[] PATHS = {
+			"/test/1",
+			"/test/1/2",
+			"/test/literal",
+			"/test/",
+			"/test/a.b",
+			"/test/a/b/c",
+			"/files/x.json",
+			"/files/x",
+			"/x/literal",
+			"/",
+			"",
+			"test/1"
+	};
+
+	@Test
+	public void routesToTheSameTemplatesAsMatchingEachTemplate() {
+		UriTemplateRouter<String> router = new UriTemplateRouter<String>();
+		List<UriTemplate> templates = new ArrayList<UriTemplate>();
+		for (String t : TEMPLATES) {
+			UriTemplate template = new UriTemplate(t);
+			templates.add(template);
+			router.add(template, t);
+		}
+
+		for (String path : PATHS) {
+			List<String> expected = new ArrayList<String>();
+			for (UriTemplate template : templates) {
+				if (template.matches(path)) {
+					expected.add(template.getTemplate());
+				}
+			}
+
+			List<String> routed = new ArrayList<String>();
+			for (UriTemplateRouter.Match<String> match : router.route(path)) {
+				routed.add(match.getValue());
+				assertThat("Path variables for " + path + " match " + match.getValue(),
+				           match.getPathVariables(),
+				           equalTo(match.getTemplate().match(path)));
+			}
+
+			assertThat("Routes for '" + path + "'", routed, equalTo(expected));
+		}
+	}
+
+	@Test
+	public void pathVariablesAreExtractedWhileRouting() {
+		UriTemplateRouter<String> router = new UriTemplateRouter<String>()
+				.add(new UriTemplate("/users/{user}/files/{path}**"), "files");
+
+		List<UriTemplateRouter.Match<String>> matches = router.route("/users/jon/files/a/b.txt");
+		assertThat(matches.size(), is(1));
+
+		Map<String, String> vars = matches.get(0).getPathVariables();
+		assertThat(vars.get("user"), is("jon"));
+		assertThat(vars.get("path"), is("a/b.txt"));
+	}
+
+	@Test
+	public void removedRoutesAreNotRoutedTo() {
+		UriTemplate template = new UriTemplate("/test/{i}");
+		String first = "first";
+		String second = "second";
+		UriTemplateRouter<String> router = new UriTemplateRouter<String>()
+				.add(template, first)
+				.add(new UriTemplate("/test/(\\d+)"), second);
+
+		assertThat(values(router.route("/test/1")), contains(first, second));
+
+		assertThat(router.remove(first), is(true));
+		assertThat(router.remove(first), is(false));
+		assertThat(values(router.route("/test/1")), contains(second));
+
+		router.remove(second);
+		assertThat(router.size(), is(0));
+		assertThat(router.route("/test/1"), is(empty()));
+	}
+
+	@Test
+	public void removingARouteLeavesTheRoutesThatShareItsPath() {
+		UriTemplateRouter<String> router = new UriTemplateRouter<String>()
+				.add(new UriTemplate("/test/{i}"), "variable")
+				.add(new UriTemplate("/test/literal"), "literal")
+				.add(new UriTemplate("/test/literal/**"), "splat")
+				.add(new UriTemplate("/test/{i}"), "variable");
+
+		assertThat(router.size(), is(4));
+		assertThat(router.remove("literal"), is(true));
+		assertThat(values(router.route("/test/literal")), contains("variable", "variable"));
+		assertThat(values(router.route("/test/literal/a")), contains("splat"));
+
+		assertThat(router.remove("variable"), is(true));
+		assertThat(router.size(), is(1));
+		assertThat(router.route("/test/literal"), is(empty()));
+		assertThat(values(router.route("/test/literal/a")), contains("splat"));
+
+		router.add(new UriTemplate("/test/literal"), "literal");
+		assertThat(values(router.route("/test/literal")), contains("literal"));
+	}
+
+	@Test
+	public void routingDuringAddsAndRemovesSeesEachRouteWhole() throws InterruptedException {
+		final UriTemplateRouter<String> router = new UriTemplateRouter<String>()
+				.add(new UriTemplate("/resource/{id}"), "resource");
+		final AtomicBoolean done = new AtomicBoolean();
+		final AtomicReference<String> failure = new AtomicReference<String>();
+
+		Thread reader = new Thread() {
+			@Override
+			public void run() {
+				while (!done.get()) {
+					List<String> routed = values(router.route("/resource/1"));
+					if (routed.isEmpty() || !routed.get(0).equals("resource") || routed.size() > 2) {
+						failure.set(routed.toString());
+					}
+				}
+			}
+		};
+		reader.start();
+
+		for (int i = 0; i < 20000; i++) {
+			String value = "churn" + i;
+			router.add(new UriTemplate(i % 2 == 0 ? "/resource/1" : "/resource/{id}"), value);
+			router.remove(value);
+		}
+		done.set(true);
+		reader.join();
+
+		assertThat(failure.get(), is(nullValue()));
+		assertThat(values(router.route("/resource/1")), contains("resource"));
+		assertThat(router.size(), is(1));
+	}
+
+	@Test
+	public void eachOfManySimilarTemplatesIsRoutedToOnlyByItsOwnPaths() {
+		int templates = 1000;
+		UriTemplateRouter<UriTemplate> router = new UriTemplateRouter<UriTemplate>();
+		UriTemplate[] uriTemplates = new UriTemplate[templates];
+		for (int i = 0; i < templates; i++) {
+			uriTemplates[i] = new UriTemplate("/resource" + i + "/{id}");
+			router.add(uriTemplates[i], uriTemplates[i]);
+		}
+
+		for (int i = 0; i < templates; i++) {
+			List<UriTemplateRouter.Match<UriTemplate>> matches = router.route("/resource" + i + "/" + i);
+			assertThat(matches.size(), is(1));
+			assertThat(matches.get(0).getValue(), is(uriTemplates[i]));
+		}
+	}
+
+	private static List<String> values(List<UriTemplateRouter.Match<String>> matches) {
+		List<String> values = new ArrayList<String>();
+		for (UriTemplateRouter.Match<String> match : matches) {
+			values.add(match.getValue());
+		}
+		return values;
+	}
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2002-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package reactor.fn.support;
+
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * @author Jon Brisbin
+ */
+public class UriTemplateTests {
+
+	@Test
+	public void pathVariablesAreExtractedInTemplateOrder() {
+		UriTemplate template = new UriTemplate("/{user}/{path}**");
+
+		Map<String, String> vars = template.match("/jon/a/b.txt");
+		assertThat(vars.get("user"), is("jon"));
+		assertThat(vars.get("path"), is("a/b.txt"));
+
+		assertThat(template.match("/jon").isEmpty(), is(true));
+		assertThat(template.matches("/jon"), is(false));
+	}
+
+	@Test
+	public void uriTemplateCanBeMatchedFromManyThreads() throws InterruptedException {
+		final UriTemplate template = new UriTemplate("/test/{i}");
+		final int threads = 4;
+		final int uris = 10000;
+		final AtomicInteger failures = new AtomicInteger();
+		final CountDownLatch latch = new CountDownLatch(threads);
+
+		for (int t = 0; t < threads; t++) {
+			final int offset = t;
+			new Thread() {
+				@Override
+				public void run() {
+					for (int i = 0; i < uris; i++) {
+						String id = String.valueOf((i + offset) % (uris / 2));
+						if (!template.matches("/test/" + id) || !id.equals(template.match("/test/" + id).get("i"))) {
+							failures.incrementAndGet();
+						}
+					}
+					latch.countDown();
+				}
+			}.start();
+		}
+
+		assertThat(latch.await(30, TimeUnit.SECONDS), is(true));
+		assertThat("Every URI matched with the right path variables.", failures.get(), is(0));
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2002-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package reactor.support;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Jon Brisbin
+ */
+public class BoundedArrayQueueTests {
+
+	@Test
+	public void capacityIsRoundedUpToAPowerOfTwo() {
+		assertThat(new BoundedArrayQueue<Object>(1).capacity(), is(1));
+		assertThat(new BoundedArrayQueue<Object>(1000).capacity(), is(1024));
+		assertThat(new BoundedArrayQueue<Object>(1024).capacity(), is(1024));
+	}
+
+	@Test
+	public void elementsArePolledInOrderAndOfferFailsWhenFull() {
+		BoundedArrayQueue<Integer> q = new BoundedArrayQueue<Integer>(4);
+		assertThat(q.poll(), is(nullValue()));
+		for (int lap = 0; lap < 3; lap++) {
+			for (int i = 0; i < 4; i++) {
+				assertTrue(q.offer(i));
+			}
+			assertThat(q.offer(4), is(false));
+			assertThat(q.size(), is(4));
+			for (int i = 0; i < 4; i++) {
+				assertThat(q.poll(), is(i));
+			}
+			assertThat(q.poll(), is(nullValue()));
+			assertThat(q.size(), is(0));
+		}
+	}
+
+	@Test
+	public void elementsArePassedOnceBetweenManyProducersAndConsumers() throws InterruptedException {
+		final BoundedArrayQueue<Long> q = new BoundedArrayQueue<Long>(64);
+		final int threads = 4;
+		final int perThread = 100000;
+		final AtomicLong sum = new AtomicLong();
+		final AtomicLong count = new AtomicLong();
+		final CountDownLatch done = new CountDownLatch(threads * 2);
+
+		for (int t = 0; t < threads; t++) {
+			final long base = (long) t * perThread;
+			new Thread() {
+				@Override
+				public void run() {
+					for (long i = 0; i < perThread; i++) {
+						while (!q.offer(base + i)) {
+							Thread.yield();
+						}
+					}
+					done.countDown();
+				}
+			}.start();
+			new Thread() {
+				@Override
+				public void run() {
+					for (int i = 0; i < perThread; i++) {
+						Long l;
+						while (null == (l = q.poll())) {
+							Thread.yield();
+						}
+						sum.addAndGet(l);
+						count.incrementAndGet();
+					}
+					done.countDown();
+				}
+			}.start();
+		}
+
+		assertTrue(done.await(60, TimeUnit.SECONDS));
+		long n = (long) threads * perThread;
+		assertThat(count.get(), is(n));
+		assertThat(sum.get(), is(n * (n - 1) / 2));
+	}
+
+}
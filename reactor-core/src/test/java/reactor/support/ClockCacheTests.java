@@ -0,0 +1,118 @@
+/*
+ * Copyright 2002-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package reactor.support;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * @author Jon Brisbin
+ */
+public class ClockCacheTests {
+
+	@Test
+	public void entriesThatAreReadAreEvictedLast() {
+		ClockCache<String, String> cache = new ClockCache<String, String>(2);
+		cache.putIfAbsent("a", "a");
+		cache.putIfAbsent("b", "b");
+		cache.get("a");
+
+		assertThat(cache.putIfAbsent("c", "c"), is(nullValue()));
+
+		assertThat(cache.get("a"), is("a"));
+		assertThat(cache.get("b"), is(nullValue()));
+		assertThat(cache.get("c"), is("c"));
+		assertThat(cache.getEvictions(), is(1L));
+	}
+
+	@Test
+	public void putIfAbsentKeepsTheExistingValue() {
+		ClockCache<String, String> cache = new ClockCache<String, String>(4);
+
+		assertThat(cache.putIfAbsent("a", "1"), is(nullValue()));
+		assertThat(cache.putIfAbsent("a", "2"), is("1"));
+		assertThat(cache.get("a"), is("1"));
+	}
+
+	@Test
+	public void replaceAndRemoveOnlyApplyToTheExpectedValue() {
+		ClockCache<String, String> cache = new ClockCache<String, String>(4);
+		cache.putIfAbsent("a", "1");
+
+		assertThat(cache.replace("a", "2", "3"), is(false));
+		assertThat(cache.replace("a", "1", "2"), is(true));
+		assertThat(cache.remove("a", "1"), is(false));
+		assertThat(cache.remove("a", "2"), is(true));
+		assertThat(cache.get("a"), is(nullValue()));
+		assertThat(cache.size(), is(0));
+
+		assertThat(cache.putIfAbsent("a", "4"), is(nullValue()));
+		assertThat(cache.get("a"), is("4"));
+	}
+
+	@Test
+	public void concurrentInsertsStayWithinCapacity() throws InterruptedException {
+		final int capacity = 64;
+		final int threads = 4;
+		final int keysPerThread = 50000;
+		final ClockCache<Integer, Integer> cache = new ClockCache<Integer, Integer>(capacity);
+		final CountDownLatch start = new CountDownLatch(1);
+		final CountDownLatch done = new CountDownLatch(threads);
+		for (int t = 0; t < threads; t++) {
+			final int offset = t * keysPerThread;
+			new Thread() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+						for (int i = 0; i < keysPerThread; i++) {
+							Integer key = offset + i;
+							cache.putIfAbsent(key, key);
+							// Read some back so that the sweep has reference bits to clear
+							if (i % 3 == 0) {
+								cache.get(key);
+							}
+						}
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					} finally {
+						done.countDown();
+					}
+				}
+			}.start();
+		}
+		start.countDown();
+		assertThat(done.await(30, TimeUnit.SECONDS), is(true));
+
+		assertThat(cache.size(), is(capacity));
+		assertThat(cache.getEvictions(), is((long) threads * keysPerThread - capacity));
+		int values = 0;
+		for (Integer value : cache.values()) {
+			assertThat(cache.get(value), is(value));
+			values++;
+		}
+		assertThat(values, is(capacity));
+	}
+
+}
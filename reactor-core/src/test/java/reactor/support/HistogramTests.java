@@ -0,0 +1,133 @@
+/*
+ * Copyright 2002-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package reactor.support;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Jon Brisbin
+ */
+public class HistogramTests {
+
+	@Test
+	public void smallValuesAreCountedExactly() {
+		Histogram h = new Histogram();
+		for (int i = 1; i <= 50; i++) {
+			h.record(i);
+		}
+
+		assertThat(h.getCount(), is(50L));
+		assertThat(h.getMax(), is(50L));
+		assertThat(h.getValueAtPercentile(50), is(25L));
+		assertThat(h.getValueAtPercentile(100), is(50L));
+		assertThat(h.getMean(), is(25.5));
+	}
+
+	@Test
+	public void largeValuesAreWithinThreePercent() {
+		Histogram h = new Histogram();
+		for (long v = 1; v < Long.MAX_VALUE / 3; v = v * 3 + 1) {
+			h.reset();
+			h.record(v);
+			long read = h.getValueAtPercentile(50);
+			assertThat(read, is(v));
+
+			h.record(v * 2);
+			read = h.getValueAtPercentile(50);
+			assertThat(read, greaterThanOrEqualTo(v));
+			assertThat((double) read, lessThanOrEqualTo(v * 1.032));
+		}
+	}
+
+	@Test
+	public void percentilesFollowTheDistribution() {
+		Histogram h = new Histogram();
+		for (int i = 1; i <= 100000; i++) {
+			h.record(TimeUnit.MICROSECONDS.toNanos(i));
+		}
+
+		assertThat(h.getCount(), is(100000L));
+		assertThat(h.getMax(), is(TimeUnit.MICROSECONDS.toNanos(100000)));
+		assertWithinThreePercent(h.getValueAtPercentile(50), TimeUnit.MICROSECONDS.toNanos(50000));
+		assertWithinThreePercent(h.getValueAtPercentile(99), TimeUnit.MICROSECONDS.toNanos(99000));
+		assertWithinThreePercent(h.getValueAtPercentile(99.9), TimeUnit.MICROSECONDS.toNanos(99900));
+		assertWithinThreePercent((long) h.getMean(), TimeUnit.MICROSECONDS.toNanos(50000));
+	}
+
+	@Test
+	public void histogramsCanBeAdded() {
+		Histogram h1 = new Histogram();
+		Histogram h2 = new Histogram();
+		h1.record(10);
+		h2.record(20);
+		h2.record(1000000);
+
+		Histogram sum = new Histogram().add(h1).add(h2);
+
+		assertThat(sum.getCount(), is(3L));
+		assertThat(sum.getMax(), is(1000000L));
+		assertThat(sum.getValueAtPercentile(50), is(20L));
+		assertThat(h1.getCount(), is(1L));
+	}
+
+	@Test
+	public void negativeValuesAreCountedAsZero() {
+		Histogram h = new Histogram();
+		h.record(-5);
+
+		assertThat(h.getCount(), is(1L));
+		assertThat(h.getMax(), is(0L));
+		assertThat(h.getValueAtPercentile(100), is(0L));
+	}
+
+	@Test
+	public void concurrentRecordingLosesNoValues() throws InterruptedException {
+		final Histogram h = new Histogram();
+		final int threads = 4;
+		final int values = 250000;
+		final CountDownLatch latch = new CountDownLatch(threads);
+		for (int i = 0; i < threads; i++) {
+			new Thread() {
+				@Override
+				public void run() {
+					for (int j = 0; j < values; j++) {
+						h.record(j);
+					}
+					latch.countDown();
+				}
+			}.start();
+		}
+
+		assertTrue(latch.await(30, TimeUnit.SECONDS));
+		assertThat(h.getCount(), is((long) threads * values));
+		assertThat(h.getMax(), is((long) values - 1));
+	}
+
+	private static void assertWithinThreePercent(long actual, long expected) {
+		assertThat((double) actual, is(closeTo(expected, expected * 0.03)));
+	}
+
+}
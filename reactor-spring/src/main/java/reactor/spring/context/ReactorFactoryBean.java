@@ -1,16 +1,21 @@
 package reactor.spring.context;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.convert.ConversionService;
+import org.springframework.util.Assert;
 import reactor.core.R;
+import reactor.core.Context;
 import reactor.core.Reactor;
+import reactor.fn.dispatch.Dispatcher;
+import reactor.fn.dispatch.RingBufferDispatcher;
 
 /**
  * @author Jon Brisbin
  * @author Stephane Maldini
  */
-public class ReactorFactoryBean implements FactoryBean<Reactor> {
+public class ReactorFactoryBean implements FactoryBean<Reactor>, DisposableBean {
 
 	private static final Reactor ROOT_REACTOR = new Reactor();
 
@@ -21,7 +26,9 @@ public class ReactorFactoryBean implements FactoryBean<Reactor> {
 	@Autowired(required = false)
 	private ConversionService conversionService;
 	private boolean rootReactor = false;
-	private String name;
+	private String                        name;
+	private RingBufferDispatcher.WaitMode waitMode;
+	private Dispatcher                    dispatcher;
 
 
 	public ReactorFactoryBean(boolean rootReactor) {
@@ -49,6 +56,27 @@ public class ReactorFactoryBean implements FactoryBean<Reactor> {
 		return this;
 	}
 
+	public RingBufferDispatcher.WaitMode getWaitMode() {
+		return waitMode;
+	}
+
+	/**
+	 * Give the {@link Reactor} its own {@link RingBufferDispatcher} whose consumers wait for tasks using the given {@link
+	 * RingBufferDispatcher.WaitMode}. If not set, the {@link Reactor} uses the default {@link Dispatcher}. The
+	 * dispatcher is created once, shared by every {@link Reactor} this factory creates and destroyed along with the
+	 * factory.
+	 * <p/>
+	 * Only a new {@link Reactor} can be given a wait mode: the root and named {@link Reactor}s are shared through {@link
+	 * R}, so they must not end up with a dispatcher that this factory destroys.
+	 *
+	 * @param waitMode How the dispatcher's consumers wait for tasks.
+	 * @return {@literal this}
+	 */
+	public ReactorFactoryBean setWaitMode(RingBufferDispatcher.WaitMode waitMode) {
+		this.waitMode = waitMode;
+		return this;
+	}
+
 	public ConversionService getConversionService() {
 		return conversionService;
 	}
@@ -60,6 +88,9 @@ public class ReactorFactoryBean implements FactoryBean<Reactor> {
 
 	@Override
 	public Reactor getObject() throws Exception {
+		Assert.state(null == waitMode || (!rootReactor && null == name),
+		             "A wait mode can only be set for a new Reactor, not the root Reactor or a named Reactor");
+
 		Reactor reactor;
 		if (rootReactor) {
 			reactor = ROOT_REACTOR;
@@ -69,6 +100,10 @@ public class ReactorFactoryBean implements FactoryBean<Reactor> {
 			reactor = R.create();
 		}
 
+		if (waitMode != null) {
+			reactor.setDispatcher(dispatcher());
+		}
+
 		if (conversionService != null) {
 			reactor.setConverter(new ConversionServiceConverter(conversionService));
 		}
@@ -86,4 +121,19 @@ public class ReactorFactoryBean implements FactoryBean<Reactor> {
 		return rootReactor || null != name;
 	}
 
+	@Override
+	public synchronized void destroy() {
+		if (null != dispatcher) {
+			dispatcher.destroy();
+			dispatcher = null;
+		}
+	}
+
+	private synchronized Dispatcher dispatcher() {
+		if (null == dispatcher) {
+			dispatcher = Context.ringBufferDispatcher("reactor", waitMode);
+		}
+		return dispatcher;
+	}
+
 }
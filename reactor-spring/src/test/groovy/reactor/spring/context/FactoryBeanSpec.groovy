@@ -5,6 +5,7 @@ import org.springframework.context.annotation.AnnotationConfigApplicationContext
 import org.springframework.context.annotation.Bean
 import org.springframework.context.annotation.Configuration
 import reactor.core.Reactor
+import reactor.fn.dispatch.RingBufferDispatcher
 import spock.lang.Specification
 
 /**
@@ -35,6 +36,26 @@ class FactoryBeanSpec extends Specification {
 
   }
 
+  def "A wait mode can only be set for a new Reactor"() {
+
+    when: "The root Reactor is requested with a wait mode"
+    new ReactorFactoryBean(true).setWaitMode(RingBufferDispatcher.WaitMode.BLOCKING).getObject()
+
+    then: "It is refused, since destroying the factory would destroy the shared Reactor's dispatcher"
+    thrown(IllegalStateException)
+
+    when: "A new Reactor is requested with a wait mode"
+    def factory = new ReactorFactoryBean().setWaitMode(RingBufferDispatcher.WaitMode.BLOCKING)
+    def reactor = factory.getObject()
+
+    then: "It gets the factory's own dispatcher"
+    reactor.dispatcher instanceof RingBufferDispatcher
+
+    cleanup:
+    factory?.destroy()
+
+  }
+
 }
 
 class ReactorAwareBean {